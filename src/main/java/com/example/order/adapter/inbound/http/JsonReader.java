@@ -0,0 +1,226 @@
+package com.example.order.adapter.inbound.http;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+/**
+ * 最小限のプル型 JSON リーダー。1文字先読みだけで、入力全体をバッファしない。
+ * 構文エラーは IllegalArgumentException（HTTP 400 に対応づける）。
+ */
+final class JsonReader {
+	private static final int MAX_DEPTH = 32;
+	private static final int MAX_TOKEN = 64 * 1024;
+
+	private final Reader in;
+	private int peeked = -2; // -2 = 未読
+	private final boolean[] first = new boolean[MAX_DEPTH];
+	private int depth;
+
+	JsonReader(Reader in) {
+		this.in = in;
+	}
+
+	void beginObject() throws IOException {
+		open('{');
+	}
+
+	void endObject() throws IOException {
+		close('}');
+	}
+
+	void beginArray() throws IOException {
+		open('[');
+	}
+
+	void endArray() throws IOException {
+		close(']');
+	}
+
+	// 現在のオブジェクト/配列に次の要素があれば区切りの ',' を消費して true
+	boolean hasNext() throws IOException {
+		int c = peekNonWs();
+		if (c == '}' || c == ']')
+			return false;
+		if (!first[depth - 1])
+			expect(',');
+		first[depth - 1] = false;
+		return true;
+	}
+
+	String nextName() throws IOException {
+		String name = nextString();
+		expect(':');
+		return name;
+	}
+
+	String nextString() throws IOException {
+		expect('"');
+		var sb = new StringBuilder();
+		while (true) {
+			int c = read();
+			if (c == '"')
+				return sb.toString();
+			if (c == '\\')
+				c = escape();
+			else if (c < 0x20)
+				throw malformed("control character in string");
+			if (sb.length() >= MAX_TOKEN)
+				throw malformed("string too long");
+			sb.append((char) c);
+		}
+	}
+
+	// null を許す文字列
+	String nextNullableString() throws IOException {
+		if (peekNonWs() == 'n') {
+			literal("null");
+			return null;
+		}
+		return nextString();
+	}
+
+	BigDecimal nextDecimal() throws IOException {
+		String token = numberToken();
+		try {
+			return new BigDecimal(token);
+		} catch (NumberFormatException e) {
+			throw malformed("invalid number: " + token);
+		}
+	}
+
+	int nextInt() throws IOException {
+		String token = numberToken();
+		try {
+			return Integer.parseInt(token);
+		} catch (NumberFormatException e) {
+			throw malformed("integer expected: " + token);
+		}
+	}
+
+	// 未知フィールドの値を読み捨てる
+	void skipValue() throws IOException {
+		int c = peekNonWs();
+		switch (c) {
+		case '{' -> {
+			beginObject();
+			while (hasNext()) {
+				nextName();
+				skipValue();
+			}
+			endObject();
+		}
+		case '[' -> {
+			beginArray();
+			while (hasNext())
+				skipValue();
+			endArray();
+		}
+		case '"' -> nextString();
+		case 't' -> literal("true");
+		case 'f' -> literal("false");
+		case 'n' -> literal("null");
+		default -> numberToken();
+		}
+	}
+
+	// 値の後ろに空白以外が残っていないこと
+	void endDocument() throws IOException {
+		if (peekNonWs() != -1)
+			throw malformed("trailing content");
+	}
+
+	private void open(char c) throws IOException {
+		expect(c);
+		if (depth == MAX_DEPTH)
+			throw malformed("nesting too deep");
+		first[depth++] = true;
+	}
+
+	private void close(char c) throws IOException {
+		expect(c);
+		depth--;
+	}
+
+	private String numberToken() throws IOException {
+		peekNonWs();
+		var sb = new StringBuilder();
+		while (true) {
+			int c = peek();
+			if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+				if (sb.length() >= MAX_TOKEN)
+					throw malformed("number too long");
+				sb.append((char) read());
+			} else {
+				break;
+			}
+		}
+		if (sb.length() == 0)
+			throw malformed("value expected");
+		return sb.toString();
+	}
+
+	private void literal(String word) throws IOException {
+		peekNonWs();
+		for (int i = 0; i < word.length(); i++) {
+			if (read() != word.charAt(i))
+				throw malformed("invalid literal");
+		}
+	}
+
+	private int escape() throws IOException {
+		int c = read();
+		return switch (c) {
+		case '"', '\\', '/' -> c;
+		case 'b' -> '\b';
+		case 'f' -> '\f';
+		case 'n' -> '\n';
+		case 'r' -> '\r';
+		case 't' -> '\t';
+		case 'u' -> {
+			int v = 0;
+			for (int i = 0; i < 4; i++) {
+				int d = Character.digit(read(), 16);
+				if (d < 0)
+					throw malformed("invalid unicode escape");
+				v = (v << 4) | d;
+			}
+			yield v;
+		}
+		default -> throw malformed("invalid escape");
+		};
+	}
+
+	private void expect(char c) throws IOException {
+		if (peekNonWs() != c)
+			throw malformed("'" + c + "' expected");
+		read();
+	}
+
+	private int peekNonWs() throws IOException {
+		int c = peek();
+		while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+			read();
+			c = peek();
+		}
+		return c;
+	}
+
+	private int peek() throws IOException {
+		if (peeked == -2)
+			peeked = in.read();
+		return peeked;
+	}
+
+	private int read() throws IOException {
+		int c = peek();
+		if (c == -1)
+			throw malformed("unexpected end of input");
+		peeked = -2;
+		return c;
+	}
+
+	private static IllegalArgumentException malformed(String detail) {
+		return new IllegalArgumentException("malformed json: " + detail);
+	}
+}
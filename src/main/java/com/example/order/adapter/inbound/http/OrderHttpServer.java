@@ -0,0 +1,265 @@
+package com.example.order.adapter.inbound.http;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import com.example.order.app.admission.AdmissionRejectedException;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.PlacedOrder;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JDK 組み込みの HttpServer で POST /orders（OrderRequest → OrderResult）を提供する軽量フロントエンド。
+ *
+ * - 注文は PlaceOrderUseCase（受付制御で包んだものも可）で確定・保存する。応答本文はその価格計算結果（OrderResult）で、
+ *   保存した注文IDは Location ヘッダ（/orders/{id}）で返す
+ * - 1リクエスト1スレッド。仮想スレッドが使える JDK ならそれを使い、無ければキャッシュ型プールで代替する
+ * - 同時処理数は maxInFlight で上限を切り、超えた分は待たせずに 503 + Retry-After で返す（背圧）
+ * - stop は新規受付を 503 にしてから処理中のリクエストが捌けるのを待つ（グレースフルシャットダウン）
+ * - 要求本文は maxBodyBytes（既定 64KiB）までしか読まず、超えたら 413 を返す
+ * - GET /ready は readiness（ウォームアップ完了など）が true なら 200、そうでなければ 503 を返す
+ *
+ * 例外の対応づけ：IllegalArgumentException → 400、IllegalStateException（在庫不足など）→ 409、
+ * AdmissionRejectedException → 503 + Retry-After、その他 → 500（ログに残す）。
+ */
+public class OrderHttpServer {
+	public static final String PATH = "/orders";
+	public static final String READY_PATH = "/ready";
+	public static final int DEFAULT_MAX_BODY_BYTES = 64 * 1024;
+	private static final String JSON = "application/json; charset=utf-8";
+	private static final System.Logger LOG = System.getLogger(OrderHttpServer.class.getName());
+
+	private final Function<OrderRequest, PlacedOrder> orders;
+	private final int maxInFlight;
+	private final Semaphore inFlight;
+	private final BooleanSupplier readiness;
+	private final int maxBodyBytes;
+	private volatile boolean draining;
+	private volatile int port = -1;
+	private HttpServer server;
+	private ExecutorService executor;
+
+	public OrderHttpServer(PlaceOrderUseCase useCase, int maxInFlight) {
+		this(useCase::placeOrder, maxInFlight, () -> true);
+	}
+
+	// 例：new OrderHttpServer(useCase::placeOrder, 64, warmup::isReady)
+	//     new OrderHttpServer(req -> admission.placeOrder(req, Priority.CHECKOUT), 64, warmup::isReady)
+	public OrderHttpServer(Function<OrderRequest, PlacedOrder> orders, int maxInFlight, BooleanSupplier readiness) {
+		this(orders, maxInFlight, readiness, DEFAULT_MAX_BODY_BYTES);
+	}
+
+	public OrderHttpServer(Function<OrderRequest, PlacedOrder> orders, int maxInFlight, BooleanSupplier readiness,
+			int maxBodyBytes) {
+		if (maxInFlight <= 0)
+			throw new IllegalArgumentException("maxInFlight must be > 0");
+		if (maxBodyBytes <= 0)
+			throw new IllegalArgumentException("maxBodyBytes must be > 0");
+		this.orders = orders;
+		this.maxInFlight = maxInFlight;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.readiness = readiness;
+		this.maxBodyBytes = maxBodyBytes;
+	}
+
+	public synchronized void start(InetSocketAddress address) throws IOException {
+		if (server != null)
+			throw new IllegalStateException("already started");
+		executor = newRequestExecutor();
+		server = HttpServer.create(address, 0);
+		server.createContext(PATH, this::handle);
+		server.createContext(READY_PATH, this::ready);
+		server.setExecutor(executor);
+		server.start();
+		port = server.getAddress().getPort();
+	}
+
+	public int port() {
+		if (port < 0)
+			throw new IllegalStateException("not started");
+		return port;
+	}
+
+	public int inFlight() {
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	/**
+	 * 新規受付を止め、処理中のリクエストを timeout まで待ってからソケットとスレッドを閉じる。
+	 * @return 期限内に処理中リクエストがすべて完了したら true
+	 */
+	public synchronized boolean stop(Duration timeout) throws InterruptedException {
+		if (server == null)
+			return true;
+		draining = true;
+		boolean drained = inFlight.tryAcquire(maxInFlight, timeout.toNanos(), TimeUnit.NANOSECONDS);
+		if (drained)
+			inFlight.release(maxInFlight);
+		server.stop(0);
+		executor.shutdownNow();
+		server = null;
+		port = -1;
+		return drained;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				error(exchange, 405, "method not allowed");
+				return;
+			}
+			if (draining || !inFlight.tryAcquire()) {
+				exchange.getResponseHeaders().set("Retry-After", "1");
+				error(exchange, 503, draining ? "shutting down" : "too many requests in flight");
+				return;
+			}
+			try {
+				placeOrder(exchange);
+			} finally {
+				inFlight.release();
+			}
+		}
+	}
+
+	private void ready(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "GET");
+				error(exchange, 405, "method not allowed");
+				return;
+			}
+			if (draining || !readiness.getAsBoolean()) {
+				error(exchange, 503, draining ? "shutting down" : "not ready");
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", JSON);
+			exchange.sendResponseHeaders(200, 0);
+			try (Writer out = writer(exchange)) {
+				out.write("{\"status\":\"ready\"}");
+			}
+		}
+	}
+
+	private void placeOrder(HttpExchange exchange) throws IOException {
+		PlacedOrder placed;
+		try {
+			OrderRequest req = OrderJson.readRequest(new BufferedReader(new InputStreamReader(
+					new BoundedInputStream(exchange.getRequestBody(), maxBodyBytes), StandardCharsets.UTF_8)));
+			placed = orders.apply(req);
+		} catch (BodyTooLargeException e) {
+			error(exchange, 413, "request body too large");
+			return;
+		} catch (IllegalArgumentException e) {
+			error(exchange, 400, e.getMessage());
+			return;
+		} catch (IllegalStateException e) {
+			error(exchange, 409, e.getMessage());
+			return;
+		} catch (AdmissionRejectedException e) {
+			exchange.getResponseHeaders().set("Retry-After", "1");
+			error(exchange, 503, "overloaded");
+			return;
+		} catch (RuntimeException e) {
+			LOG.log(System.Logger.Level.ERROR, "POST " + PATH + " failed", e);
+			error(exchange, 500, "internal error");
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", JSON);
+		exchange.getResponseHeaders().set("Location", PATH + "/" + placed.orderId());
+		exchange.sendResponseHeaders(200, 0);
+		try (Writer out = writer(exchange)) {
+			OrderJson.writeResult(placed.result(), out);
+		}
+	}
+
+	private static void error(HttpExchange exchange, int status, String message) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", JSON);
+		exchange.sendResponseHeaders(status, 0);
+		try (Writer out = writer(exchange)) {
+			OrderJson.writeError(message, out);
+		}
+	}
+
+	private static Writer writer(HttpExchange exchange) {
+		return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+	}
+
+	// JDK 21 以降は仮想スレッド per リクエスト。ビルド対象の 17 では API が無いので実行時に解決する
+	static ExecutorService newRequestExecutor() {
+		MethodHandle factory;
+		try {
+			factory = MethodHandles.publicLookup().findStatic(Executors.class,
+					"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "order-http");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		try {
+			return (ExecutorService) factory.invoke();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("cannot create request executor", e);
+		}
+	}
+
+	// 上限を超えて読もうとしたら BodyTooLargeException（Content-Length の無いチャンク転送も同じく数える）
+	private static final class BoundedInputStream extends FilterInputStream {
+		private long remaining;
+
+		BoundedInputStream(InputStream in, long limit) {
+			super(in);
+			this.remaining = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0)
+				count(1);
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buf, int off, int len) throws IOException {
+			int n = super.read(buf, off, (int) Math.min(len, remaining + 1));
+			if (n > 0)
+				count(n);
+			return n;
+		}
+
+		private void count(int n) throws BodyTooLargeException {
+			remaining -= n;
+			if (remaining < 0)
+				throw new BodyTooLargeException();
+		}
+	}
+
+	private static final class BodyTooLargeException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+}
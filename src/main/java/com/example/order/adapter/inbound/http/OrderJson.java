@@ -0,0 +1,170 @@
+package com.example.order.adapter.inbound.http;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+
+/**
+ * docs/api/openapi/order.yaml の OrderRequest / OrderResult を手書きで読み書きする JSON コーデック。
+ * リフレクションを使わず、フィールド単位でストリームから直接読み書きする。未知フィールドは読み捨てる。
+ * 金額は BigDecimal の plain 表記（指数表記なし）で出力する。
+ */
+public final class OrderJson {
+	private OrderJson() {
+	}
+
+	public static OrderRequest readRequest(Reader in) throws IOException {
+		var json = new JsonReader(in);
+		String region = null;
+		RoundingMode mode = null;
+		List<OrderRequest.Line> lines = null;
+		json.beginObject();
+		while (json.hasNext()) {
+			switch (json.nextName()) {
+			case "region" -> region = json.nextNullableString();
+			case "mode" -> mode = roundingMode(json.nextNullableString());
+			case "lines" -> lines = readLines(json);
+			default -> json.skipValue();
+			}
+		}
+		json.endObject();
+		json.endDocument();
+		return new OrderRequest(region, mode, lines);
+	}
+
+	public static void writeRequest(OrderRequest req, Appendable out) throws IOException {
+		out.append("{\"region\":");
+		string(req.region(), out);
+		if (req.mode() != null) {
+			out.append(",\"mode\":");
+			string(req.mode().name(), out);
+		}
+		out.append(",\"lines\":[");
+		for (int i = 0; i < req.lines().size(); i++) {
+			var line = req.lines().get(i);
+			if (i > 0)
+				out.append(',');
+			out.append("{\"productId\":");
+			string(line.productId(), out);
+			out.append(",\"qty\":").append(Integer.toString(line.qty())).append('}');
+		}
+		out.append("]}");
+	}
+
+	public static OrderResult readResult(Reader in) throws IOException {
+		var json = new JsonReader(in);
+		BigDecimal before = null, discount = null, after = null, tax = null, gross = null;
+		List<DiscountType> labels = List.of();
+		json.beginObject();
+		while (json.hasNext()) {
+			switch (json.nextName()) {
+			case "totalNetBeforeDiscount" -> before = json.nextDecimal();
+			case "totalDiscount" -> discount = json.nextDecimal();
+			case "totalNetAfterDiscount" -> after = json.nextDecimal();
+			case "totalTax" -> tax = json.nextDecimal();
+			case "totalGross" -> gross = json.nextDecimal();
+			case "appliedLabels" -> labels = readLabels(json);
+			default -> json.skipValue();
+			}
+		}
+		json.endObject();
+		json.endDocument();
+		return new OrderResult(before, discount, after, tax, gross, labels);
+	}
+
+	public static void writeResult(OrderResult result, Appendable out) throws IOException {
+		out.append("{\"totalNetBeforeDiscount\":").append(result.totalNetBeforeDiscount().toPlainString());
+		out.append(",\"totalDiscount\":").append(result.totalDiscount().toPlainString());
+		out.append(",\"totalNetAfterDiscount\":").append(result.totalNetAfterDiscount().toPlainString()); // ADR-008
+		out.append(",\"totalTax\":").append(result.totalTax().toPlainString());
+		out.append(",\"totalGross\":").append(result.totalGross().toPlainString());
+		out.append(",\"appliedLabels\":[");
+		var labels = result.appliedDiscounts();
+		for (int i = 0; i < labels.size(); i++) {
+			if (i > 0)
+				out.append(',');
+			string(labels.get(i).name(), out);
+		}
+		out.append("]}");
+	}
+
+	public static void writeError(String message, Appendable out) throws IOException {
+		out.append("{\"error\":");
+		string(message, out);
+		out.append('}');
+	}
+
+	private static List<OrderRequest.Line> readLines(JsonReader json) throws IOException {
+		List<OrderRequest.Line> lines = new ArrayList<>();
+		json.beginArray();
+		while (json.hasNext()) {
+			String productId = null;
+			int qty = 0;
+			json.beginObject();
+			while (json.hasNext()) {
+				switch (json.nextName()) {
+				case "productId" -> productId = json.nextString();
+				case "qty" -> qty = json.nextInt();
+				default -> json.skipValue();
+				}
+			}
+			json.endObject();
+			if (productId == null || productId.isBlank())
+				throw new IllegalArgumentException("productId must not be blank");
+			lines.add(new OrderRequest.Line(productId, qty));
+		}
+		json.endArray();
+		return lines;
+	}
+
+	private static List<DiscountType> readLabels(JsonReader json) throws IOException {
+		List<DiscountType> labels = new ArrayList<>();
+		json.beginArray();
+		while (json.hasNext())
+			labels.add(DiscountType.valueOf(json.nextString()));
+		json.endArray();
+		return labels;
+	}
+
+	private static RoundingMode roundingMode(String name) {
+		if (name == null)
+			return null; // 既定（HALF_UP）は OrderService 側で決める
+		return switch (name) {
+		case "HALF_UP" -> RoundingMode.HALF_UP;
+		case "HALF_DOWN" -> RoundingMode.HALF_DOWN;
+		default -> throw new IllegalArgumentException("unsupported mode: " + name);
+		};
+	}
+
+	private static void string(String s, Appendable out) throws IOException {
+		if (s == null) {
+			out.append("null");
+			return;
+		}
+		out.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+			case '"' -> out.append("\\\"");
+			case '\\' -> out.append("\\\\");
+			case '\n' -> out.append("\\n");
+			case '\r' -> out.append("\\r");
+			case '\t' -> out.append("\\t");
+			default -> {
+				if (c < 0x20)
+					out.append(String.format("\\u%04x", (int) c));
+				else
+					out.append(c);
+			}
+			}
+		}
+		out.append('"');
+	}
+}
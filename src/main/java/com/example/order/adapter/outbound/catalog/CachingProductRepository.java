@@ -0,0 +1,104 @@
+package com.example.order.adapter.outbound.catalog;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.ProductRepository;
+
+/**
+ * 見つかった商品を保持する読み通しキャッシュ。
+ * 未登録（empty）は保持しない。件数が maxEntries に達したら以降は保持せず backend に任せる（追い出しはしない）。
+ * 起動時に preload で売れ筋を読み込んでおけば、最初の注文から backend を呼ばずに済む。
+ *
+ * 各エントリは ttl で期限切れになり、次の参照で backend から読み直す（価格改定が ttl 以内に反映される）。
+ * カタログの世代を差し替えたときは invalidateAll で即座に捨てる（MappedProductRepository#onSwap に登録する）。
+ */
+public class CachingProductRepository implements ProductRepository {
+	private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+	private final ProductRepository backend;
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier nanoTime;
+	private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+	// invalidateAll のたびに進める。読み込み中に無効化されたら、その読み込み結果は保持しない
+	private final AtomicLong generation = new AtomicLong();
+
+	public CachingProductRepository(ProductRepository backend, int maxEntries) {
+		this(backend, maxEntries, DEFAULT_TTL);
+	}
+
+	public CachingProductRepository(ProductRepository backend, int maxEntries, Duration ttl) {
+		this(backend, maxEntries, ttl, System::nanoTime);
+	}
+
+	CachingProductRepository(ProductRepository backend, int maxEntries, Duration ttl, LongSupplier nanoTime) {
+		if (maxEntries <= 0)
+			throw new IllegalArgumentException("maxEntries must be > 0");
+		if (ttl.isNegative() || ttl.isZero())
+			throw new IllegalArgumentException("ttl must be > 0");
+		this.backend = backend;
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttl.toNanos();
+		this.nanoTime = nanoTime;
+	}
+
+	@Override
+	public Optional<Product> findById(String productId) {
+		if (productId == null)
+			return backend.findById(null); // 未登録IDの扱いは backend に従う
+		long now = nanoTime.getAsLong();
+		Entry cached = cache.get(productId);
+		if (cached != null) {
+			if (now - cached.expiresAt < 0)
+				return cached.product;
+			cache.remove(productId, cached);
+		}
+		long gen = generation.get();
+		Optional<Product> found = backend.findById(productId);
+		if (found.isPresent() && cache.size() < maxEntries) {
+			Entry entry = new Entry(found, now + ttlNanos);
+			cache.put(productId, entry);
+			if (generation.get() != gen)
+				cache.remove(productId, entry); // 読み込み中に差し替えがあった：旧世代の値を残さない
+		}
+		return found;
+	}
+
+	// 全エントリを捨てる（カタログ差し替え・価格改定時）
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		cache.clear();
+	}
+
+	public void invalidate(String productId) {
+		generation.incrementAndGet();
+		cache.remove(productId);
+	}
+
+	// 読み込めた（backend に存在した）件数を返す
+	public int preload(Collection<String> productIds) {
+		int loaded = 0;
+		for (String id : productIds) {
+			if (findById(id).isPresent())
+				loaded++;
+		}
+		return loaded;
+	}
+
+	public boolean isCached(String productId) {
+		return cache.containsKey(productId);
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	private record Entry(Optional<Product> product, long expiresAt) {
+	}
+}
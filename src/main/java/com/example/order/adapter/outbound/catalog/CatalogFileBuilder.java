@@ -0,0 +1,128 @@
+package com.example.order.adapter.outbound.catalog;
+
+import static com.example.order.adapter.outbound.catalog.CatalogFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV（id,name,price）からカタログファイルを生成するオフラインビルダー。
+ * name 内のカンマは許容する（先頭カンマまでを id、末尾カンマ以降を price とみなす）。
+ * 出力は一時ファイルに書いてから rename するため、参照側が書きかけを読むことはない。
+ */
+public final class CatalogFileBuilder {
+	private CatalogFileBuilder() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("usage: CatalogFileBuilder <products.csv> <catalog.bin>");
+			System.exit(2);
+		}
+		try (Reader in = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+			int count = build(in, Path.of(args[1]));
+			System.out.println("wrote " + count + " products to " + args[1]);
+		}
+	}
+
+	public static int build(Reader csv, Path out) throws IOException {
+		List<Entry> entries = parse(csv);
+		entries.sort((a, b) -> Arrays.compareUnsigned(a.id, b.id));
+		for (int i = 1; i < entries.size(); i++) {
+			if (Arrays.equals(entries.get(i - 1).id, entries.get(i).id))
+				throw new IllegalArgumentException(
+						"duplicate product id: " + new String(entries.get(i).id, StandardCharsets.UTF_8));
+		}
+		write(entries, out);
+		return entries.size();
+	}
+
+	private static List<Entry> parse(Reader csv) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		BufferedReader reader = csv instanceof BufferedReader b ? b : new BufferedReader(csv);
+		String row;
+		int lineNo = 0;
+		while ((row = reader.readLine()) != null) {
+			lineNo++;
+			if (row.isBlank() || row.startsWith("#"))
+				continue;
+			int first = row.indexOf(',');
+			int last = row.lastIndexOf(',');
+			if (first < 0 || first == last)
+				throw new IllegalArgumentException("line " + lineNo + ": expected id,name,price");
+			String id = row.substring(0, first).trim();
+			String price = row.substring(last + 1).trim();
+			if (lineNo == 1 && "id".equalsIgnoreCase(id) && "price".equalsIgnoreCase(price))
+				continue; // ヘッダ行
+			if (id.isEmpty() || id.indexOf('\0') >= 0)
+				throw new IllegalArgumentException("line " + lineNo + ": invalid product id");
+			BigDecimal p = new BigDecimal(price);
+			if (p.unscaledValue().bitLength() > 63)
+				throw new IllegalArgumentException("line " + lineNo + ": price out of range");
+			entries.add(new Entry(id.getBytes(StandardCharsets.UTF_8),
+					row.substring(first + 1, last).trim().getBytes(StandardCharsets.UTF_8), p));
+		}
+		return entries;
+	}
+
+	private static void write(List<Entry> entries, Path out) throws IOException {
+		int count = entries.size();
+		int idWidth = 1;
+		long heapBytes = 0;
+		for (Entry e : entries) {
+			idWidth = Math.max(idWidth, e.id.length);
+			heapBytes += e.name.length;
+		}
+		long priceOffset = HEADER_BYTES + (long) count * idWidth;
+		long nameOffset = priceOffset + (long) count * PRICE_WIDTH;
+		long total = nameOffset + (long) count * NAME_REF_WIDTH + heapBytes;
+		if (total > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("catalog too large for a single mapping: " + total + " bytes");
+
+		Path dir = out.toAbsolutePath().getParent();
+		Path tmp = Files.createTempFile(dir, out.getFileName().toString(), ".tmp");
+		try (DataOutputStream o = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+			o.writeInt(MAGIC);
+			o.writeInt(VERSION);
+			o.writeInt(count);
+			o.writeInt(idWidth);
+			o.writeLong(priceOffset);
+			o.writeLong(nameOffset);
+			for (Entry e : entries) {
+				o.write(e.id);
+				o.write(new byte[idWidth - e.id.length]);
+			}
+			for (Entry e : entries) {
+				o.writeLong(e.price.unscaledValue().longValue());
+				o.writeInt(e.price.scale());
+			}
+			int heap = 0;
+			for (Entry e : entries) {
+				o.writeInt(heap);
+				o.writeInt(e.name.length);
+				heap += e.name.length;
+			}
+			for (Entry e : entries) {
+				o.write(e.name);
+			}
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+		Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private record Entry(byte[] id, byte[] name, BigDecimal price) {
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.order.adapter.outbound.catalog;
+
+/*
+ * カタログファイルのレイアウト（ビッグエンディアン）
+ *
+ * [header 32byte]
+ *   int  magic        'OPCT'
+ *   int  version      1
+ *   int  count        商品数
+ *   int  idWidth      ID スロット幅（UTF-8, 0 詰め）
+ *   long priceOffset  価格セクション先頭
+ *   long nameOffset   名前セクション先頭
+ * [id index]   count * idWidth   ID 昇順（符号なしバイト比較）
+ * [prices]     count * 12        long unscaled + int scale
+ * [names]      count * 8         int heapOffset + int length
+ * [name heap]  UTF-8 バイト列
+ */
+final class CatalogFormat {
+	static final int MAGIC = 0x4F504354;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 32;
+	static final int PRICE_WIDTH = 12;
+	static final int NAME_REF_WIDTH = 8;
+
+	static final int OFF_MAGIC = 0;
+	static final int OFF_VERSION = 4;
+	static final int OFF_COUNT = 8;
+	static final int OFF_ID_WIDTH = 12;
+	static final int OFF_PRICE_SECTION = 16;
+	static final int OFF_NAME_SECTION = 24;
+
+	private CatalogFormat() {
+	}
+}
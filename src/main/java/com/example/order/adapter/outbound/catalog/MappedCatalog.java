@@ -0,0 +1,137 @@
+package com.example.order.adapter.outbound.catalog;
+
+import static com.example.order.adapter.outbound.catalog.CatalogFormat.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.order.domain.model.Product;
+
+/**
+ * 読み取り専用でマップしたカタログファイル1世代分。
+ * 検索はマップ領域上で直接二分探索し、ヒットした1件だけを Product に復元する。
+ * absolute get のみ使うため複数スレッドから同時に参照してよい。
+ */
+public final class MappedCatalog {
+	private final Path file;
+	private final ByteBuffer buf;
+	private final int count;
+	private final int idWidth;
+	private final int priceOffset;
+	private final int nameOffset;
+	private final int heapOffset;
+
+	private MappedCatalog(Path file, ByteBuffer buf) {
+		this.file = file;
+		this.buf = buf;
+		if (buf.limit() < HEADER_BYTES || buf.getInt(OFF_MAGIC) != MAGIC)
+			throw new IllegalArgumentException("not a catalog file: " + file);
+		if (buf.getInt(OFF_VERSION) != VERSION)
+			throw new IllegalArgumentException("unsupported catalog version: " + buf.getInt(OFF_VERSION));
+		this.count = buf.getInt(OFF_COUNT);
+		this.idWidth = buf.getInt(OFF_ID_WIDTH);
+		this.priceOffset = Math.toIntExact(buf.getLong(OFF_PRICE_SECTION));
+		this.nameOffset = Math.toIntExact(buf.getLong(OFF_NAME_SECTION));
+		this.heapOffset = nameOffset + count * NAME_REF_WIDTH;
+		if (heapOffset > buf.limit())
+			throw new IllegalArgumentException("truncated catalog file: " + file);
+	}
+
+	public static MappedCatalog open(Path file) {
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+			// マップはチャネルを閉じても有効
+			MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+			return new MappedCatalog(file, mapped);
+		} catch (IOException e) {
+			throw new UncheckedIOException("cannot map catalog: " + file, e);
+		}
+	}
+
+	public Path file() {
+		return file;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	// 全商品ID（ID 昇順）。既知商品フィルタの構築用
+	public List<String> ids() {
+		List<String> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+			ids.add(idAt(i));
+		return ids;
+	}
+
+	public Optional<Product> find(String productId) {
+		if (productId == null)
+			return Optional.empty();
+		byte[] key = productId.getBytes(StandardCharsets.UTF_8);
+		if (key.length == 0 || key.length > idWidth)
+			return Optional.empty();
+		int index = indexOf(key);
+		return index < 0 ? Optional.empty() : Optional.of(productAt(index, productId));
+	}
+
+	// ID 昇順のスロット列を二分探索（見つからなければ -1）
+	int indexOf(byte[] key) {
+		int lo = 0;
+		int hi = count - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int c = compareSlot(mid, key);
+			if (c < 0)
+				lo = mid + 1;
+			else if (c > 0)
+				hi = mid - 1;
+			else
+				return mid;
+		}
+		return -1;
+	}
+
+	private int compareSlot(int index, byte[] key) {
+		int base = HEADER_BYTES + index * idWidth;
+		for (int i = 0; i < idWidth; i++) {
+			int a = buf.get(base + i) & 0xFF;
+			int b = i < key.length ? key[i] & 0xFF : 0;
+			if (a != b)
+				return a - b;
+			if (a == 0)
+				return 0;
+		}
+		return 0;
+	}
+
+	String idAt(int index) {
+		int base = HEADER_BYTES + index * idWidth;
+		int len = 0;
+		while (len < idWidth && buf.get(base + len) != 0)
+			len++;
+		return decode(base, len);
+	}
+
+	private Product productAt(int index, String id) {
+		int p = priceOffset + index * PRICE_WIDTH;
+		BigDecimal price = BigDecimal.valueOf(buf.getLong(p), buf.getInt(p + 8));
+		int n = nameOffset + index * NAME_REF_WIDTH;
+		String name = decode(heapOffset + buf.getInt(n), buf.getInt(n + 4));
+		return new Product(id, name, price);
+	}
+
+	private String decode(int offset, int length) {
+		byte[] bytes = new byte[length];
+		buf.get(offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.order.adapter.outbound.catalog;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.ProductRepository;
+
+/**
+ * メモリマップしたカタログファイルを参照する ProductRepository。
+ * 起動時はマップするだけで解析はしない。新しい世代は swap で原子的に差し替える。
+ * 差し替え後に onSwap で登録した処理を呼ぶ（上に重ねたキャッシュの無効化など）。
+ * 未登録IDは Optional.empty を返す（ADR-003）。
+ */
+public class MappedProductRepository implements ProductRepository {
+	private final AtomicReference<MappedCatalog> current;
+	private final KnownProductFilter knownProducts;
+	private final List<Runnable> swapListeners = new CopyOnWriteArrayList<>();
+
+	public MappedProductRepository(Path catalogFile) {
+		this(catalogFile, null);
+	}
+
+	// 既知商品フィルタ付き：開いた世代・差し替えた世代の商品IDでフィルタを作り直す
+	public MappedProductRepository(Path catalogFile, KnownProductFilter knownProducts) {
+		MappedCatalog catalog = MappedCatalog.open(catalogFile);
+		this.knownProducts = knownProducts;
+		if (knownProducts != null)
+			knownProducts.rebuild(catalog.ids());
+		this.current = new AtomicReference<>(catalog);
+	}
+
+	@Override
+	public Optional<Product> findById(String productId) {
+		return current.get().find(productId);
+	}
+
+	// 新しいカタログをマップしてから参照を切り替える。旧世代のマップは参照が無くなり次第GCで解放
+	// フィルタは先に新世代へ替える（追加された商品を切り替え直後に弾かないため）
+	// 同時の swap で「カタログは B、フィルタは A」と食い違わないよう、作り直しと切り替えを一続きにする
+	public synchronized MappedCatalog swap(Path catalogFile) {
+		MappedCatalog next = MappedCatalog.open(catalogFile);
+		if (knownProducts != null)
+			knownProducts.rebuild(next.ids());
+		MappedCatalog previous = current.getAndSet(next);
+		for (Runnable listener : swapListeners)
+			listener.run();
+		return previous;
+	}
+
+	// 例：catalog.onSwap(cache::invalidateAll)
+	public void onSwap(Runnable listener) {
+		swapListeners.add(listener);
+	}
+
+	public MappedCatalog catalog() {
+		return current.get();
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.order.adapter.outbound.catalog;
+
+import java.util.Collection;
+
+/**
+ * 商品IDのブルームフィルタ（不変）。偽陰性なし、偽陽性率は構築時の目標値に従う。
+ * ハッシュは ID の文字列から64bitを1回だけ計算し、上下32bitの二重ハッシュで k 個の位置を作る（判定時の割り当てなし）。
+ */
+final class ProductBloomFilter {
+	private static final double LN2 = Math.log(2);
+
+	private final long[] words;
+	private final long bits;
+	private final int hashes;
+	private final int keys;
+
+	private ProductBloomFilter(long bits, int hashes, int keys) {
+		this.words = new long[Math.toIntExact(bits >>> 6)];
+		this.bits = bits;
+		this.hashes = hashes;
+		this.keys = keys;
+	}
+
+	static ProductBloomFilter build(Collection<String> ids, double falsePositiveRate) {
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+			throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+		int n = Math.max(1, ids.size());
+		long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+		m = Math.max(64, (m + 63) & ~63L);
+		int k = Math.max(1, (int) Math.round((double) m / n * LN2));
+		var filter = new ProductBloomFilter(m, k, ids.size());
+		for (String id : ids)
+			filter.add(id);
+		return filter;
+	}
+
+	boolean mightContain(String id) {
+		if (id == null)
+			return false;
+		long h = hash(id);
+		int h1 = (int) h;
+		int h2 = (int) (h >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+			if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	private void add(String id) {
+		long h = hash(id);
+		int h1 = (int) h;
+		int h2 = (int) (h >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+			words[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	long bits() {
+		return bits;
+	}
+
+	int hashes() {
+		return hashes;
+	}
+
+	int keys() {
+		return keys;
+	}
+
+	// 実際に立っているビットの割合から見積もった偽陽性率
+	double estimatedFalsePositiveRate() {
+		long set = 0;
+		for (long w : words)
+			set += Long.bitCount(w);
+		return Math.pow((double) set / bits, hashes);
+	}
+
+	// FNV-1a（char 単位）を splitmix64 の最終化で攪拌
+	private static long hash(String s) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < s.length(); i++)
+			h = (h ^ s.charAt(i)) * 0x100000001b3L;
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+}
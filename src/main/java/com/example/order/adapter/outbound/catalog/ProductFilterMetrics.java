@@ -0,0 +1,20 @@
+package com.example.order.adapter.outbound.catalog;
+
+/**
+ * 既知商品フィルタの現世代の大きさと判定件数。
+ * estimatedFalsePositiveRate は実際のビット充填率からの見積り（目標値 targetFalsePositiveRate と比べる）。
+ */
+public record ProductFilterMetrics(
+  int keys,
+  long bits,
+  int hashes,
+  double targetFalsePositiveRate,
+  double estimatedFalsePositiveRate,
+  long generation,
+  long checked,
+  long rejected) {
+
+  public long sizeBytes() {
+    return bits / 8;
+  }
+}
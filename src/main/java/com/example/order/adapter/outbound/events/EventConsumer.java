@@ -0,0 +1,113 @@
+package com.example.order.adapter.outbound.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * リングの消費者1つ。start で専用スレッドを起こすか、自前のスレッドから poll を呼ぶ（どちらか一方）。
+ * ハンドラの例外は数えて次のイベントへ進む（1件の失敗で下流全体を止めない）。
+ * Error などでスレッドが止まったときは発行側の待ち対象から外れる（死んだ消費者を BLOCK で待ち続けない）。
+ */
+public final class EventConsumer implements AutoCloseable {
+	private final OrderEventRing ring;
+	private final String name;
+	private final OrderEventHandler handler;
+	private final int maxBatch;
+	private final Sequence sequence;
+	private final LongAdder failures = new LongAdder();
+	private volatile boolean running;
+	private Thread thread;
+
+	EventConsumer(OrderEventRing ring, String name, OrderEventHandler handler, int maxBatch, Sequence sequence) {
+		this.ring = ring;
+		this.name = name;
+		this.handler = handler;
+		this.maxBatch = maxBatch;
+		this.sequence = sequence;
+	}
+
+	public synchronized EventConsumer start() {
+		if (thread != null)
+			throw new IllegalStateException("consumer already started: " + name);
+		running = true;
+		thread = new Thread(this::loop, "order-events-" + name);
+		thread.setDaemon(true);
+		thread.start();
+		return this;
+	}
+
+	// 公開済みのイベントを最大 maxBatch 件処理し、件数を返す
+	public int poll() {
+		long next = sequence.get() + 1;
+		long last = ring.highestPublished(next, next + maxBatch - 1);
+		if (last < next)
+			return 0;
+		for (long s = next; s <= last; s++) {
+			try {
+				handler.onEvent(ring.slot(s), s, s == last);
+			} catch (RuntimeException e) {
+				failures.increment();
+			}
+		}
+		sequence.set(last); // ここで初めて発行側がこの範囲を上書きできる
+		return (int) (last - next + 1);
+	}
+
+	// 処理済みの最後の番号
+	public long position() {
+		return sequence.get();
+	}
+
+	public long lag() {
+		return ring.published() - 1 - sequence.get();
+	}
+
+	public long failures() {
+		return failures.sum();
+	}
+
+	public String name() {
+		return name;
+	}
+
+	/** スレッドを止め、発行側の待ち対象から外す。未処理のイベントは読まない */
+	@Override
+	public void close() {
+		running = false;
+		Thread t;
+		synchronized (this) {
+			t = thread;
+		}
+		try {
+			if (t != null) {
+				ring.waitStrategy().signal();
+				t.join(TimeUnit.SECONDS.toMillis(5));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			ring.removeGating(sequence);
+		}
+	}
+
+	Sequence sequence() {
+		return sequence;
+	}
+
+	private void loop() {
+		WaitStrategy wait = ring.waitStrategy();
+		int idle = 0;
+		try {
+			while (running) {
+				if (poll() > 0)
+					idle = 0;
+				else
+					wait.idle(++idle);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			ring.removeGating(sequence);
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package com.example.order.adapter.outbound.events;
+
+/** 消費者の処理。endOfBatch は今回まとめて取り出した最後のイベントで true（ここでまとめて書き出す） */
+@FunctionalInterface
+public interface OrderEventHandler {
+	void onEvent(OrderPlacedEvent event, long sequence, boolean endOfBatch);
+}
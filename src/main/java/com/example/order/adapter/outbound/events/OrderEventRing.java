@@ -0,0 +1,158 @@
+package com.example.order.adapter.outbound.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.order.domain.model.OrderPersistenceModel;
+import com.example.order.port.outbound.OrderEventPublisher;
+
+/**
+ * 注文確定イベントのリングバッファ（事前確保・ロックなし）。
+ *
+ * - スロットは起動時に capacity 個確保し、発行は値の書き換えだけ（1件あたりの確保なし）
+ * - 発行カーソルは CAS で進める。PlaceOrderUseCase は複数のリクエストスレッドから呼ばれるため、
+ *   スロットごとの「周回番号」で公開済みを示し、消費者は連続して公開済みの所までしか読まない
+ * - 消費者は独立したカーソルを持ち、それぞれ自分の速さで読む（同じイベントを全消費者が受け取る）
+ * - 最も遅い消費者が1周遅れたら OverflowPolicy に従う（BLOCK は待つ、DROP は捨てて数える）。
+ *   BLOCK の待ちも blockTimeout で打ち切って捨てて数える（注文はもう保存済みなので、発行側を無期限には止めない）
+ */
+public class OrderEventRing implements OrderEventPublisher {
+	private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+	private static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds(1);
+
+	private final int capacity;
+	private final int mask;
+	private final int shift;
+	private final OrderPlacedEvent[] slots;
+	private final int[] available;
+	private final Sequence cursor = new Sequence(-1);
+	private final WaitStrategy wait;
+	private final OverflowPolicy overflow;
+	private final long blockTimeoutNanos;
+	private final LongAdder dropped = new LongAdder();
+	private volatile Sequence[] gating = new Sequence[0];
+	private long gatingCache = -1; // 最後に見た最遅消費者の位置（古くても安全側）
+
+	public OrderEventRing(int capacity, WaitStrategy wait, OverflowPolicy overflow) {
+		this(capacity, wait, overflow, DEFAULT_BLOCK_TIMEOUT);
+	}
+
+	public OrderEventRing(int capacity, WaitStrategy wait, OverflowPolicy overflow, Duration blockTimeout) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+			throw new IllegalArgumentException("capacity must be a power of two");
+		if (blockTimeout.isNegative() || blockTimeout.isZero())
+			throw new IllegalArgumentException("blockTimeout must be > 0");
+		this.capacity = capacity;
+		this.mask = capacity - 1;
+		this.shift = Integer.numberOfTrailingZeros(capacity);
+		this.slots = new OrderPlacedEvent[capacity];
+		for (int i = 0; i < capacity; i++)
+			slots[i] = new OrderPlacedEvent();
+		this.available = new int[capacity];
+		Arrays.fill(available, -1);
+		this.wait = wait;
+		this.overflow = overflow;
+		this.blockTimeoutNanos = blockTimeout.toNanos();
+	}
+
+	@Override
+	public void orderPlaced(String orderId, OrderPersistenceModel order) {
+		publish(orderId, order);
+	}
+
+	// DROP で捨てたら、または BLOCK の待ちが blockTimeout を超えたら false
+	public boolean publish(String orderId, OrderPersistenceModel order) {
+		long next;
+		long deadline = 0;
+		while (true) {
+			long current = cursor.get();
+			next = current + 1;
+			long wrapPoint = next - capacity;
+			if (wrapPoint > gatingCache) {
+				long slowest = slowest(current);
+				gatingCache = slowest;
+				if (wrapPoint > slowest) {
+					long now = System.nanoTime();
+					if (deadline == 0)
+						deadline = now + blockTimeoutNanos;
+					if (overflow == OverflowPolicy.DROP || now - deadline > 0) {
+						dropped.increment();
+						return false;
+					}
+					LockSupport.parkNanos(1_000);
+					continue;
+				}
+			}
+			if (cursor.compareAndSet(current, next))
+				break;
+		}
+		slots[(int) next & mask].set(orderId, order);
+		AVAILABLE.setRelease(available, (int) next & mask, (int) (next >>> shift));
+		wait.signal();
+		return true;
+	}
+
+	/**
+	 * 消費者を登録する。登録以降に発行されたイベントを受け取る。
+	 * maxBatch は1回に取り出す上限（処理の塊を小さくし、カーソルをこまめに進めて発行側の待ちを減らす）
+	 */
+	public EventConsumer addConsumer(String name, OrderEventHandler handler, int maxBatch) {
+		if (maxBatch <= 0)
+			throw new IllegalArgumentException("maxBatch must be > 0");
+		synchronized (this) {
+			var consumer = new EventConsumer(this, name, handler, maxBatch, new Sequence(cursor.get()));
+			Sequence[] current = gating;
+			Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = consumer.sequence();
+			gating = updated;
+			// 待ち対象に載せてから開始位置を決める（載る前に発行側が1周して開始位置を上書きしないように）
+			consumer.sequence().set(cursor.get());
+			return consumer;
+		}
+	}
+
+	synchronized void removeGating(Sequence sequence) {
+		gating = Arrays.stream(gating).filter(s -> s != sequence).toArray(Sequence[]::new);
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public long published() {
+		return cursor.get() + 1;
+	}
+
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	WaitStrategy waitStrategy() {
+		return wait;
+	}
+
+	OrderPlacedEvent slot(long sequence) {
+		return slots[(int) sequence & mask];
+	}
+
+	// from から見て連続して公開済みの最後の番号（未公開なら from - 1）
+	long highestPublished(long from, long limit) {
+		long upTo = Math.min(cursor.get(), limit);
+		for (long s = from; s <= upTo; s++) {
+			if ((int) AVAILABLE.getAcquire(available, (int) s & mask) != (int) (s >>> shift))
+				return s - 1;
+		}
+		return upTo;
+	}
+
+	private long slowest(long fallback) {
+		long min = fallback;
+		for (Sequence s : gating)
+			min = Math.min(min, s.get());
+		return min;
+	}
+}
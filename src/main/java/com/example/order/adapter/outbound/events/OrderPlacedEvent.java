@@ -0,0 +1,24 @@
+package com.example.order.adapter.outbound.events;
+
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * リングバッファの1スロット。起動時に確保して使い回すので、ハンドラの外へ持ち出すときは値をコピーすること。
+ */
+public final class OrderPlacedEvent {
+	private String orderId;
+	private OrderPersistenceModel order;
+
+	void set(String orderId, OrderPersistenceModel order) {
+		this.orderId = orderId;
+		this.order = order;
+	}
+
+	public String orderId() {
+		return orderId;
+	}
+
+	public OrderPersistenceModel order() {
+		return order;
+	}
+}
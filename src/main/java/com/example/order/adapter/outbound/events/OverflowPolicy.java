@@ -0,0 +1,9 @@
+package com.example.order.adapter.outbound.events;
+
+/** 最も遅い消費者がリング1周ぶん遅れているときの発行側の振る舞い */
+public enum OverflowPolicy {
+  /** 空きが出るまで発行スレッドを待たせる（背圧。取りこぼさない） */
+  BLOCK,
+  /** 発行を諦めて dropped を数える（注文の遅延を優先） */
+  DROP
+}
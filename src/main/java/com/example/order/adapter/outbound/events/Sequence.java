@@ -0,0 +1,44 @@
+package com.example.order.adapter.outbound.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/** キャッシュライン単位で前後を詰め物した long カウンタ（発行カーソル・消費者カーソル同士の偽共有を避ける） */
+final class Sequence extends SequenceValue {
+	@SuppressWarnings("unused")
+	private long p9, p10, p11, p12, p13, p14, p15;
+
+	Sequence(long initial) {
+		value = initial;
+	}
+
+	long get() {
+		return (long) VALUE.getAcquire(this);
+	}
+
+	void set(long v) {
+		VALUE.setRelease(this, v);
+	}
+
+	boolean compareAndSet(long expected, long v) {
+		return VALUE.compareAndSet(this, expected, v);
+	}
+
+	private static final VarHandle VALUE;
+	static {
+		try {
+			VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+}
+
+class SequencePadding {
+	@SuppressWarnings("unused")
+	private long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends SequencePadding {
+	volatile long value;
+}
@@ -0,0 +1,89 @@
+package com.example.order.adapter.outbound.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 消費者が次のイベントを待つ方法。CPU と遅延のどちらを取るかで選ぶ。
+ * idle は空振りのたびに呼ばれ（attempt は連続空振り回数）、戻ったら消費者はもう一度リングを見る。
+ */
+public interface WaitStrategy {
+	void idle(int attempt) throws InterruptedException;
+
+	// 発行のたびに呼ばれる。眠っている消費者を起こす戦略だけが実装する
+	default void signal() {
+	}
+
+	/** 回り続ける。最小遅延だが消費者ごとにコアを1つ占有する */
+	static WaitStrategy busySpin() {
+		return attempt -> Thread.onSpinWait();
+	}
+
+	/** しばらく回ってから yield する */
+	static WaitStrategy yielding() {
+		return attempt -> {
+			if (attempt < 100)
+				Thread.onSpinWait();
+			else
+				Thread.yield();
+		};
+	}
+
+	/** 回る・yield を経て parkNanos で眠る。発行側の負担は無く、遅延は最大 sleepNanos 程度 */
+	static WaitStrategy sleeping(long sleepNanos) {
+		if (sleepNanos <= 0)
+			throw new IllegalArgumentException("sleepNanos must be > 0");
+		return attempt -> {
+			if (attempt < 100)
+				Thread.onSpinWait();
+			else if (attempt < 200)
+				Thread.yield();
+			else
+				LockSupport.parkNanos(sleepNanos);
+		};
+	}
+
+	/** 条件変数で眠り、発行側が起こす。CPU は使わないが、待ち手がいる間は発行ごとにロックを取る */
+	static WaitStrategy blocking() {
+		return new Blocking();
+	}
+
+	final class Blocking implements WaitStrategy {
+		// 起こし損ねても（待ちに入る直前の発行）この間隔で見直す
+		private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition published = lock.newCondition();
+		private final AtomicInteger waiters = new AtomicInteger();
+
+		private Blocking() {
+		}
+
+		@Override
+		public void idle(int attempt) throws InterruptedException {
+			waiters.incrementAndGet();
+			lock.lock();
+			try {
+				published.awaitNanos(MAX_SLEEP_NANOS);
+			} finally {
+				lock.unlock();
+				waiters.decrementAndGet();
+			}
+		}
+
+		@Override
+		public void signal() {
+			if (waiters.get() == 0)
+				return;
+			lock.lock();
+			try {
+				published.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
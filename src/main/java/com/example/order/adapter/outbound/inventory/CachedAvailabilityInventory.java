@@ -0,0 +1,180 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.AtomicInventoryService;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.StockLevels;
+
+/**
+ * 在庫数量のスナップショットを手元に持ち、checkAvailable を可能な限りローカルで答える InventoryService デコレータ。
+ *
+ * - 確保後の残りが safetyMargin 以上あればローカルで true。しきい値付近・未知の商品・スナップショットが古いときは下流へ問い合わせる
+ * - reserve は常に下流へ流し、成功したらローカル残数をその分減らす（ソフト予約）。次の更新までの間、キャッシュは保守側にだけずれる
+ * - 更新の読み取り中に下流で確保された分は、新しいスナップショットからも差し引く（二重に引く分には保守側）
+ * - reserve が在庫不足で失敗した商品は、次の更新までローカル残数を 0 にして下流判定に回す
+ *
+ * 下流が AtomicInventoryService なら {@link #of} は reserveAll も下流へ流す実装を返す（ADR-012 の一括確保を保つ）。
+ * 他ノードの確保は次の更新まで見えないため、safetyMargin は「更新間隔あたりの他ノードの最大消費量」以上に取る。
+ */
+public class CachedAvailabilityInventory implements InventoryService {
+	private static final System.Logger LOG = System.getLogger(CachedAvailabilityInventory.class.getName());
+
+	private final InventoryService backend;
+	private final StockLevels levels;
+	private final long safetyMargin;
+	private final long maxStaleNanos;
+	private final LongSupplier nanoTime;
+
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), new ConcurrentHashMap<>(), Long.MIN_VALUE);
+	// 更新の読み取り中だけ非 null。この間の確保は新しいスナップショットの確保済みにも積む
+	private volatile ConcurrentHashMap<String, LongAdder> refreshing;
+	private final LongAdder localHits = new LongAdder();
+	private final LongAdder backendChecks = new LongAdder();
+
+	private CachedAvailabilityInventory(InventoryService backend, StockLevels levels, long safetyMargin,
+			Duration maxStaleness, LongSupplier nanoTime) {
+		if (safetyMargin < 0)
+			throw new IllegalArgumentException("safetyMargin must be >= 0");
+		this.backend = backend;
+		this.levels = levels;
+		this.safetyMargin = safetyMargin;
+		this.maxStaleNanos = maxStaleness.toNanos();
+		this.nanoTime = nanoTime;
+	}
+
+	public static CachedAvailabilityInventory of(InventoryService backend, StockLevels levels, long safetyMargin,
+			Duration maxStaleness) {
+		return of(backend, levels, safetyMargin, maxStaleness, System::nanoTime);
+	}
+
+	static CachedAvailabilityInventory of(InventoryService backend, StockLevels levels, long safetyMargin,
+			Duration maxStaleness, LongSupplier nanoTime) {
+		if (backend instanceof AtomicInventoryService atomic)
+			return new Atomic(atomic, levels, safetyMargin, maxStaleness, nanoTime);
+		return new CachedAvailabilityInventory(backend, levels, safetyMargin, maxStaleness, nanoTime);
+	}
+
+	// scheduler で定期更新を始める。戻り値の cancel で停止
+	public ScheduledFuture<?> scheduleRefresh(ScheduledExecutorService scheduler, Duration interval) {
+		refresh();
+		long nanos = interval.toNanos();
+		return scheduler.scheduleAtFixedRate(this::refreshQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized void refresh() {
+		var taken = new ConcurrentHashMap<String, LongAdder>();
+		refreshing = taken;
+		long takenAt = nanoTime.getAsLong(); // 読み取り前に刻む（古さを短く見積もらない）
+		try {
+			snapshot = new Snapshot(Map.copyOf(levels.snapshot()), taken, takenAt);
+		} finally {
+			refreshing = null;
+		}
+	}
+
+	@Override
+	public boolean checkAvailable(String productId, int qty) {
+		Snapshot s = snapshot;
+		if (s.remaining(productId) >= safetyMargin + qty && nanoTime.getAsLong() - s.takenAt <= maxStaleNanos) {
+			localHits.increment();
+			return true;
+		}
+		backendChecks.increment();
+		return backend.checkAvailable(productId, qty);
+	}
+
+	@Override
+	public void reserve(String productId, int qty) {
+		try {
+			backend.reserve(productId, qty);
+		} catch (IllegalStateException e) {
+			snapshot.exhaust(productId); // 実在庫はスナップショットより少ない
+			throw e;
+		}
+		taken(productId, qty);
+	}
+
+	public long localHits() {
+		return localHits.sum();
+	}
+
+	public long backendChecks() {
+		return backendChecks.sum();
+	}
+
+	// 下流で確保済みの分を、現在のスナップショットと読み取り中の更新の両方から差し引く
+	private void taken(String productId, int qty) {
+		var pending = refreshing; // snapshot より先に読む。null なら更新は済んでおり、次の snapshot は新しい方
+		Snapshot s = snapshot;
+		s.take(productId, qty);
+		if (pending != null && pending != s.taken)
+			pending.computeIfAbsent(productId, id -> new LongAdder()).add(qty);
+	}
+
+	private void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException e) {
+			// 古いスナップショットのまま続ける。maxStaleness を過ぎれば下流判定に切り替わる
+			LOG.log(System.Logger.Level.WARNING, "refreshing stock snapshot failed; keeping the previous one", e);
+		}
+	}
+
+	private static final class Atomic extends CachedAvailabilityInventory implements AtomicInventoryService {
+		private final AtomicInventoryService backend;
+
+		Atomic(AtomicInventoryService backend, StockLevels levels, long safetyMargin, Duration maxStaleness,
+				LongSupplier nanoTime) {
+			super(backend, levels, safetyMargin, maxStaleness, nanoTime);
+			this.backend = backend;
+		}
+
+		@Override
+		public void reserveAll(List<OrderRequest.Line> lines) {
+			try {
+				backend.reserveAll(lines);
+			} catch (IllegalStateException e) {
+				// どの行が不足したかは分からないので、注文の全商品を下流判定に回す
+				Snapshot s = super.snapshot;
+				for (int i = 0; i < lines.size(); i++)
+					s.exhaust(lines.get(i).productId());
+				throw e;
+			}
+			for (int i = 0; i < lines.size(); i++)
+				super.taken(lines.get(i).productId(), lines.get(i).qty());
+		}
+	}
+
+	// levels は読み取り時点の在庫、taken はそれ以降にこのノードが確保した分
+	private record Snapshot(Map<String, Long> levels, ConcurrentHashMap<String, LongAdder> taken, long takenAt) {
+		// 未知の商品は Long.MIN_VALUE（ローカルでは答えない）
+		long remaining(String productId) {
+			Long level = levels.get(productId);
+			if (level == null)
+				return Long.MIN_VALUE;
+			LongAdder t = taken.get(productId);
+			return t == null ? level : level - t.sum();
+		}
+
+		void take(String productId, long qty) {
+			if (levels.containsKey(productId))
+				taken.computeIfAbsent(productId, id -> new LongAdder()).add(qty);
+		}
+
+		void exhaust(String productId) {
+			long remaining = remaining(productId);
+			if (remaining > 0)
+				take(productId, remaining);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.AtomicInventoryService;
+import com.example.order.port.outbound.InventoryService;
+
+/**
+ * 同じ商品への同時 reserve を短い窓でまとめ、下流へは合計数量の reserve 1回で流す InventoryService デコレータ。
+ *
+ * 窓を開いた最初の呼び出し（リーダー）が window だけ待ってから束ねた分を確定し、結果を各注文へ配る。
+ * 合計が確保できないときは到着順の先頭から確保できる分だけ確保し、残りの注文を失敗させる（先着順）。
+ * 後着の小さな注文が残在庫に収まる場合でも追い越しはさせない。
+ * 下流が在庫不足以外で失敗したとき（Error を含む）も全注文へ結果を配り、後着の注文は原因付きの
+ * IllegalStateException を各自新しく受け取る。checkAvailable はそのまま下流へ流す。
+ * 下流が AtomicInventoryService なら {@link #of} は reserveAll を束ねずに下流へ流す実装を返す（ADR-012）。
+ */
+public class CoalescingInventory implements InventoryService {
+	// 競合で確保に失敗したときに探し直す上限。越えたら束の残りは在庫不足で返す
+	private static final int SETTLE_ATTEMPTS = 3;
+
+	private final InventoryService backend;
+	private final long windowNanos;
+	private final int maxBatch;
+	private final ConcurrentHashMap<String, Batch> open = new ConcurrentHashMap<>();
+	private final LongAdder backendReserves = new LongAdder();
+
+	private CoalescingInventory(InventoryService backend, Duration window, int maxBatch) {
+		if (maxBatch <= 0)
+			throw new IllegalArgumentException("maxBatch must be > 0");
+		this.backend = backend;
+		this.windowNanos = window.toNanos();
+		this.maxBatch = maxBatch;
+	}
+
+	public static CoalescingInventory of(InventoryService backend, Duration window, int maxBatch) {
+		if (backend instanceof AtomicInventoryService atomic)
+			return new Atomic(atomic, window, maxBatch);
+		return new CoalescingInventory(backend, window, maxBatch);
+	}
+
+	@Override
+	public boolean checkAvailable(String productId, int qty) {
+		return backend.checkAvailable(productId, qty);
+	}
+
+	@Override
+	public void reserve(String productId, int qty) {
+		if (qty <= 0)
+			throw new IllegalArgumentException("qty must be > 0");
+		var request = new CompletableFuture<Void>();
+		Batch batch;
+		int position;
+		while (true) {
+			batch = open.computeIfAbsent(productId, id -> new Batch());
+			position = batch.add(qty, request, maxBatch);
+			if (position >= 0)
+				break;
+			open.remove(productId, batch); // 締め切り済み・満杯。以降の到着は次の窓へ
+		}
+		if (position == 0)
+			lead(productId, batch);
+		try {
+			request.join();
+		} catch (CompletionException e) {
+			// 例外は束ね全体で共有しているので、注文ごとに新しい例外で包んで返す
+			if (e.getCause() instanceof IllegalStateException)
+				throw new IllegalStateException("no stock for product " + productId, e.getCause());
+			throw new IllegalStateException("reserve failed for product " + productId, e.getCause());
+		}
+	}
+
+	public long backendReserves() {
+		return backendReserves.sum();
+	}
+
+	private void lead(String productId, Batch batch) {
+		if (windowNanos > 0)
+			LockSupport.parkNanos(windowNanos);
+		open.remove(productId, batch);
+		List<Integer> qtys = new ArrayList<>();
+		List<CompletableFuture<Void>> waiters = new ArrayList<>();
+		batch.close(qtys, waiters);
+		int satisfied = 0;
+		Throwable failure = null;
+		try {
+			satisfied = settle(productId, qtys);
+		} catch (Throwable e) {
+			failure = e;
+			throw e; // リーダー自身は元の例外をそのまま受け取る
+		} finally {
+			// どう終わっても待っている注文を必ず完了させる（取り残すと永久に待つ）
+			var shortage = new IllegalStateException("no stock for product " + productId);
+			for (int i = 0; i < waiters.size(); i++) {
+				if (failure != null)
+					waiters.get(i).completeExceptionally(failure);
+				else if (i < satisfied)
+					waiters.get(i).complete(null);
+				else
+					waiters.get(i).completeExceptionally(shortage);
+			}
+		}
+	}
+
+	// 先頭から何件確保できたかを返す
+	int settle(String productId, List<Integer> qtys) {
+		long[] prefix = new long[qtys.size() + 1];
+		for (int i = 0; i < qtys.size(); i++)
+			prefix[i + 1] = prefix[i] + qtys.get(i);
+		if (tryReserve(productId, prefix[qtys.size()]))
+			return qtys.size();
+		// 合計は取れない。確保できる最長の先頭区間を可用性チェックの二分探索で探す
+		// 探索と確保の間に他から取られていたら、その手前までで探し直す（回数は SETTLE_ATTEMPTS まで）
+		int hi = qtys.size() - 1;
+		for (int attempt = 0; attempt < SETTLE_ATTEMPTS && hi > 0; attempt++) {
+			int lo = longestAvailablePrefix(productId, prefix, hi);
+			if (lo == 0 || tryReserve(productId, prefix[lo]))
+				return lo;
+			hi = lo - 1;
+		}
+		return 0;
+	}
+
+	private int longestAvailablePrefix(String productId, long[] prefix, int hi) {
+		int lo = 0;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (prefix[mid] <= Integer.MAX_VALUE && backend.checkAvailable(productId, (int) prefix[mid]))
+				lo = mid;
+			else
+				hi = mid - 1;
+		}
+		return lo;
+	}
+
+	private boolean tryReserve(String productId, long qty) {
+		if (qty > Integer.MAX_VALUE)
+			return false;
+		backendReserves.increment();
+		try {
+			backend.reserve(productId, (int) qty);
+			return true;
+		} catch (IllegalStateException e) {
+			return false;
+		}
+	}
+
+	// 一括確保は束ねずにそのまま下流へ流す（ADR-012 の全行か無しかを保つ）
+	private static final class Atomic extends CoalescingInventory implements AtomicInventoryService {
+		private final AtomicInventoryService backend;
+
+		Atomic(AtomicInventoryService backend, Duration window, int maxBatch) {
+			super(backend, window, maxBatch);
+			this.backend = backend;
+		}
+
+		@Override
+		public void reserveAll(List<OrderRequest.Line> lines) {
+			backend.reserveAll(lines);
+		}
+	}
+
+	private static final class Batch {
+		private final List<Integer> qtys = new ArrayList<>();
+		private final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+		private boolean closed;
+
+		// 受け付けた位置（0 ならリーダー）。締め切り後・満杯なら -1（追加する前に判定する）
+		synchronized int add(int qty, CompletableFuture<Void> waiter, int maxBatch) {
+			if (closed || qtys.size() >= maxBatch)
+				return -1;
+			qtys.add(qty);
+			waiters.add(waiter);
+			return qtys.size() - 1;
+		}
+
+		synchronized void close(List<Integer> qtysOut, List<CompletableFuture<Void>> waitersOut) {
+			closed = true;
+			qtysOut.addAll(qtys);
+			waitersOut.addAll(waiters);
+		}
+	}
+}
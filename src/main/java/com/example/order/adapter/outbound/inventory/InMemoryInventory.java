@@ -0,0 +1,118 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.ReleasableInventory;
+import com.example.order.port.outbound.StockLevels;
+
+/**
+ * プロセス内で完結する InventoryService（負荷試験・エッジノード用）。
+ *
+ * 商品 → 在庫カウンタの表は ConcurrentHashMap（ビン単位でシャーディングされ、参照はロック無し）。
+ * 各商品の在庫は StripedStock：CAS で減算するセル群で、ホット商品ではセルを増やして競合を分散する。
+ * 在庫は負にならない。checkAvailable はセル合計を読むだけのノンブロッキングな目安で、
+ * 確定は reserve の CAS で行う（ADR-007 の check → reserve の間に他注文が在庫を取ることはある）。
+ *
+ * reserveAll は商品ID順に CAS で取り、途中で不足したら取った分を戻して失敗する（ADR-012）。
+ * グローバルロックも商品単位のロックも取らないため、デッドロックせず、無関係な商品の注文とは競合しない。
+ */
+public class InMemoryInventory implements ReleasableInventory, StockLevels {
+	private final ConcurrentHashMap<String, StripedStock> stock = new ConcurrentHashMap<>();
+	private final int maxCellsPerProduct;
+
+	public InMemoryInventory() {
+		this(defaultMaxCells());
+	}
+
+	public InMemoryInventory(int maxCellsPerProduct) {
+		if (maxCellsPerProduct <= 0 || Integer.bitCount(maxCellsPerProduct) != 1)
+			throw new IllegalArgumentException("maxCellsPerProduct must be a power of two");
+		this.maxCellsPerProduct = maxCellsPerProduct;
+	}
+
+	// 入荷（未登録なら登録）
+	public void restock(String productId, int qty) {
+		if (qty <= 0)
+			throw new IllegalArgumentException("qty must be > 0");
+		StripedStock s = stock.get(productId);
+		if (s == null) {
+			s = stock.putIfAbsent(productId, new StripedStock(qty, maxCellsPerProduct));
+			if (s == null)
+				return;
+		}
+		s.add(qty);
+	}
+
+	// 予約の取り消し（在庫へ戻す）
+	@Override
+	public void release(String productId, int qty) {
+		if (qty <= 0)
+			throw new IllegalArgumentException("qty must be > 0");
+		StripedStock s = stock.get(productId);
+		if (s == null)
+			throw new IllegalStateException("no stock for product " + productId);
+		s.add(qty);
+	}
+
+	public long available(String productId) {
+		StripedStock s = stock.get(productId);
+		return s == null ? 0 : s.sum();
+	}
+
+	@Override
+	public Map<String, Long> snapshot() {
+		Map<String, Long> levels = new HashMap<>(stock.size() * 2);
+		stock.forEach((id, s) -> levels.put(id, s.sum()));
+		return levels;
+	}
+
+	@Override
+	public boolean checkAvailable(String productId, int qty) {
+		StripedStock s = stock.get(productId);
+		return s != null && s.sum() >= qty;
+	}
+
+	@Override
+	public void reserve(String productId, int qty) {
+		if (qty <= 0)
+			throw new IllegalArgumentException("qty must be > 0");
+		StripedStock s = stock.get(productId);
+		if (s == null || !s.tryTake(qty))
+			throw new IllegalStateException("no stock for product " + productId);
+	}
+
+	@Override
+	public void reserveAll(List<OrderRequest.Line> lines) {
+		// 同一商品の複数行は合算し、商品ID順に確保する
+		Map<String, Integer> demand = new TreeMap<>();
+		for (int i = 0; i < lines.size(); i++) {
+			var line = lines.get(i);
+			if (line.qty() <= 0)
+				throw new IllegalArgumentException("qty must be > 0");
+			demand.merge(line.productId(), line.qty(), Integer::sum);
+		}
+		StripedStock[] taken = new StripedStock[demand.size()];
+		long[] qtys = new long[demand.size()];
+		int n = 0;
+		for (var e : demand.entrySet()) {
+			StripedStock s = stock.get(e.getKey());
+			if (s == null || !s.tryTake(e.getValue())) {
+				for (int i = 0; i < n; i++)
+					taken[i].add(qtys[i]); // 補償：確保済みの行を戻す
+				throw new IllegalStateException("no stock for product " + e.getKey());
+			}
+			taken[n] = s;
+			qtys[n++] = e.getValue();
+		}
+	}
+
+	private static int defaultMaxCells() {
+		int cpus = Runtime.getRuntime().availableProcessors();
+		return Math.min(64, Integer.highestOneBit(Math.max(1, cpus - 1)) << 1);
+	}
+}
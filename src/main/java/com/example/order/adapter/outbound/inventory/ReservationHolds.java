@@ -0,0 +1,201 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.ReleasableInventory;
+
+/**
+ * 期限付きの在庫確保（「15分確保し、確定されなければ自動で戻す」）。
+ *
+ * - hold で注文全行を reserveAll し、期限をタイミングホイールに登録する（確保ごとのタイマーは作らない）
+ * - confirm はホイールから外すだけで在庫は確保のまま、release は在庫へ戻す。どちらも O(1)
+ * - expire で現在時刻までの期限切れをまとめて外し、商品ごとに合算して1回ずつ release する
+ * - 時刻は単調時計（System.nanoTime）から取るので、壁時計の変更の影響を受けない。
+ *   スリープ復帰などで大きく時間が飛んだ分はまとめて期限切れにし、戻った読み値は無視する
+ *
+ * 期限は tick 単位に切り上げるので、自動解放は ttl 経過後、最大で tick + expire の呼び出し間隔だけ遅れる。
+ *
+ * 在庫へ戻すのに失敗した商品・数量は失敗数を数えて再試行待ちに積み、次の expire で一緒に戻す
+ * （確保はホイールから外れているので、ここで持っておかないと在庫が戻らないまま失われる）。
+ */
+public class ReservationHolds {
+	private static final System.Logger LOG = System.getLogger(ReservationHolds.class.getName());
+
+	private final ReleasableInventory inventory;
+	private final long tickNanos;
+	private final LongSupplier nanoTime;
+	private final long origin;
+	private final TimingWheel<Hold> wheel = new TimingWheel<>(0);
+	private final Map<Long, Hold> holds = new HashMap<>();
+	private final Map<String, Integer> retry = new TreeMap<>(); // 戻し損ねた商品 → 数量
+	private long nextId = 1;
+	private long confirmed;
+	private long expired;
+	private long releaseFailures;
+
+	public ReservationHolds(ReleasableInventory inventory, Duration tick) {
+		this(inventory, tick, System::nanoTime);
+	}
+
+	ReservationHolds(ReleasableInventory inventory, Duration tick, LongSupplier nanoTime) {
+		if (tick.isNegative() || tick.isZero())
+			throw new IllegalArgumentException("tick must be > 0");
+		this.inventory = inventory;
+		this.tickNanos = tick.toNanos();
+		this.nanoTime = nanoTime;
+		this.origin = nanoTime.getAsLong();
+	}
+
+	// 全行を確保して確保IDを返す。在庫不足なら何も確保せず IllegalStateException
+	public long hold(List<OrderRequest.Line> lines, Duration ttl) {
+		if (ttl.isNegative() || ttl.isZero())
+			throw new IllegalArgumentException("ttl must be > 0");
+		if (lines == null || lines.isEmpty())
+			throw new IllegalArgumentException("lines must not be empty");
+		List<OrderRequest.Line> copy = List.copyOf(lines);
+		inventory.reserveAll(copy);
+		long elapsed = nanoTime.getAsLong() - origin;
+		long deadline = Math.floorDiv(elapsed + ttl.toNanos() + tickNanos - 1, tickNanos);
+		synchronized (this) {
+			Hold h = new Hold(nextId++, copy);
+			wheel.add(h, deadline);
+			holds.put(h.id, h);
+			return h.id;
+		}
+	}
+
+	// 確定：確保はそのまま残す。期限切れ・解放済み・未知のIDなら false
+	public boolean confirm(long holdId) {
+		synchronized (this) {
+			Hold h = holds.remove(holdId);
+			if (h == null)
+				return false;
+			wheel.remove(h);
+			confirmed++;
+			return true;
+		}
+	}
+
+	// 取り消し：在庫へ戻す。期限切れ・確定済み・未知のIDなら false
+	// 戻すのに失敗した分は例外を投げたうえで再試行待ちに積む
+	public boolean release(long holdId) {
+		Hold h;
+		synchronized (this) {
+			h = holds.remove(holdId);
+			if (h == null)
+				return false;
+			wheel.remove(h);
+		}
+		releaseAll(List.of(h));
+		return true;
+	}
+
+	// 現在時刻までに期限の来た確保と再試行待ちをまとめて戻し、期限切れの件数を返す
+	public int expire() {
+		List<Hold> batch = new ArrayList<>();
+		boolean retrying;
+		synchronized (this) {
+			long now = Math.floorDiv(nanoTime.getAsLong() - origin, tickNanos);
+			wheel.advanceTo(now, h -> {
+				holds.remove(h.id);
+				batch.add(h);
+			});
+			expired += batch.size();
+			retrying = !retry.isEmpty();
+		}
+		if (!batch.isEmpty() || retrying)
+			releaseAll(batch);
+		return batch.size();
+	}
+
+	// scheduler で tick ごとに expire を回す。戻り値の cancel で停止
+	public ScheduledFuture<?> scheduleExpiry(ScheduledExecutorService scheduler) {
+		return scheduler.scheduleAtFixedRate(this::expireQuietly, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized int pending() {
+		return holds.size();
+	}
+
+	public synchronized long confirmed() {
+		return confirmed;
+	}
+
+	public synchronized long expired() {
+		return expired;
+	}
+
+	// 在庫へ戻すのに失敗した回数（商品単位）
+	public synchronized long releaseFailures() {
+		return releaseFailures;
+	}
+
+	// 次の expire で戻し直す数量の合計
+	public synchronized long retryPending() {
+		long sum = 0;
+		for (int qty : retry.values())
+			sum += qty;
+		return sum;
+	}
+
+	private void releaseAll(List<Hold> batch) {
+		Map<String, Integer> qtys = new TreeMap<>();
+		synchronized (this) {
+			qtys.putAll(retry);
+			retry.clear();
+		}
+		for (Hold h : batch) {
+			for (OrderRequest.Line l : h.lines)
+				qtys.merge(l.productId(), l.qty(), Integer::sum);
+		}
+		RuntimeException failure = null;
+		Map<String, Integer> failed = new TreeMap<>();
+		for (var e : qtys.entrySet()) {
+			try {
+				inventory.release(e.getKey(), e.getValue());
+			} catch (RuntimeException ex) { // 1商品の失敗で他の商品を戻し損ねない
+				failed.put(e.getKey(), e.getValue());
+				if (failure == null)
+					failure = ex;
+				else
+					failure.addSuppressed(ex);
+			}
+		}
+		if (failure != null) {
+			synchronized (this) {
+				failed.forEach((id, qty) -> retry.merge(id, qty, Integer::sum));
+				releaseFailures += failed.size();
+			}
+			throw failure;
+		}
+	}
+
+	private void expireQuietly() {
+		try {
+			expire();
+		} catch (RuntimeException e) {
+			// 戻し損ねた分は再試行待ちに積んである。定期実行自体は止めない
+			LOG.log(System.Logger.Level.WARNING, "releasing expired holds failed; retrying on next expiry", e);
+		}
+	}
+
+	private static final class Hold extends TimingWheel.Entry {
+		final long id;
+		final List<OrderRequest.Line> lines;
+
+		Hold(long id, List<OrderRequest.Line> lines) {
+			this.id = id;
+			this.lines = lines;
+		}
+	}
+}
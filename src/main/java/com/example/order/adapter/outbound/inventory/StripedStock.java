@@ -0,0 +1,184 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 1商品ぶんの在庫カウンタ。LongAdder と同じく、CAS が競合したらセルを倍々に増やし、
+ * スレッドのプローブ（担当セルの選び方）を xorshift で振り直して更新を分散する。
+ * 各セルは 0 未満にならないよう CAS で減算するので、合計（在庫）も負にならない。
+ *
+ * 自セルで足りなければ他セルから取り寄せる。取り寄せ時は必要量より多め（相手の半分まで）を自セルへ移し、
+ * 在庫を使うスレッド側へ寄せていく。移動中の在庫は合計から一時的に見えなくなるだけで、増えることはない。
+ * 取り寄せで足りなかったときは、他スレッドの取り寄せ（移動中の在庫）が無い状態で合計を読み直し、
+ * それでも足りない場合だけ失敗にする。移動中だった・途中でセルが増えた場合は取り寄せからやり直す。
+ */
+final class StripedStock {
+	// スレッドごとのプローブ。初期値はスレッドIDのハッシュ、CAS 競合のたびに進める
+	private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[] { seed() });
+
+	private final int maxCells;
+	private volatile Cell[] cells;
+	// 取り寄せの開始数・終了数。一致していれば移動中の在庫は無い
+	private final AtomicLong gathersStarted = new AtomicLong();
+	private final AtomicLong gathersFinished = new AtomicLong();
+
+	StripedStock(long initial, int maxCells) {
+		this.maxCells = maxCells;
+		this.cells = new Cell[] { new Cell(initial) };
+	}
+
+	long sum() {
+		long sum = 0;
+		for (Cell c : cells)
+			sum += c.value;
+		return sum;
+	}
+
+	void add(long qty) {
+		Cell[] cs = cells;
+		cs[probe() & (cs.length - 1)].add(qty);
+	}
+
+	// 全量を取れたら true。取れなければ途中で取った分を戻して false
+	boolean tryTake(long qty) {
+		Cell[] cs = cells;
+		int home = probe() & (cs.length - 1);
+		Cell mine = cs[home];
+		long v;
+		while ((v = mine.value) >= qty) {
+			if (mine.cas(v, v - qty))
+				return true;
+			inflate(cs); // 競合したのでセルを増やし、別のセルで取り直す
+			cs = cells;
+			home = advanceProbe() & (cs.length - 1);
+			mine = cs[home];
+		}
+		while (!gather(cs, home, qty)) {
+			if (exhausted(qty))
+				return false;
+			Thread.yield(); // 移動中の在庫が戻るのを待ってから最新のセル配列で取り直す
+			cs = cells;
+			home = probe() & (cs.length - 1);
+		}
+		return true;
+	}
+
+	// 取り寄せが1件も走っていない間に読んだ合計が qty 未満なら、本当に在庫が足りない
+	private boolean exhausted(long qty) {
+		long finished = gathersFinished.get();
+		long started = gathersStarted.get();
+		if (started != finished)
+			return false;
+		return sum() < qty && gathersStarted.get() == started;
+	}
+
+	private boolean gather(Cell[] cs, int home, long qty) {
+		gathersStarted.incrementAndGet();
+		try {
+			return moveTo(cs, home, qty);
+		} finally {
+			gathersFinished.incrementAndGet();
+		}
+	}
+
+	private static boolean moveTo(Cell[] cs, int home, long qty) {
+		Cell mine = cs[home];
+		long taken = 0;
+		for (int i = 0; i < cs.length && taken < qty; i++) {
+			Cell donor = cs[(home + i) & (cs.length - 1)];
+			long v;
+			while ((v = donor.value) > 0) {
+				long need = qty - taken;
+				long take = (donor == mine) ? Math.min(v, need) : Math.min(v, Math.max(need, v / 2));
+				if (donor.cas(v, v - take)) {
+					taken += take;
+					break;
+				}
+			}
+		}
+		if (taken >= qty) {
+			if (taken > qty)
+				mine.add(taken - qty); // 多めに取った分は自セルへ
+			return true;
+		}
+		if (taken > 0)
+			mine.add(taken);
+		return false;
+	}
+
+	private void inflate(Cell[] seen) {
+		if (seen.length >= maxCells || cells != seen)
+			return;
+		synchronized (this) {
+			if (cells != seen)
+				return;
+			Cell[] next = new Cell[seen.length << 1];
+			System.arraycopy(seen, 0, next, 0, seen.length);
+			for (int i = seen.length; i < next.length; i++)
+				next[i] = new Cell(0);
+			cells = next;
+		}
+	}
+
+	private static int probe() {
+		return PROBE.get()[0];
+	}
+
+	// 同じセルに当たり続けないよう、競合したスレッドの担当セルを変える
+	private static int advanceProbe() {
+		int[] p = PROBE.get();
+		int h = p[0];
+		h ^= h << 13;
+		h ^= h >>> 17;
+		h ^= h << 5;
+		p[0] = h;
+		return h;
+	}
+
+	private static int seed() {
+		long id = Thread.currentThread().getId();
+		int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		h ^= h >>> 16;
+		return (h == 0) ? 1 : h; // xorshift は 0 から動かない
+	}
+
+	// 偽共有を避けるため前後を埋める
+	@SuppressWarnings("unused")
+	static class Pad0 {
+		long p01, p02, p03, p04, p05, p06, p07;
+	}
+
+	static class Value extends Pad0 {
+		volatile long value;
+	}
+
+	@SuppressWarnings("unused")
+	static class Pad1 extends Value {
+		long q01, q02, q03, q04, q05, q06, q07;
+	}
+
+	static final class Cell extends Pad1 {
+		private static final VarHandle VALUE;
+		static {
+			try {
+				VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+			} catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		Cell(long initial) {
+			this.value = initial;
+		}
+
+		boolean cas(long expected, long next) {
+			return VALUE.compareAndSet(this, expected, next);
+		}
+
+		void add(long qty) {
+			VALUE.getAndAdd(this, qty);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.order.adapter.outbound.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 階層型タイミングホイール（64スロット × 4段、1段目は1ティック刻み、上の段ほど64倍粗い）。
+ *
+ * - 追加・取り消しは O(1)：要素自身がリンクを持つ双方向リストへのつなぎ替え
+ * - 上の段のスロットは、そのスロットの範囲に入った時点で下の段へ振り直す（カスケード）
+ * - 64^4 ティックより先の期限は最上段の端に置き、カスケードのたびに置き直す
+ * - 大きく時間が飛んだとき（CATCH_UP_TICKS 超）は1ティックずつ回さず、全要素を振り直して期限切れをまとめて出す
+ *
+ * スレッドセーフではない（呼び出し側でロックする）。
+ */
+final class TimingWheel<E extends TimingWheel.Entry> {
+	static final int SLOT_BITS = 6;
+	static final int SLOTS = 1 << SLOT_BITS;
+	static final int LEVELS = 4;
+	static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+	static final long CATCH_UP_TICKS = 4096;
+
+	/** ホイールに入る要素の基底。deadline は絶対ティック */
+	static class Entry {
+		long deadline;
+		Entry prev;
+		Entry next;
+		int bucket = -1;
+	}
+
+	private final Entry[] buckets = new Entry[LEVELS * SLOTS];
+	private long current;
+	private int size;
+
+	TimingWheel(long startTick) {
+		this.current = startTick;
+	}
+
+	// 期限が現在以前なら次のティックで期限切れにする
+	void add(E e, long deadlineTick) {
+		if (e.bucket >= 0)
+			throw new IllegalStateException("entry already scheduled");
+		e.deadline = Math.max(deadlineTick, current + 1);
+		place(e);
+		size++;
+	}
+
+	boolean remove(E e) {
+		if (e.bucket < 0)
+			return false;
+		unlink(e);
+		size--;
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	long currentTick() {
+		return current;
+	}
+
+	// tick まで進め、期限切れの要素を expired に渡す（ホイールからは外れた状態）。過去の tick は無視
+	@SuppressWarnings("unchecked")
+	void advanceTo(long tick, Consumer<? super E> expired) {
+		if (tick <= current)
+			return;
+		if (tick - current > CATCH_UP_TICKS) {
+			rebuild(tick, expired);
+			return;
+		}
+		while (current < tick) {
+			if (size == 0) {
+				current = tick;
+				return;
+			}
+			current++;
+			for (int level = LEVELS - 1; level >= 1; level--) {
+				if ((current & ((1L << (SLOT_BITS * level)) - 1)) == 0)
+					cascade(level);
+			}
+			int index = (int) (current & (SLOTS - 1));
+			Entry e;
+			while ((e = buckets[index]) != null) {
+				unlink(e);
+				size--;
+				expired.accept((E) e);
+			}
+		}
+	}
+
+	private void cascade(int level) {
+		int index = level * SLOTS + (int) ((current >>> (SLOT_BITS * level)) & (SLOTS - 1));
+		Entry e;
+		while ((e = buckets[index]) != null) {
+			unlink(e);
+			place(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void rebuild(long tick, Consumer<? super E> expired) {
+		List<Entry> all = new ArrayList<>(size);
+		for (int i = 0; i < buckets.length; i++) {
+			Entry e;
+			while ((e = buckets[i]) != null) {
+				unlink(e);
+				all.add(e);
+			}
+		}
+		current = tick;
+		for (Entry e : all) {
+			if (e.deadline <= tick) {
+				size--;
+				expired.accept((E) e);
+			} else {
+				place(e);
+			}
+		}
+	}
+
+	private void place(Entry e) {
+		long delay = e.deadline - current;
+		for (int level = 0; level < LEVELS; level++) {
+			int shift = SLOT_BITS * level;
+			if (delay < (1L << (shift + SLOT_BITS)) || level == LEVELS - 1) {
+				long at = Math.min(e.deadline, current + SPAN - 1);
+				int slot = (int) ((at >>> shift) & (SLOTS - 1));
+				link(e, level * SLOTS + slot);
+				return;
+			}
+		}
+	}
+
+	private void link(Entry e, int index) {
+		Entry head = buckets[index];
+		e.prev = null;
+		e.next = head;
+		if (head != null)
+			head.prev = e;
+		buckets[index] = e;
+		e.bucket = index;
+	}
+
+	private void unlink(Entry e) {
+		int index = e.bucket;
+		if (e.prev != null)
+			e.prev.next = e.next;
+		else
+			buckets[index] = e.next;
+		if (e.next != null)
+			e.next.prev = e.prev;
+		e.prev = null;
+		e.next = null;
+		e.bucket = -1;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.order.adapter.outbound.order;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+import com.example.order.port.outbound.OrderQueryPort;
+import com.example.order.port.outbound.SaveOrderPort;
+
+/**
+ * プロセス内の注文ストア。保存（SaveOrderPort）と参照（OrderQueryPort）を提供する。
+ *
+ * - 本体は注文ID → モデルの ConcurrentHashMap。ID 検索はロックを取らない
+ * - 注文には保存順の連番（1始まり）を振り、ID は "ORD-" + 連番。地域・商品ID・適用割引ごとの索引は連番の昇順リスト（PostingList）
+ * - 索引は保存時に追記で更新する。保存は書き込みロック、一覧系の参照は読み取りロック下で行う
+ * - 一覧は新しい順に limit 件だけ読むので、該当件数が多くても取り出す件数ぶんの手間で済む
+ */
+public class InMemoryOrderStore implements SaveOrderPort, OrderQueryPort {
+	static final String ID_PREFIX = "ORD-";
+
+	private final ConcurrentHashMap<String, OrderPersistenceModel> orders = new ConcurrentHashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, PostingList> byRegion = new HashMap<>();
+	private final Map<String, PostingList> byProduct = new HashMap<>();
+	private final Map<DiscountType, PostingList> byDiscount = new EnumMap<>(DiscountType.class);
+	private int count;
+
+	@Override
+	public String save(OrderPersistenceModel order) {
+		if (order == null)
+			throw new IllegalArgumentException("order must not be null");
+		lock.writeLock().lock();
+		try {
+			int ordinal = ++count;
+			String id = ID_PREFIX + ordinal;
+			byRegion.computeIfAbsent(order.region(), k -> new PostingList()).add(ordinal);
+			List<OrderLinePersistence> lines = order.lines();
+			for (int i = 0; i < lines.size(); i++)
+				byProduct.computeIfAbsent(lines.get(i).productId(), k -> new PostingList()).add(ordinal);
+			List<DiscountType> applied = order.appliedDiscounts();
+			for (int i = 0; i < applied.size(); i++)
+				byDiscount.computeIfAbsent(applied.get(i), k -> new PostingList()).add(ordinal);
+			orders.put(id, order); // 索引と同じロック内で公開する（一覧で見えた ID は必ず引ける）
+			return id;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Optional<OrderPersistenceModel> findById(String orderId) {
+		return Optional.ofNullable(orders.get(orderId));
+	}
+
+	@Override
+	public List<String> findByRegion(String region, int limit) {
+		return newest(byRegion, region, limit);
+	}
+
+	@Override
+	public List<String> findByProduct(String productId, int limit) {
+		return newest(byProduct, productId, limit);
+	}
+
+	@Override
+	public List<String> findByDiscount(DiscountType type, int limit) {
+		return newest(byDiscount, type, limit);
+	}
+
+	public int size() {
+		return orders.size();
+	}
+
+	// 索引（PostingList と配列）の概算バイト数。マップのエントリ分は含まない
+	public long indexFootprintBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = 0;
+			for (var index : List.of(byRegion.values(), byProduct.values(), byDiscount.values())) {
+				for (PostingList p : index)
+					bytes += p.footprintBytes();
+			}
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private <K> List<String> newest(Map<K, PostingList> index, K key, int limit) {
+		if (limit <= 0)
+			throw new IllegalArgumentException("limit must be > 0");
+		int[] ordinals;
+		lock.readLock().lock();
+		try {
+			PostingList postings = index.get(key);
+			if (postings == null)
+				return List.of();
+			ordinals = postings.newest(limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<String> ids = new ArrayList<>(ordinals.length);
+		for (int ordinal : ordinals)
+			ids.add(ID_PREFIX + ordinal);
+		return ids;
+	}
+}
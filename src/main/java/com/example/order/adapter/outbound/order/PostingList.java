@@ -0,0 +1,41 @@
+package com.example.order.adapter.outbound.order;
+
+import java.util.Arrays;
+
+/**
+ * 1キーぶんの注文番号（昇順）。ボックス化しない int 配列に追記する。
+ * 同じ注文番号の連続追加は1件にまとめる（1注文に同じ商品が複数行あっても1件）。
+ * 同期は呼び出し側（InMemoryOrderStore のロック）で取る。
+ */
+final class PostingList {
+	private static final int OBJECT_OVERHEAD = 16; // ヘッダ＋フィールド（圧縮参照の 64bit JVM 想定）
+	private static final int ARRAY_OVERHEAD = 16;
+
+	private int[] ordinals = new int[2];
+	private int size;
+
+	void add(int ordinal) {
+		if (size > 0 && ordinals[size - 1] == ordinal)
+			return;
+		if (size == ordinals.length)
+			ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+		ordinals[size++] = ordinal;
+	}
+
+	int size() {
+		return size;
+	}
+
+	// 新しい順に最大 limit 件
+	int[] newest(int limit) {
+		int n = Math.min(limit, size);
+		int[] result = new int[n];
+		for (int i = 0; i < n; i++)
+			result[i] = ordinals[size - 1 - i];
+		return result;
+	}
+
+	long footprintBytes() {
+		return OBJECT_OVERHEAD + ARRAY_OVERHEAD + 4L * ordinals.length;
+	}
+}
@@ -0,0 +1,430 @@
+package com.example.order.adapter.wire;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * サービス間で OrderRequest / OrderResult / OrderPersistenceModel を運ぶバイナリ形式。
+ *
+ * フレーム：version(1) type(1) flags(1) [dictionary fingerprint(4)] bodyLength(4) body
+ * - 整数は LEB128 varint（符号付きは zigzag）
+ * - 金額は varint(ヘッダ) + unscaled。ヘッダ = 0:null / 1 + (zigzag(scale) << 1 | big)。
+ *   unscaled が long に収まれば zigzag varint、収まらなければ varint(長さ) + 2の補数バイト列
+ * - 文字列・リストは varint(長さ + 1) で 0 を null に使う
+ * - 商品IDは辞書指定時 varint(番号 + 1)、0 の後ろに文字列リテラル（辞書外）
+ * - DiscountType / RoundingMode は ordinal + 1（0 = null）。enum は末尾追加のみで互換を保つ（ADR-005）
+ *
+ * ByteBuffer の現在位置から直接読み書きし、中間バッファを作らない。
+ * 書き込み先が足りない場合は位置を戻して BufferOverflowException を投げる（呼び出し側で拡張して再試行）。
+ * 壊れた・切り詰められたメッセージは IllegalArgumentException。
+ */
+public final class OrderWireCodec {
+	public static final byte VERSION = 1;
+
+	static final byte TYPE_REQUEST = 1;
+	static final byte TYPE_RESULT = 2;
+	static final byte TYPE_PERSISTENCE = 3;
+	private static final byte FLAG_DICTIONARY = 1;
+
+	private static final RoundingMode[] MODES = RoundingMode.values();
+	private static final DiscountType[] TYPES = DiscountType.values();
+
+	private final ProductIdDictionary dictionary;
+
+	public OrderWireCodec() {
+		this(null);
+	}
+
+	public OrderWireCodec(ProductIdDictionary dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	public void encode(OrderRequest req, ByteBuffer out) {
+		int start = out.position();
+		try {
+			int body = beginFrame(out, TYPE_REQUEST);
+			putString(out, req.region());
+			putEnum(out, req.mode());
+			putCount(out, req.lines());
+			if (req.lines() != null) {
+				for (var line : req.lines()) {
+					putProductId(out, line.productId());
+					putSignedVarint(out, line.qty());
+				}
+			}
+			endFrame(out, body);
+		} catch (BufferOverflowException e) {
+			out.position(start);
+			throw e;
+		}
+	}
+
+	public OrderRequest decodeRequest(ByteBuffer in) {
+		int start = in.position();
+		try {
+			boolean dictionaryFrame = beginRead(in, TYPE_REQUEST);
+			int end = bodyEnd(in);
+			String region = getString(in);
+			int mode = getVarint(in);
+			RoundingMode roundingMode = (mode == 0) ? null : enumAt(MODES, mode - 1);
+			int count = getCount(in);
+			List<OrderRequest.Line> lines = null;
+			if (count >= 0) {
+				lines = new ArrayList<>(count);
+				for (int i = 0; i < count; i++)
+					lines.add(new OrderRequest.Line(getProductId(in, dictionaryFrame), getSignedInt(in)));
+			}
+			endRead(in, end);
+			return new OrderRequest(region, roundingMode, lines);
+		} catch (BufferUnderflowException e) {
+			in.position(start);
+			throw truncated();
+		}
+	}
+
+	public void encode(OrderResult result, ByteBuffer out) {
+		int start = out.position();
+		try {
+			int body = beginFrame(out, TYPE_RESULT);
+			putDecimal(out, result.totalNetBeforeDiscount());
+			putDecimal(out, result.totalDiscount());
+			putDecimal(out, result.totalNetAfterDiscount());
+			putDecimal(out, result.totalTax());
+			putDecimal(out, result.totalGross());
+			putLabels(out, result.appliedDiscounts());
+			endFrame(out, body);
+		} catch (BufferOverflowException e) {
+			out.position(start);
+			throw e;
+		}
+	}
+
+	public OrderResult decodeResult(ByteBuffer in) {
+		int start = in.position();
+		try {
+			beginRead(in, TYPE_RESULT);
+			int end = bodyEnd(in);
+			var result = new OrderResult(getDecimal(in), getDecimal(in), getDecimal(in), getDecimal(in),
+					getDecimal(in), getLabels(in));
+			endRead(in, end);
+			return result;
+		} catch (BufferUnderflowException e) {
+			in.position(start);
+			throw truncated();
+		}
+	}
+
+	public void encode(OrderPersistenceModel model, ByteBuffer out) {
+		int start = out.position();
+		try {
+			int body = beginFrame(out, TYPE_PERSISTENCE);
+			putString(out, model.region());
+			putCount(out, model.lines());
+			if (model.lines() != null) {
+				for (var line : model.lines()) {
+					putProductId(out, line.productId());
+					putSignedVarint(out, line.qty());
+					putDecimal(out, line.unitPrice());
+				}
+			}
+			putDecimal(out, model.netBefore());
+			putDecimal(out, model.totalDiscount());
+			putDecimal(out, model.netAfter());
+			putDecimal(out, model.totalTax());
+			putDecimal(out, model.gross());
+			putLabels(out, model.appliedDiscounts());
+			endFrame(out, body);
+		} catch (BufferOverflowException e) {
+			out.position(start);
+			throw e;
+		}
+	}
+
+	public OrderPersistenceModel decodePersistence(ByteBuffer in) {
+		int start = in.position();
+		try {
+			boolean dictionaryFrame = beginRead(in, TYPE_PERSISTENCE);
+			int end = bodyEnd(in);
+			String region = getString(in);
+			int count = getCount(in);
+			List<OrderLinePersistence> lines = null;
+			if (count >= 0) {
+				lines = new ArrayList<>(count);
+				for (int i = 0; i < count; i++)
+					lines.add(new OrderLinePersistence(getProductId(in, dictionaryFrame), getSignedInt(in), getDecimal(in)));
+			}
+			var model = new OrderPersistenceModel(region, lines, getDecimal(in), getDecimal(in), getDecimal(in),
+					getDecimal(in), getDecimal(in), getLabels(in));
+			endRead(in, end);
+			return model;
+		} catch (BufferUnderflowException e) {
+			in.position(start);
+			throw truncated();
+		}
+	}
+
+	// 先頭メッセージの種別（位置は動かさない）
+	public static byte peekType(ByteBuffer in) {
+		if (in.remaining() < 2)
+			throw truncated();
+		return in.get(in.position() + 1);
+	}
+
+	// --- フレーム ---
+
+	private int beginFrame(ByteBuffer out, byte type) {
+		out.put(VERSION).put(type).put(dictionary != null ? FLAG_DICTIONARY : 0);
+		if (dictionary != null)
+			out.putInt(dictionary.fingerprint());
+		int lengthAt = out.position();
+		out.putInt(0); // 本体長は書き終えてから埋める
+		return lengthAt;
+	}
+
+	private static void endFrame(ByteBuffer out, int lengthAt) {
+		out.putInt(lengthAt, out.position() - lengthAt - Integer.BYTES);
+	}
+
+	// フレームヘッダを読み、本体の商品IDが辞書エンコードかどうか（送信側の flags）を返す
+	private boolean beginRead(ByteBuffer in, byte type) {
+		byte version = in.get();
+		if (version != VERSION)
+			throw new IllegalArgumentException("unsupported wire version: " + version);
+		byte actual = in.get();
+		if (actual != type)
+			throw new IllegalArgumentException("unexpected message type: " + actual);
+		byte flags = in.get();
+		boolean dictionaryFrame = (flags & FLAG_DICTIONARY) != 0;
+		if (dictionaryFrame) {
+			int fingerprint = in.getInt();
+			if (dictionary == null || dictionary.fingerprint() != fingerprint)
+				throw new IllegalArgumentException("product id dictionary mismatch");
+		}
+		return dictionaryFrame;
+	}
+
+	private static int bodyEnd(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining())
+			throw truncated();
+		return in.position() + length;
+	}
+
+	private static void endRead(ByteBuffer in, int end) {
+		if (in.position() != end)
+			throw new IllegalArgumentException("corrupt message: body length mismatch");
+	}
+
+	// --- 値 ---
+
+	private void putProductId(ByteBuffer out, String id) {
+		if (dictionary != null) {
+			int i = (id == null) ? -1 : dictionary.indexOf(id);
+			if (i >= 0) {
+				putVarint(out, i + 1);
+				return;
+			}
+			putVarint(out, 0);
+		}
+		putString(out, id);
+	}
+
+	// 辞書の有無は受信側ではなくフレームの flags に従う（辞書ありの受信側でも辞書なしフレームは文字列で読む）
+	private String getProductId(ByteBuffer in, boolean dictionaryFrame) {
+		if (dictionaryFrame) {
+			int i = getVarint(in);
+			if (i > 0)
+				return dictionary.idAt(i - 1);
+		}
+		return getString(in);
+	}
+
+	static void putDecimal(ByteBuffer out, BigDecimal d) {
+		if (d == null) {
+			putVarint(out, 0);
+			return;
+		}
+		BigInteger unscaled = d.unscaledValue();
+		boolean big = unscaled.bitLength() > 63;
+		putVarint(out, 1 + ((zigzag(d.scale()) << 1) | (big ? 1 : 0)));
+		if (big) {
+			byte[] bytes = unscaled.toByteArray();
+			putVarint(out, bytes.length);
+			out.put(bytes);
+		} else {
+			putSignedVarint(out, unscaled.longValue());
+		}
+	}
+
+	static BigDecimal getDecimal(ByteBuffer in) {
+		long header = getVarlong(in);
+		if (header == 0)
+			return null;
+		header--;
+		int scale = toInt(unzigzag(header >>> 1));
+		if ((header & 1) == 0)
+			return BigDecimal.valueOf(getSignedVarint(in), scale);
+		int length = getVarint(in);
+		if (length <= 0 || length > in.remaining())
+			throw truncated();
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new BigDecimal(new BigInteger(bytes), scale);
+	}
+
+	static void putString(ByteBuffer out, String s) {
+		if (s == null) {
+			putVarint(out, 0);
+			return;
+		}
+		if (isAscii(s)) {
+			putVarint(out, s.length() + 1);
+			for (int i = 0; i < s.length(); i++)
+				out.put((byte) s.charAt(i));
+		} else {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			putVarint(out, bytes.length + 1);
+			out.put(bytes);
+		}
+	}
+
+	static String getString(ByteBuffer in) {
+		int length = getVarint(in) - 1;
+		if (length < 0)
+			return null;
+		if (length > in.remaining())
+			throw truncated();
+		String s;
+		if (in.hasArray()) {
+			s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+			in.position(in.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			in.get(bytes);
+			s = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return s;
+	}
+
+	private static void putLabels(ByteBuffer out, List<DiscountType> labels) {
+		putCount(out, labels);
+		if (labels != null) {
+			for (var label : labels)
+				putEnum(out, label);
+		}
+	}
+
+	private static List<DiscountType> getLabels(ByteBuffer in) {
+		int count = getCount(in);
+		if (count < 0)
+			return null;
+		List<DiscountType> labels = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int ordinal = getVarint(in);
+			labels.add(ordinal == 0 ? null : enumAt(TYPES, ordinal - 1));
+		}
+		return labels;
+	}
+
+	private static void putEnum(ByteBuffer out, Enum<?> e) {
+		putVarint(out, e == null ? 0 : e.ordinal() + 1);
+	}
+
+	private static <E> E enumAt(E[] values, int ordinal) {
+		if (ordinal >= values.length)
+			throw new IllegalArgumentException("unknown enum ordinal: " + ordinal);
+		return values[ordinal];
+	}
+
+	private static void putCount(ByteBuffer out, List<?> list) {
+		putVarint(out, list == null ? 0 : list.size() + 1);
+	}
+
+	// null は -1
+	private static int getCount(ByteBuffer in) {
+		int count = getVarint(in) - 1;
+		if (count > in.remaining())
+			throw truncated(); // 1要素は最低1バイト
+		return count;
+	}
+
+	// --- varint ---
+
+	static void putVarint(ByteBuffer out, long v) {
+		while ((v & ~0x7FL) != 0) {
+			out.put((byte) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		out.put((byte) v);
+	}
+
+	static void putSignedVarint(ByteBuffer out, long v) {
+		putVarint(out, zigzag(v));
+	}
+
+	static long getVarlong(ByteBuffer in) {
+		long v = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.get();
+			v |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return v;
+		}
+		throw new IllegalArgumentException("corrupt message: varint too long");
+	}
+
+	static int getVarint(ByteBuffer in) {
+		long v = getVarlong(in);
+		if (v < 0 || v > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("corrupt message: varint out of range");
+		return (int) v;
+	}
+
+	static long getSignedVarint(ByteBuffer in) {
+		return unzigzag(getVarlong(in));
+	}
+
+	// 数量・scale など int の値。範囲外は切り詰めずに壊れたメッセージとして拒否する
+	static int getSignedInt(ByteBuffer in) {
+		return toInt(getSignedVarint(in));
+	}
+
+	private static int toInt(long v) {
+		if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("corrupt message: varint out of range");
+		return (int) v;
+	}
+
+	private static long zigzag(long v) {
+		return (v << 1) ^ (v >> 63);
+	}
+
+	private static long unzigzag(long v) {
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	private static boolean isAscii(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= 0x80)
+				return false;
+		}
+		return true;
+	}
+
+	private static IllegalArgumentException truncated() {
+		return new IllegalArgumentException("truncated message");
+	}
+}
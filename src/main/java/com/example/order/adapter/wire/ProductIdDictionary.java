@@ -0,0 +1,49 @@
+package com.example.order.adapter.wire;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 送受信側で共有する商品IDの辞書。辞書にある ID は番号（varint）だけで送る。
+ * 内容から計算した fingerprint をメッセージに載せ、辞書の食い違いは復号時に検出する。
+ */
+public final class ProductIdDictionary {
+	private final String[] ids;
+	private final Map<String, Integer> index;
+	private final int fingerprint;
+
+	private ProductIdDictionary(String[] ids) {
+		this.ids = ids;
+		this.index = new HashMap<>(ids.length * 2);
+		for (int i = 0; i < ids.length; i++) {
+			if (index.put(ids[i], i) != null)
+				throw new IllegalArgumentException("duplicate product id in dictionary: " + ids[i]);
+		}
+		this.fingerprint = List.of(ids).hashCode();
+	}
+
+	public static ProductIdDictionary of(List<String> ids) {
+		return new ProductIdDictionary(ids.toArray(new String[0]));
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	public int fingerprint() {
+		return fingerprint;
+	}
+
+	// 未登録なら -1
+	int indexOf(String id) {
+		Integer i = index.get(id);
+		return i == null ? -1 : i;
+	}
+
+	String idAt(int i) {
+		if (i < 0 || i >= ids.length)
+			throw new IllegalArgumentException("product id index out of dictionary: " + i);
+		return ids[i];
+	}
+}
@@ -3,37 +3,93 @@ package com.example.order.app;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import com.example.order.app.checker.InventoryChecker;
 import com.example.order.app.dto.DiscountResult;
 import com.example.order.app.dto.OrderRequest;
 import com.example.order.app.dto.OrderResult;
+import com.example.order.app.jfr.DiscountEvaluationEvent;
+import com.example.order.app.jfr.OrderPlacementEvent;
+import com.example.order.app.jfr.PortCallEvent;
+import com.example.order.app.jfr.TaxCalculationEvent;
+import com.example.order.app.tracing.Span;
+import com.example.order.app.tracing.Tracer;
 import com.example.order.domain.model.Product;
 import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 import com.example.order.domain.policy.discount.CapPolicy;
 import com.example.order.domain.policy.discount.HighAmountDiscount;
 import com.example.order.domain.policy.discount.MultiItemDiscount;
 import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.domain.policy.rule.DiscountRuleBook;
 import com.example.order.domain.service.DiscountEngine;
+import com.example.order.domain.service.PolicyIndex;
 import com.example.order.domain.validation.RequestValidator;
 import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductIdFilter;
 import com.example.order.port.outbound.ProductRepository;
 import com.example.order.port.outbound.TaxCalculator;
 
 public class OrderService {
+	static {
+		// ポリシー評価の JFR イベント（ドメインは計測を知らないのでここで差し込む）
+		DiscountEngine.installHook(DiscountEvaluationEvent::start);
+	}
 
 	private final ProductRepository products;
+	// 商品解決の Port 呼び出しを JFR に記録する版（コンテキスト作成に渡す）
+	private final ProductRepository recordedProducts = this::findById;
 	private final InventoryService inventory;
 	private final TaxCalculator tax;
 
-	// 追加：割引ポリシー群（今は Volume のみ）
-	private final List<DiscountPolicy> discountPolicies;
+	// 追加：割引ポリシー群の索引（固定リスト or ルールブックの現行世代）
+	private final Supplier<PolicyIndex> discountPolicies;
+	// 基準額に依存しないポリシーの並行計算用（null なら逐次）
+	private final ForkJoinPool discountPool;
+	// 既知商品IDの事前判定（ALL なら判定しない）
+	private final ProductIdFilter knownProducts;
 
 	public OrderService(ProductRepository products, InventoryService inventory, TaxCalculator tax) {
-		this.products = products;
-		this.inventory = inventory;
-		this.tax = tax;
-		this.discountPolicies = List.of(
+		this(builder(products, inventory, tax));
+	}
+
+	// capポリシー注入用
+	public OrderService(ProductRepository products,
+			InventoryService inventory,
+			TaxCalculator tax,
+			List<? extends DiscountPolicy> policies) {
+		this(builder(products, inventory, tax).policies(policies));
+	}
+
+	private OrderService(Builder b) {
+		this.products = b.products;
+		this.inventory = b.inventory;
+		this.tax = b.tax;
+		if (b.rules != null) {
+			DiscountRuleBook rules = b.rules;
+			this.discountPolicies = rules::index;
+		} else {
+			PolicyIndex index = PolicyIndex.of(b.policies != null ? b.policies : defaultPolicies()); // 防御コピーは索引側で取る（ADR-009）
+			this.discountPolicies = () -> index;
+		}
+		this.discountPool = b.discountPool;
+		this.knownProducts = b.knownProducts;
+	}
+
+	/*
+	 * 任意の構成（ポリシー / ルールブック、並行計算 pool、既知商品フィルタ）を組み合わせて作る
+	 * 例：OrderService.builder(products, inventory, tax).rules(book).knownProducts(filter).build()
+	 */
+	public static Builder builder(ProductRepository products, InventoryService inventory, TaxCalculator tax) {
+		return new Builder(products, inventory, tax);
+	}
+
+	private static List<DiscountPolicy> defaultPolicies() {
+		return List.of(
 				new VolumeDiscount(), // 1. VOLUME
 				new MultiItemDiscount(), // 2. MULTI_ITEM
 				new HighAmountDiscount(), // 3. HIGH_AMOUNT
@@ -41,37 +97,117 @@ public class OrderService {
 		);
 	}
 
-	// capポリシー注入用
-	public OrderService(ProductRepository products,
-			InventoryService inventory,
-			TaxCalculator tax,
-			List<DiscountPolicy> policies) {
-		this.products = products;
-		this.inventory = inventory;
-		this.tax = tax;
-		this.discountPolicies = List.copyOf(policies);
+	public static final class Builder {
+		private final ProductRepository products;
+		private final InventoryService inventory;
+		private final TaxCalculator tax;
+		private List<? extends DiscountPolicy> policies;
+		private DiscountRuleBook rules;
+		private ForkJoinPool discountPool;
+		private ProductIdFilter knownProducts = ProductIdFilter.ALL;
+
+		private Builder(ProductRepository products, InventoryService inventory, TaxCalculator tax) {
+			this.products = products;
+			this.inventory = inventory;
+			this.tax = tax;
+		}
+
+		// 固定のポリシー列（未指定なら既定の4ポリシー）。rules とは併用できない
+		public Builder policies(List<? extends DiscountPolicy> policies) {
+			if (rules != null)
+				throw new IllegalStateException("policies and rules are mutually exclusive");
+			this.policies = Objects.requireNonNull(policies, "policies");
+			return this;
+		}
+
+		// ルール定義ファイル由来のポリシー（差し替えは注文単位で反映）。policies とは併用できない
+		public Builder rules(DiscountRuleBook rules) {
+			if (policies != null)
+				throw new IllegalStateException("policies and rules are mutually exclusive");
+			this.rules = Objects.requireNonNull(rules, "rules");
+			return this;
+		}
+
+		// 独立ポリシー（dependsOnBase()=false）を pool で並行計算する（null なら逐次）
+		public Builder discountPool(ForkJoinPool discountPool) {
+			this.discountPool = discountPool;
+			return this;
+		}
+
+		// 既知商品フィルタ：カタログに無いIDは在庫確認より前に弾く
+		public Builder knownProducts(ProductIdFilter knownProducts) {
+			this.knownProducts = knownProducts;
+			return this;
+		}
+
+		public OrderService build() {
+			return new OrderService(this);
+		}
 	}
 
 	public OrderResult placeOrder(OrderRequest req) {
 
-		RequestValidator.validate(req);
-		InventoryChecker.ensureAvailable(inventory, req); // ← 追加（ここで早期return）（ADR-007）
+		RequestValidator.validate(req, knownProducts);
+		// JFR イベント（記録で無効なら割り当てなし、閾値未満なら属性を埋めない）
+		var event = OrderPlacementEvent.start();
+		OrderResult result = null;
+		boolean placed = false;
+		// 各段階をスパンで囲む（トレース外・非サンプリング時は NOOP で割り当てなし）
+		// 失敗した段階のスパンに例外を記録する（どの段階で落ちたかをトレースで追えるように）
+		try (Span span = Tracer.span("order.placeOrder")) {
+			span.attr("region", req.region()).attr("lineCount", req.lines().size());
+			try {
+				Tracer.inSpan("inventory.checkAvailable",
+						() -> InventoryChecker.ensureAvailable(inventory, req)); // ← 追加（ここで早期return）（ADR-007）
+
+				result = price(req);
+
+				// 在庫在庫確保は最後(ADR-006)
+				Tracer.inSpan("inventory.reserve", () -> InventoryChecker.reserveAll(inventory, req));
+			} catch (RuntimeException e) {
+				span.error(e);
+				throw e;
+			}
+			placed = true;
+			return result;
+		} finally {
+			event.finish(req, result, placed);
+		}
+	}
+
+	/*
+	 * 見積り：在庫確認・在庫確保をせずに価格だけ計算する（在庫 Port を呼ばない）
+	 * 金額は同じ入力の placeOrder と一致する
+	 */
+	public OrderResult quote(OrderRequest req) {
+		RequestValidator.validate(req, knownProducts);
+		return price(req);
+	}
 
-		// --- 計算ステップ ---
-		BigDecimal totalNetBeforeDiscount = computeSubtotal(req);
-		final DiscountResult discountResult = DiscountEngine.applyInOrder(discountPolicies, req, products,
-				totalNetBeforeDiscount);
+	// 商品解決 → 割引 → 税 → スケール正規化（副作用なし）
+	private OrderResult price(OrderRequest req) {
+		// 商品解決はここで1回だけ（各ポリシーは前計算済みコンテキストを参照する）
+		OrderContext ctx = Tracer.inSpan("product.findById", () -> OrderContext.resolve(req, recordedProducts));
+		BigDecimal totalNetBeforeDiscount = ctx.subtotal();
+		DiscountResult discountResult = Tracer.inSpan("discount", s -> {
+			DiscountResult r = (discountPool == null)
+					? DiscountEngine.applyInOrder(discountPolicies.get(), ctx, req, products)
+					: DiscountEngine.applyInOrder(discountPolicies.get(), ctx, req, products, discountPool);
+			s.attr("applied", r.applied());
+			return r;
+		});
 		BigDecimal totalDiscount = discountResult.total();
 		BigDecimal totalNetAfterDiscount = totalNetBeforeDiscount.subtract(totalDiscount);
 
 		// 丸め既定：null なら HALF_UP
 		RoundingMode mode = (req.mode() != null) ? req.mode() : RoundingMode.HALF_UP;
-		BigDecimal totalTax = tax.calcTaxAmount(totalNetAfterDiscount, req.region(), mode); // 丸めモード使用
-
-		BigDecimal totalGross = tax.addTax(totalNetAfterDiscount, req.region(), mode);
-
-		// 在庫在庫確保は最後(ADR-006)
-		InventoryChecker.reserveAll(inventory, req);
+		var taxEvent = TaxCalculationEvent.start();
+		Taxed taxed = Tracer.inSpan("tax", () -> new Taxed(
+				calcTaxAmount(totalNetAfterDiscount, req.region(), mode), // 丸めモード使用
+				addTax(totalNetAfterDiscount, req.region(), mode)));
+		BigDecimal totalTax = taxed.tax();
+		BigDecimal totalGross = taxed.gross();
+		taxEvent.finish(req.region(), mode, totalNetAfterDiscount, totalTax);
 
 		// スケールの正規化
 		return new OrderResult(
@@ -83,18 +219,34 @@ public class OrderService {
 				discountResult.applied());
 	}
 
-	// 小計計算
-	private BigDecimal computeSubtotal(OrderRequest req) {
-		return req.lines().stream()
-				.map(this::lineToAmount)
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	private Optional<Product> findById(String productId) {
+		var call = PortCallEvent.start();
+		try {
+			return products.findById(productId);
+		} finally {
+			call.finish("ProductRepository", "findById", productId);
+		}
+	}
+
+	private BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+		var call = PortCallEvent.start();
+		try {
+			return tax.calcTaxAmount(net, region, mode);
+		} finally {
+			call.finish("TaxCalculator", "calcTaxAmount", null);
+		}
+	}
+
+	private BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+		var call = PortCallEvent.start();
+		try {
+			return tax.addTax(net, region, mode);
+		} finally {
+			call.finish("TaxCalculator", "addTax", null);
+		}
 	}
 
-	// Optional<Product>の中身が空の場合IAEをThrow、行計算自体を行わない(ADR-003)
-	private BigDecimal lineToAmount(OrderRequest.Line line) {
-		Product p = products.findById(line.productId())
-				.orElseThrow(() -> new IllegalArgumentException(
-						"product not found: " + line.productId()));
-		return p.price().multiply(BigDecimal.valueOf(line.qty()));
+	// 税スパン内で求める税額と税込額
+	private record Taxed(BigDecimal tax, BigDecimal gross) {
 	}
 }
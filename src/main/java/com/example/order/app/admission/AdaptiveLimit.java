@@ -0,0 +1,60 @@
+package com.example.order.app.admission;
+
+/**
+ * 観測レイテンシから同時処理上限を調整する（勾配方式）。
+ *
+ * 上限 × (最小 RTT × tolerance / 直近 RTT) + √上限 を目標にし、平滑化して追従する。
+ * レイテンシが最小 RTT 付近なら上限は √上限 ずつ伸び、待ち行列ができてレイテンシが伸びると縮む。
+ * 下流の失敗（業務エラー以外の例外）は乗法的に減らす（AIMD の MD）。
+ * 最小 RTT は probeInterval サンプルごとに直近値で取り直し、下流の性能変化に追従する。
+ */
+public final class AdaptiveLimit {
+	private static final double TOLERANCE = 1.5;
+	private static final double SMOOTHING = 0.2;
+	private static final double BACKOFF = 0.9;
+
+	private final int min;
+	private final int max;
+	private final int probeInterval;
+	private double limit;
+	private long minRtt = Long.MAX_VALUE;
+	private int samples;
+
+	public AdaptiveLimit(int initial, int min, int max, int probeInterval) {
+		if (min <= 0 || min > initial || initial > max)
+			throw new IllegalArgumentException("require 0 < min <= initial <= max");
+		if (probeInterval <= 0)
+			throw new IllegalArgumentException("probeInterval must be > 0");
+		this.min = min;
+		this.max = max;
+		this.probeInterval = probeInterval;
+		this.limit = initial;
+	}
+
+	public synchronized int limit() {
+		return (int) limit;
+	}
+
+	synchronized void onSample(long rttNanos, int inFlight) {
+		if (++samples >= probeInterval) {
+			samples = 0;
+			minRtt = rttNanos;
+		} else if (rttNanos < minRtt) {
+			minRtt = rttNanos;
+		}
+		// 上限まで使っていないときはレイテンシが良くても伸ばさない
+		if (inFlight < limit / 2 && rttNanos <= minRtt * TOLERANCE)
+			return;
+		double gradient = Math.max(0.5, Math.min(1.0, minRtt * TOLERANCE / Math.max(1, rttNanos)));
+		double target = limit * gradient + Math.sqrt(limit);
+		limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+	}
+
+	synchronized void onDropped() {
+		limit = clamp(limit * BACKOFF);
+	}
+
+	private double clamp(double v) {
+		return Math.max(min, Math.min(max, v));
+	}
+}
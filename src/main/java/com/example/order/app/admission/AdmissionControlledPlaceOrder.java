@@ -0,0 +1,29 @@
+package com.example.order.app.admission;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.PlacedOrder;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+
+/**
+ * PlaceOrderUseCase の前段に受付制御を置く。
+ * execute 全体（placeOrder + save）の所要時間で同時処理上限を調整する。
+ */
+public class AdmissionControlledPlaceOrder {
+	private final PlaceOrderUseCase useCase;
+	private final AdmissionController admission;
+
+	public AdmissionControlledPlaceOrder(PlaceOrderUseCase useCase, AdmissionController admission) {
+		this.useCase = useCase;
+		this.admission = admission;
+	}
+
+	// 混雑時は AdmissionRejectedException（業務エラーとは別に扱う）
+	public String execute(OrderRequest req, Priority priority) {
+		return admission.execute(priority, () -> useCase.execute(req));
+	}
+
+	// 価格計算結果も返す版（HTTP フロントエンド向け）
+	public PlacedOrder placeOrder(OrderRequest req, Priority priority) {
+		return admission.execute(priority, () -> useCase.placeOrder(req));
+	}
+}
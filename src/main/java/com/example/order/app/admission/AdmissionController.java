@@ -0,0 +1,148 @@
+package com.example.order.app.admission;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 同時処理数を AdaptiveLimit で絞る受付制御。
+ *
+ * - 優先度ごとに上限の share まで同時処理できる（CHECKOUT は上限いっぱい、BATCH は半分まで）
+ * - 空きが無ければ優先度ごとの待ち行列で maxWait まで待つ。空きが出たら優先度の高い待ちから入れる
+ * - 待ち行列が満杯、または maxWait を過ぎたら AdmissionRejectedException で即座に断る
+ * - 処理時間を上限の調整に使う。IllegalArgumentException / IllegalStateException は業務エラーとして通常のサンプル扱い、
+ *   それ以外の例外は下流の失敗として上限を縮める
+ */
+public class AdmissionController {
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	private final AdaptiveLimit limit;
+	private final int maxQueue;
+	private final long maxWaitNanos;
+	private final LongSupplier nanoTime;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition[] turn = new Condition[PRIORITIES.length];
+	private final int[] waiting = new int[PRIORITIES.length];
+	private int inFlight;
+
+	public AdmissionController(AdaptiveLimit limit, int maxQueuePerPriority, Duration maxWait) {
+		this(limit, maxQueuePerPriority, maxWait, System::nanoTime);
+	}
+
+	AdmissionController(AdaptiveLimit limit, int maxQueuePerPriority, Duration maxWait, LongSupplier nanoTime) {
+		this.limit = limit;
+		this.maxQueue = maxQueuePerPriority;
+		this.maxWaitNanos = maxWait.toNanos();
+		this.nanoTime = nanoTime;
+		for (int i = 0; i < turn.length; i++)
+			turn[i] = lock.newCondition();
+	}
+
+	public <T> T execute(Priority priority, Supplier<T> task) {
+		acquire(priority);
+		long start = nanoTime.getAsLong();
+		boolean dropped = false;
+		try {
+			return task.get();
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			throw e;
+		} catch (RuntimeException | Error e) {
+			dropped = true;
+			throw e;
+		} finally {
+			release(nanoTime.getAsLong() - start, dropped);
+		}
+	}
+
+	public int limit() {
+		return limit.limit();
+	}
+
+	public int inFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 優先度ごとの待ち数（テストで待ち行列に入ったことを確かめる用）
+	int waiting(Priority priority) {
+		lock.lock();
+		try {
+			return waiting[priority.ordinal()];
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void acquire(Priority priority) {
+		int p = priority.ordinal();
+		lock.lock();
+		try {
+			if (waiting[p] == 0 && admissible(p)) { // 同じ優先度の待ちは追い越さない
+				inFlight++;
+				return;
+			}
+			if (waiting[p] >= maxQueue)
+				throw new AdmissionRejectedException(priority, "queue full");
+			waiting[p]++;
+			try {
+				long remaining = maxWaitNanos;
+				while (!admissible(p)) {
+					if (remaining <= 0)
+						throw new AdmissionRejectedException(priority, "wait timeout");
+					remaining = turn[p].awaitNanos(remaining);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AdmissionRejectedException(priority, "interrupted");
+			} finally {
+				waiting[p]--;
+			}
+			inFlight++;
+			signalNext(); // 上限が伸びていれば次の待ちも入れる
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void release(long rttNanos, boolean dropped) {
+		lock.lock();
+		try {
+			if (dropped)
+				limit.onDropped();
+			else
+				limit.onSample(rttNanos, inFlight);
+			inFlight--;
+			signalNext();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 自分より優先度の高い待ちがいる間は入らない
+	private boolean admissible(int p) {
+		if (inFlight >= PRIORITIES[p].permits(limit.limit()))
+			return false;
+		for (int q = 0; q < p; q++) {
+			if (waiting[q] > 0)
+				return false;
+		}
+		return true;
+	}
+
+	private void signalNext() {
+		for (int p = 0; p < PRIORITIES.length; p++) {
+			if (waiting[p] > 0) {
+				if (inFlight < PRIORITIES[p].permits(limit.limit()))
+					turn[p].signal();
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.order.app.admission;
+
+/**
+ * 混雑により受け付けなかったことを示す（業務エラーの IllegalArgument/IllegalState と区別する）。
+ * 呼び出し側は時間をおいて再試行してよい。
+ */
+public class AdmissionRejectedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final Priority priority;
+
+	public AdmissionRejectedException(Priority priority, String reason) {
+		super("admission rejected (" + priority + "): " + reason, null, false, false);
+		this.priority = priority;
+	}
+
+	public Priority priority() {
+		return priority;
+	}
+}
@@ -0,0 +1,19 @@
+package com.example.order.app.admission;
+
+/**
+ * 受付の優先度クラス。上から順に優先し、同時処理上限のうち使える割合（share）を持つ。
+ * 混雑時は share の小さいクラスから締め出される。
+ */
+public enum Priority {
+	CHECKOUT(1.0), QUOTE(0.8), BATCH(0.5);
+
+	private final double share;
+
+	Priority(double share) {
+		this.share = share;
+	}
+
+	int permits(int limit) {
+		return Math.max(1, (int) (limit * share));
+	}
+}
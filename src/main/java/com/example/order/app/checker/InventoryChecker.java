@@ -1,6 +1,8 @@
 package com.example.order.app.checker;
 
 import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.jfr.PortCallEvent;
+import com.example.order.port.outbound.AtomicInventoryService;
 import com.example.order.port.outbound.InventoryService;
 
 public class InventoryChecker {
@@ -9,16 +11,40 @@ public class InventoryChecker {
 
 	// 在庫可用性チェック(ADR-007)
 	public static void ensureAvailable(InventoryService inventory, OrderRequest req) {
-		for (var line : req.lines()) {
-			boolean ok = inventory.checkAvailable(line.productId(), line.qty());
+		var lines = req.lines();
+		for (int i = 0; i < lines.size(); i++) {
+			var line = lines.get(i);
+			boolean ok;
+			var call = PortCallEvent.start();
+			try {
+				ok = inventory.checkAvailable(line.productId(), line.qty());
+			} finally {
+				call.finish("InventoryService", "checkAvailable", line.productId());
+			}
 			if (!ok)
 				throw new IllegalStateException("no stock for product " + line.productId());
 		}
 	}
 
 	public static void reserveAll(InventoryService inventory, OrderRequest req) {
-		for (var line : req.lines()) {
-			inventory.reserve(line.productId(), line.qty());
+		if (inventory instanceof AtomicInventoryService atomic) {
+			var call = PortCallEvent.start();
+			try {
+				atomic.reserveAll(req.lines()); // 全行一括（途中失敗で確保が残らない）（ADR-012）
+			} finally {
+				call.finish("AtomicInventoryService", "reserveAll", null);
+			}
+			return;
+		}
+		var lines = req.lines();
+		for (int i = 0; i < lines.size(); i++) {
+			var line = lines.get(i);
+			var call = PortCallEvent.start();
+			try {
+				inventory.reserve(line.productId(), line.qty());
+			} finally {
+				call.finish("InventoryService", "reserve", line.productId());
+			}
 		}
 	}
 }
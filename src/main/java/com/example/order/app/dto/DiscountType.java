@@ -1,5 +1,6 @@
 package com.example.order.app.dto;
 
 public enum DiscountType {
-  VOLUME, MULTI_ITEM, HIGH_AMOUNT, CAP// ADR-010
+  VOLUME, MULTI_ITEM, HIGH_AMOUNT, CAP, // ADR-010
+  BUNDLE
 }
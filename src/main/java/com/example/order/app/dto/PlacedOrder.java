@@ -0,0 +1,4 @@
+package com.example.order.app.dto;
+
+/** 確定・保存まで終えた注文：保存先の注文IDと価格計算結果 */
+public record PlacedOrder(String orderId, OrderResult result) {}
@@ -0,0 +1,66 @@
+package com.example.order.app.jfr;
+
+import java.math.BigDecimal;
+
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.service.DiscountEvaluationHook;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * DiscountPolicy 1件の評価ぶんの JFR イベント。
+ * 注文あたりポリシー数だけ出るので既定は無効。調査時に JFR 設定で有効化する。
+ * DiscountEngine へは OrderService が DiscountEvaluationHook（DiscountEvaluationEvent::start）として差し込む。
+ */
+@Name("com.example.order.DiscountEvaluation")
+@Label("Discount Evaluation")
+@Category({ "Order Service", "Discount" })
+@Description("Evaluation of one DiscountPolicy")
+@StackTrace(false)
+@Enabled(false)
+@Threshold("0 ms")
+public final class DiscountEvaluationEvent extends Event implements DiscountEvaluationHook.Evaluation {
+	private static final DiscountEvaluationEvent OFF = new DiscountEvaluationEvent();
+
+	@Label("Policy")
+	String policy;
+
+	@Label("Discount Type")
+	String type;
+
+	@Label("Base")
+	@Description("Amount after the preceding discounts")
+	double base;
+
+	@Label("Discount")
+	double discount;
+
+	public static DiscountEvaluationEvent start() {
+		if (!RecordingWatcher.discount)
+			return OFF;
+		var event = new DiscountEvaluationEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void finish(DiscountPolicy p, BigDecimal base, BigDecimal discount) {
+		if (this == OFF)
+			return;
+		end();
+		if (!shouldCommit())
+			return;
+		policy = p.getClass().getName();
+		type = String.valueOf(p.type());
+		this.base = base.doubleValue();
+		this.discount = discount == null ? 0 : discount.doubleValue();
+		commit();
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.order.app.jfr;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * OrderService.placeOrder 1回ぶん（在庫確認〜在庫確保）の JFR イベント。
+ * 既定は閾値 20 ms（遅い注文だけ残す）。閾値・有効化は JFR 設定で変える。
+ */
+@Name("com.example.order.OrderPlacement")
+@Label("Order Placement")
+@Category({ "Order Service" })
+@Description("Pricing and reservation of one order")
+@StackTrace(false)
+@Threshold("20 ms")
+public final class OrderPlacementEvent extends Event {
+	private static final OrderPlacementEvent OFF = new OrderPlacementEvent();
+
+	@Label("Region")
+	String region;
+
+	@Label("Product Count")
+	@Description("Number of order lines")
+	int productCount;
+
+	@Label("Discount Total")
+	double discountTotal;
+
+	@Label("Applied Discounts")
+	String appliedDiscounts;
+
+	@Label("Cap Engaged")
+	@Description("CapPolicy clawed back part of the discount")
+	boolean capEngaged;
+
+	@Label("Succeeded")
+	boolean succeeded;
+
+	public static OrderPlacementEvent start() {
+		if (!RecordingWatcher.placement)
+			return OFF;
+		var event = new OrderPlacementEvent();
+		event.begin();
+		return event;
+	}
+
+	// 記録しないとき（無効・閾値未満）は属性を組み立てない
+	public void finish(OrderRequest req, OrderResult priced, boolean succeeded) {
+		if (this == OFF)
+			return;
+		end();
+		if (!shouldCommit())
+			return;
+		region = req.region();
+		productCount = req.lines().size();
+		if (priced != null) { // 価格計算まで進んでいれば在庫確保の失敗でも割引を残す
+			discountTotal = priced.totalDiscount().doubleValue();
+			appliedDiscounts = priced.appliedDiscounts().toString();
+			capEngaged = priced.appliedDiscounts().contains(DiscountType.CAP);
+		}
+		this.succeeded = succeeded;
+		commit();
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.order.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Outbound Port 呼び出し1回ぶんの JFR イベント。
+ * 呼び出し回数が多いので既定は無効。有効化する場合も閾値で遅い呼び出しだけに絞れる。
+ */
+@Name("com.example.order.PortCall")
+@Label("Outbound Port Call")
+@Category({ "Order Service", "Port" })
+@Description("One call to an outbound port")
+@StackTrace(false)
+@Enabled(false)
+@Threshold("0 ms")
+public final class PortCallEvent extends Event {
+	private static final PortCallEvent OFF = new PortCallEvent();
+
+	@Label("Port")
+	String port;
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Product ID")
+	String productId;
+
+	// 実行中の記録で無効なら共有の OFF を返す（割り当てなし・finish も何もしない）
+	public static PortCallEvent start() {
+		if (!RecordingWatcher.portCall)
+			return OFF;
+		var event = new PortCallEvent();
+		event.begin();
+		return event;
+	}
+
+	// 引数は定数と既存の参照だけ渡す（無効時に文字列を組み立てない）
+	public void finish(String port, String operation, String productId) {
+		if (this == OFF)
+			return;
+		end();
+		if (!shouldCommit())
+			return;
+		this.port = port;
+		this.operation = operation;
+		this.productId = productId;
+		commit();
+	}
+}
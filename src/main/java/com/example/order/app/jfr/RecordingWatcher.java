@@ -0,0 +1,69 @@
+package com.example.order.app.jfr;
+
+import java.util.Map;
+
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * 実行中の JFR 記録の設定から、各イベントを作るかどうかの判定値を持つ。
+ *
+ * 無効時は呼び出し側が共有の OFF インスタンスを使い、イベントを割り当てない（JIT の除去に頼らない）。
+ * 判定は記録の開始・停止時に作り直す。実行中の記録の設定を変えた場合は、次にいずれかの記録が開始・停止したときに反映される。
+ * 閾値は従来どおり JFR 側（shouldCommit）で判定する。
+ */
+final class RecordingWatcher {
+	static volatile boolean placement;
+	static volatile boolean discount;
+	static volatile boolean tax;
+	static volatile boolean portCall;
+
+	static {
+		FlightRecorder.addListener(new FlightRecorderListener() {
+			@Override
+			public void recorderInitialized(FlightRecorder recorder) {
+				refresh();
+			}
+
+			@Override
+			public void recordingStateChanged(Recording recording) {
+				refresh();
+			}
+		});
+	}
+
+	private RecordingWatcher() {
+	}
+
+	static synchronized void refresh() {
+		if (!FlightRecorder.isInitialized()) {
+			return;
+		}
+		var running = FlightRecorder.getFlightRecorder().getRecordings().stream()
+				.filter(r -> r.getState() == RecordingState.RUNNING)
+				.map(Recording::getSettings)
+				.toList();
+		placement = enabled(running, OrderPlacementEvent.class);
+		discount = enabled(running, DiscountEvaluationEvent.class);
+		tax = enabled(running, TaxCalculationEvent.class);
+		portCall = enabled(running, PortCallEvent.class);
+	}
+
+	// 記録の設定に無ければ @Enabled の既定値（注釈なしは有効）に従う
+	private static boolean enabled(Iterable<Map<String, String>> running, Class<? extends Event> type) {
+		String key = type.getAnnotation(Name.class).value() + "#enabled";
+		Enabled annotation = type.getAnnotation(Enabled.class);
+		boolean byDefault = annotation == null || annotation.value();
+		for (Map<String, String> settings : running) {
+			String value = settings.get(key);
+			if (value == null ? byDefault : Boolean.parseBoolean(value))
+				return true;
+		}
+		return false;
+	}
+}
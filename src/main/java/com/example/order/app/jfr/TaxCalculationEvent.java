@@ -0,0 +1,58 @@
+package com.example.order.app.jfr;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 税額・税込額の計算（TaxCalculator 2回ぶん）の JFR イベント。既定は閾値 10 ms。
+ */
+@Name("com.example.order.TaxCalculation")
+@Label("Tax Calculation")
+@Category({ "Order Service" })
+@Description("Tax amount and gross calculation for one order")
+@StackTrace(false)
+@Threshold("10 ms")
+public final class TaxCalculationEvent extends Event {
+	private static final TaxCalculationEvent OFF = new TaxCalculationEvent();
+
+	@Label("Region")
+	String region;
+
+	@Label("Rounding Mode")
+	String mode;
+
+	@Label("Net")
+	double net;
+
+	@Label("Tax")
+	double tax;
+
+	public static TaxCalculationEvent start() {
+		if (!RecordingWatcher.tax)
+			return OFF;
+		var event = new TaxCalculationEvent();
+		event.begin();
+		return event;
+	}
+
+	public void finish(String region, RoundingMode mode, BigDecimal net, BigDecimal tax) {
+		if (this == OFF)
+			return;
+		end();
+		if (!shouldCommit())
+			return;
+		this.region = region;
+		this.mode = String.valueOf(mode);
+		this.net = net.doubleValue();
+		this.tax = tax == null ? 0 : tax.doubleValue();
+		commit();
+	}
+}
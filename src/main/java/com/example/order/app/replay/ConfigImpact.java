@@ -0,0 +1,25 @@
+package com.example.order.app.replay;
+
+import java.math.BigDecimal;
+
+/** 1構成の再計算の集計。金額は成功した注文のみの合計 */
+public record ConfigImpact(
+  String config,
+  long orders,
+  long changed,
+  long failed,
+  BigDecimal baselineDiscount,
+  BigDecimal candidateDiscount,
+  BigDecimal baselineGross,
+  BigDecimal candidateGross,
+  long baselineCapEngaged,
+  long candidateCapEngaged) {
+
+  public BigDecimal discountDelta() {
+    return candidateDiscount.subtract(baselineDiscount);
+  }
+
+  public BigDecimal grossDelta() {
+    return candidateGross.subtract(baselineGross);
+  }
+}
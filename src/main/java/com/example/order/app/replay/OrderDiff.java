@@ -0,0 +1,31 @@
+package com.example.order.app.replay;
+
+import java.math.BigDecimal;
+
+import com.example.order.app.dto.OrderResult;
+
+/** 1注文・1構成の再計算結果と基準の差。計算に失敗した場合は candidate が null で error に理由 */
+public record OrderDiff(String key, String config, OrderResult baseline, OrderResult candidate, String error) {
+
+  public boolean failed() {
+    return error != null;
+  }
+
+  // 金額（割引ラベルを含む）のどれかが基準と異なる
+  public boolean changed() {
+    return !failed() && !(baseline.totalNetBeforeDiscount().compareTo(candidate.totalNetBeforeDiscount()) == 0
+        && baseline.totalDiscount().compareTo(candidate.totalDiscount()) == 0
+        && baseline.totalNetAfterDiscount().compareTo(candidate.totalNetAfterDiscount()) == 0
+        && baseline.totalTax().compareTo(candidate.totalTax()) == 0
+        && baseline.totalGross().compareTo(candidate.totalGross()) == 0
+        && baseline.appliedDiscounts().equals(candidate.appliedDiscounts()));
+  }
+
+  public BigDecimal discountDelta() {
+    return candidate.totalDiscount().subtract(baseline.totalDiscount());
+  }
+
+  public BigDecimal grossDelta() {
+    return candidate.totalGross().subtract(baseline.totalGross());
+  }
+}
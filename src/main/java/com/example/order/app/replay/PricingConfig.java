@@ -0,0 +1,14 @@
+package com.example.order.app.replay;
+
+import java.util.List;
+
+import com.example.order.domain.policy.DiscountPolicy;
+
+/** 再計算に使う割引ポリシー構成（例："cap-20" → 既定ポリシー + CapPolicy(0.20)）。ポリシーはスレッド間で共有する */
+public record PricingConfig(String name, List<? extends DiscountPolicy> policies) {
+  public PricingConfig {
+    if (name == null || name.isBlank())
+      throw new IllegalArgumentException("name must not be blank");
+    policies = List.copyOf(policies);
+  }
+}
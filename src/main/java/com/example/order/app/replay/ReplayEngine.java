@@ -0,0 +1,261 @@
+package com.example.order.app.replay;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderResult;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+/**
+ * 過去の注文を複数のポリシー構成で並行に再計算し、基準との差分と構成ごとの影響を出す（what-if 価格試算）。
+ *
+ * - 価格計算は OrderService.quote（在庫確認・在庫確保・保存なし）。在庫 Port は呼ばれたら例外になるものを渡す
+ * - 呼び出しスレッドが注文を batchSize 件ずつ有界キューへ積み、parallelism 本のワーカーが取り出す（読み込みが計算を追い越さない）
+ * - ワーカーは構成ごとの OrderService と集計を自前で持つ（共有するのはポリシー・税計算・カタログのみ）。集計は最後に合算する
+ * - sink には変化した差分と失敗だけを、ワーカースレッドから順不同で渡す（sink はスレッドセーフであること）
+ *
+ * 税計算・カタログはスレッドセーフかつ副作用なしであること。
+ */
+public class ReplayEngine {
+	private static final InventoryService NO_INVENTORY = new InventoryService() {
+		@Override
+		public void reserve(String productId, int qty) {
+			throw new IllegalStateException("replay must not touch inventory");
+		}
+
+		@Override
+		public boolean checkAvailable(String productId, int qty) {
+			throw new IllegalStateException("replay must not touch inventory");
+		}
+	};
+	private static final List<ReplayOrder> END = List.of();
+
+	private final ProductRepository catalog;
+	private final TaxCalculator tax;
+	private final List<PricingConfig> configs;
+	private final int parallelism;
+	private final int batchSize;
+
+	public ReplayEngine(ProductRepository catalog, TaxCalculator tax, List<PricingConfig> configs) {
+		this(catalog, tax, configs, Runtime.getRuntime().availableProcessors(), 1024);
+	}
+
+	public ReplayEngine(ProductRepository catalog, TaxCalculator tax, List<PricingConfig> configs, int parallelism,
+			int batchSize) {
+		if (configs.isEmpty())
+			throw new IllegalArgumentException("configs must not be empty");
+		if (configs.stream().map(PricingConfig::name).distinct().count() != configs.size())
+			throw new IllegalArgumentException("config names must be unique");
+		if (parallelism <= 0)
+			throw new IllegalArgumentException("parallelism must be > 0");
+		if (batchSize <= 0)
+			throw new IllegalArgumentException("batchSize must be > 0");
+		this.catalog = catalog;
+		this.tax = tax;
+		this.configs = List.copyOf(configs);
+		this.parallelism = parallelism;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * orders を読み切るまで再計算し、集計を返す。sink が例外を投げたら読み込みを止め、その例外を投げ直す。
+	 * ポリシーや sink の Error は原因付きの IllegalStateException で投げ直す。
+	 */
+	public ReplayReport replay(Iterator<ReplayOrder> orders, Consumer<OrderDiff> sink) {
+		long start = System.nanoTime();
+		BlockingQueue<List<ReplayOrder>> queue = new ArrayBlockingQueue<>(parallelism * 2);
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		List<Worker> workers = new ArrayList<>(parallelism);
+		List<Thread> threads = new ArrayList<>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			Worker w = new Worker(queue, sink, failure);
+			workers.add(w);
+			Thread t = new Thread(w, "order-replay-" + i);
+			t.setDaemon(true);
+			threads.add(t);
+			t.start();
+		}
+
+		long read = 0;
+		try {
+			List<ReplayOrder> batch = new ArrayList<>(batchSize);
+			while (orders.hasNext() && failure.get() == null) {
+				batch.add(orders.next());
+				read++;
+				if (batch.size() == batchSize) {
+					queue.put(batch);
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+			if (!batch.isEmpty() && failure.get() == null)
+				queue.put(batch);
+			for (int i = 0; i < parallelism; i++)
+				queue.put(END);
+			for (Thread t : threads)
+				t.join();
+		} catch (InterruptedException e) {
+			threads.forEach(Thread::interrupt);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("replay interrupted", e);
+		}
+		if (failure.get() != null)
+			throw failure.get();
+
+		Map<String, ConfigImpact> impacts = new LinkedHashMap<>();
+		for (int c = 0; c < configs.size(); c++) {
+			Impact total = new Impact();
+			for (Worker w : workers)
+				total.merge(w.impacts[c]);
+			impacts.put(configs.get(c).name(), total.toImpact(configs.get(c).name()));
+		}
+		return new ReplayReport(read, impacts, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private final class Worker implements Runnable {
+		private final BlockingQueue<List<ReplayOrder>> queue;
+		private final Consumer<OrderDiff> sink;
+		private final AtomicReference<RuntimeException> failure;
+		private final LinePrices products = new LinePrices(catalog);
+		private final OrderService[] services = new OrderService[configs.size()];
+		private final Impact[] impacts = new Impact[configs.size()];
+
+		Worker(BlockingQueue<List<ReplayOrder>> queue, Consumer<OrderDiff> sink,
+				AtomicReference<RuntimeException> failure) {
+			this.queue = queue;
+			this.sink = sink;
+			this.failure = failure;
+			for (int c = 0; c < services.length; c++) {
+				services[c] = new OrderService(products, NO_INVENTORY, tax, configs.get(c).policies());
+				impacts[c] = new Impact();
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				List<ReplayOrder> batch;
+				while ((batch = queue.take()) != END) {
+					if (failure.get() != null)
+						continue; // 失敗後は END まで取り出しだけ続ける（読み込み側の put を詰まらせない）
+					try {
+						for (int i = 0; i < batch.size(); i++)
+							replay(batch.get(i));
+					} catch (Throwable e) {
+						// Error でもワーカーを止めない（止まると読み込み側の put と join が永久に待つ）
+						failure.compareAndSet(null, e instanceof RuntimeException re ? re
+								: new IllegalStateException("replay worker failed", e));
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void replay(ReplayOrder order) {
+			products.prices = order.prices();
+			OrderResult baseline = order.baseline();
+			for (int c = 0; c < services.length; c++) {
+				OrderResult candidate;
+				String error = null;
+				try {
+					candidate = services[c].quote(order.request());
+				} catch (IllegalArgumentException | IllegalStateException e) {
+					candidate = null;
+					error = e.getMessage();
+				}
+				if (baseline == null && c == 0 && candidate != null)
+					baseline = candidate;
+				OrderDiff diff = new OrderDiff(order.key(), configs.get(c).name(), baseline, candidate,
+						(error == null && baseline == null) ? "baseline not available" : error);
+				impacts[c].add(diff);
+				if (diff.failed() || diff.changed())
+					sink.accept(diff);
+			}
+		}
+	}
+
+	// ワーカー専用の商品解決：記録時の単価があればそれを、無ければカタログを引く
+	private static final class LinePrices implements ProductRepository {
+		private final ProductRepository catalog;
+		List<OrderLinePersistence> prices;
+
+		LinePrices(ProductRepository catalog) {
+			this.catalog = catalog;
+		}
+
+		@Override
+		public Optional<Product> findById(String productId) {
+			if (prices == null)
+				return catalog.findById(productId);
+			for (int i = 0; i < prices.size(); i++) {
+				OrderLinePersistence l = prices.get(i);
+				if (l.productId().equals(productId))
+					return Optional.of(new Product(l.productId(), l.productId(), l.unitPrice()));
+			}
+			return Optional.empty();
+		}
+	}
+
+	private static final class Impact {
+		long orders;
+		long changed;
+		long failed;
+		BigDecimal baselineDiscount = BigDecimal.ZERO;
+		BigDecimal candidateDiscount = BigDecimal.ZERO;
+		BigDecimal baselineGross = BigDecimal.ZERO;
+		BigDecimal candidateGross = BigDecimal.ZERO;
+		long baselineCap;
+		long candidateCap;
+
+		void add(OrderDiff d) {
+			orders++;
+			if (d.failed()) {
+				failed++;
+				return;
+			}
+			if (d.changed())
+				changed++;
+			baselineDiscount = baselineDiscount.add(d.baseline().totalDiscount());
+			candidateDiscount = candidateDiscount.add(d.candidate().totalDiscount());
+			baselineGross = baselineGross.add(d.baseline().totalGross());
+			candidateGross = candidateGross.add(d.candidate().totalGross());
+			if (d.baseline().appliedDiscounts().contains(DiscountType.CAP))
+				baselineCap++;
+			if (d.candidate().appliedDiscounts().contains(DiscountType.CAP))
+				candidateCap++;
+		}
+
+		void merge(Impact o) {
+			orders += o.orders;
+			changed += o.changed;
+			failed += o.failed;
+			baselineDiscount = baselineDiscount.add(o.baselineDiscount);
+			candidateDiscount = candidateDiscount.add(o.candidateDiscount);
+			baselineGross = baselineGross.add(o.baselineGross);
+			candidateGross = candidateGross.add(o.candidateGross);
+			baselineCap += o.baselineCap;
+			candidateCap += o.candidateCap;
+		}
+
+		ConfigImpact toImpact(String config) {
+			return new ConfigImpact(config, orders, changed, failed, baselineDiscount, candidateDiscount,
+					baselineGross, candidateGross, baselineCap, candidateCap);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.order.app.replay;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * 再計算する注文1件。
+ * prices があれば単価は記録時のもの（ポリシー差だけが差分に出る）、無ければ ReplayEngine のカタログから引く。
+ * baseline が無ければ先頭の構成で計算した結果を基準にする。
+ */
+public record ReplayOrder(String key, OrderRequest request, List<OrderLinePersistence> prices, OrderResult baseline) {
+
+  // 保存済み注文から：記録時の単価と金額を基準にする。丸めモードは保存されていないので指定する（null なら HALF_UP）
+  public static ReplayOrder of(String key, OrderPersistenceModel order, RoundingMode mode) {
+    List<OrderRequest.Line> lines = new ArrayList<>(order.lines().size());
+    for (OrderLinePersistence l : order.lines())
+      lines.add(new OrderRequest.Line(l.productId(), l.qty()));
+    OrderResult recorded = new OrderResult(order.netBefore(), order.totalDiscount(), order.netAfter(),
+        order.totalTax(), order.gross(), order.appliedDiscounts());
+    return new ReplayOrder(key, new OrderRequest(order.region(), mode, lines), order.lines(), recorded);
+  }
+
+  // リクエストログから：単価はカタログ、基準は先頭の構成
+  public static ReplayOrder of(String key, OrderRequest request) {
+    return new ReplayOrder(key, request, null, null);
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.order.app.replay;
+
+import java.time.Duration;
+import java.util.Map;
+
+/** 再計算全体の結果。impacts は構成名 → 集計（構成の指定順） */
+public record ReplayReport(long orders, Map<String, ConfigImpact> impacts, Duration elapsed) {
+
+  public double ordersPerSecond() {
+    long nanos = elapsed.toNanos();
+    return nanos == 0 ? 0 : orders * 1e9 / nanos;
+  }
+}
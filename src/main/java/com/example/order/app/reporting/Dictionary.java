@@ -0,0 +1,35 @@
+package com.example.order.app.reporting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** 文字列 ⇔ 連番コード。登録は OrderColumns のロック下、参照はスナップショットを通して行う */
+final class Dictionary {
+	private final Map<String, Integer> codes = new HashMap<>();
+	private final List<String> values = new ArrayList<>();
+
+	int encode(String value) {
+		Integer code = codes.get(value);
+		if (code != null)
+			return code;
+		codes.put(value, values.size());
+		values.add(value);
+		return values.size() - 1;
+	}
+
+	// 未登録なら -1
+	int codeOf(String value) {
+		Integer code = codes.get(value);
+		return code == null ? -1 : code;
+	}
+
+	String valueOf(int code) {
+		return values.get(code);
+	}
+
+	int size() {
+		return values.size();
+	}
+}
@@ -0,0 +1,6 @@
+package com.example.order.app.reporting;
+
+// DISCOUNT_TYPE では1行が適用された種別すべてに数えられ、割引なしの行は "NONE" にまとまる
+public enum GroupBy {
+  NONE, REGION, DISCOUNT_TYPE
+}
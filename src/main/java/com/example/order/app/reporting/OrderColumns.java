@@ -0,0 +1,208 @@
+package com.example.order.app.reporting;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * 保存済み注文の列指向表現と集計（割引・税の日次レポート向け）。
+ *
+ * - 金額は 1/100 単位の long 列（scale 2 を超える端数を持つ金額は受け付けない）
+ * - 地域・商品IDは辞書コード、適用割引は種別ごとのビット列
+ * - 行は固定行数のセグメントに追記する。集計はセグメント単位に pool で並行に部分集計し、long のまま合算してから BigDecimal に戻す
+ *   （途中で丸めないので合計は正確。桁あふれは ArithmeticException）
+ * - 追記は直列、集計は開始時点までに追記された行を対象にする（集計中の追記は待たない）
+ */
+public class OrderColumns {
+	public static final int DEFAULT_SEGMENT_ROWS = 1 << 16;
+	private static final DiscountType[] TYPES = DiscountType.values();
+
+	private final int segmentRows;
+	private final ForkJoinPool pool;
+	private final Dictionary regions = new Dictionary();
+	private final Dictionary products = new Dictionary();
+	private final List<Segment> segments = new ArrayList<>();
+
+	public OrderColumns() {
+		this(DEFAULT_SEGMENT_ROWS, ForkJoinPool.commonPool());
+	}
+
+	public OrderColumns(int segmentRows, ForkJoinPool pool) {
+		if (segmentRows <= 0)
+			throw new IllegalArgumentException("segmentRows must be > 0");
+		this.segmentRows = segmentRows;
+		this.pool = pool;
+	}
+
+	public synchronized void append(OrderPersistenceModel order) {
+		if (order == null)
+			throw new IllegalArgumentException("order must not be null");
+		long[] amounts = {
+				cents(order.netBefore()), cents(order.totalDiscount()), cents(order.netAfter()),
+				cents(order.totalTax()), cents(order.gross()) };
+		int mask = 0;
+		for (DiscountType t : order.appliedDiscounts())
+			mask |= 1 << t.ordinal();
+		List<OrderLinePersistence> lines = order.lines();
+		int[] productCodes = new int[lines.size()];
+		for (int i = 0; i < productCodes.length; i++)
+			productCodes[i] = products.encode(lines.get(i).productId());
+		int regionCode = regions.encode(order.region());
+
+		Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (segment == null || segment.isFull()) {
+			segment = new Segment(segmentRows);
+			segments.add(segment);
+		}
+		segment.append(amounts, regionCode, mask, productCodes);
+	}
+
+	public synchronized long rowCount() {
+		long rows = 0;
+		for (Segment s : segments)
+			rows += s.size();
+		return rows;
+	}
+
+	/**
+	 * filter に合う行を groupBy でまとめ、件数と各金額の合計を返す。
+	 * キーは NONE なら "ALL"、REGION なら地域、DISCOUNT_TYPE なら種別名と "NONE"。0件のグループは含めない。
+	 */
+	public Map<String, Totals> aggregate(GroupBy groupBy, RowFilter filter) {
+		List<Segment> snapshot;
+		int[] rows;
+		List<String> regionNames;
+		RowFilter.Selector selector;
+		synchronized (this) {
+			snapshot = List.copyOf(segments);
+			rows = new int[snapshot.size()];
+			for (int i = 0; i < rows.length; i++)
+				rows[i] = snapshot.get(i).size();
+			regionNames = new ArrayList<>(regions.size());
+			for (int code = 0; code < regions.size(); code++)
+				regionNames.add(regions.valueOf(code));
+			selector = filter.bind(new RowFilter.Codes() {
+				@Override
+				public int region(String region) {
+					return regions.codeOf(region);
+				}
+
+				@Override
+				public int product(String productId) {
+					return products.codeOf(productId);
+				}
+			});
+		}
+		int groups = switch (groupBy) {
+		case NONE -> 1;
+		case REGION -> regionNames.size();
+		case DISCOUNT_TYPE -> TYPES.length + 1;
+		};
+
+		List<ForkJoinTask<long[][]>> tasks = new ArrayList<>(snapshot.size());
+		for (int i = 0; i < snapshot.size(); i++) {
+			Segment segment = snapshot.get(i);
+			int n = rows[i];
+			tasks.add(pool.submit(() -> partial(segment, n, selector, groupBy, groups)));
+		}
+		long[][] total = new long[groups][1 + Segment.COLUMNS];
+		for (var task : tasks) {
+			long[][] part = task.join();
+			for (int g = 0; g < groups; g++) {
+				for (int c = 0; c < total[g].length; c++)
+					total[g][c] = Math.addExact(total[g][c], part[g][c]);
+			}
+		}
+
+		Map<String, Totals> result = new LinkedHashMap<>();
+		for (int g = 0; g < groups; g++) {
+			if (total[g][0] == 0)
+				continue;
+			String key = switch (groupBy) {
+			case NONE -> "ALL";
+			case REGION -> regionNames.get(g);
+			case DISCOUNT_TYPE -> g < TYPES.length ? TYPES[g].name() : "NONE";
+			};
+			long[] t = total[g];
+			result.put(key, new Totals(t[0], decimal(t[1]), decimal(t[2]), decimal(t[3]), decimal(t[4]), decimal(t[5])));
+		}
+		return result;
+	}
+
+	// filter に合う行のうち type が適用された割合（対象0件なら 0）。例：Cap の発動率
+	public double engagementRate(DiscountType type, RowFilter filter) {
+		Totals all = aggregate(GroupBy.NONE, filter).get("ALL");
+		if (all == null)
+			return 0;
+		Totals engaged = aggregate(GroupBy.NONE, RowFilter.and(filter, RowFilter.discount(type))).get("ALL");
+		return engaged == null ? 0 : (double) engaged.count() / all.count();
+	}
+
+	private static long[][] partial(Segment segment, int rows, RowFilter.Selector selector, GroupBy groupBy, int groups) {
+		long[][] acc = new long[groups][1 + Segment.COLUMNS];
+		if (rows == 0)
+			return acc;
+		long[] selected = selector.select(segment, rows);
+		switch (groupBy) {
+		case NONE -> accumulate(segment, selected, acc[0]);
+		case REGION -> {
+			int[] region = segment.region;
+			for (int w = 0; w < selected.length; w++) {
+				for (long word = selected[w]; word != 0; word &= word - 1) {
+					int r = (w << 6) + Long.numberOfTrailingZeros(word);
+					add(segment, r, acc[region[r]]);
+				}
+			}
+		}
+		case DISCOUNT_TYPE -> {
+			long[] none = selected.clone();
+			for (int t = 0; t < TYPES.length; t++) {
+				long[] typeBits = segment.discounts[t];
+				long[] bits = new long[selected.length];
+				for (int w = 0; w < bits.length; w++) {
+					bits[w] = selected[w] & typeBits[w];
+					none[w] &= ~typeBits[w];
+				}
+				accumulate(segment, bits, acc[t]);
+			}
+			accumulate(segment, none, acc[TYPES.length]);
+		}
+		}
+		return acc;
+	}
+
+	private static void accumulate(Segment segment, long[] bits, long[] acc) {
+		for (int w = 0; w < bits.length; w++) {
+			for (long word = bits[w]; word != 0; word &= word - 1)
+				add(segment, (w << 6) + Long.numberOfTrailingZeros(word), acc);
+		}
+	}
+
+	private static void add(Segment segment, int row, long[] acc) {
+		acc[0]++;
+		for (int c = 0; c < Segment.COLUMNS; c++)
+			acc[c + 1] = Math.addExact(acc[c + 1], segment.amounts[c][row]);
+	}
+
+	private static long cents(BigDecimal amount) {
+		if (amount == null)
+			throw new IllegalArgumentException("amount must not be null");
+		try {
+			return amount.movePointRight(2).longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("amount must have at most 2 decimal places: " + amount);
+		}
+	}
+
+	private static BigDecimal decimal(long cents) {
+		return BigDecimal.valueOf(cents, 2);
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.order.app.reporting;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.example.order.app.dto.DiscountType;
+
+/**
+ * 集計対象の行の条件。セグメントごとに対象行のビット列を作る。
+ * 地域・商品は実行時に辞書コードへ解決し、未登録の値は0件になる。
+ */
+public final class RowFilter {
+	private static final RowFilter ALL = new RowFilter(codes -> (segment, rows) -> firstRows(rows));
+
+	private final Function<Codes, Selector> binder;
+
+	private RowFilter(Function<Codes, Selector> binder) {
+		this.binder = binder;
+	}
+
+	public static RowFilter all() {
+		return ALL;
+	}
+
+	public static RowFilter region(String region) {
+		return new RowFilter(codes -> {
+			int code = codes.region(region);
+			return (segment, rows) -> {
+				long[] bits = new long[Segment.words(rows)];
+				if (code < 0)
+					return bits;
+				int[] regions = segment.region;
+				for (int r = 0; r < rows; r++) {
+					if (regions[r] == code)
+						bits[r >>> 6] |= 1L << r;
+				}
+				return bits;
+			};
+		});
+	}
+
+	public static RowFilter discount(DiscountType type) {
+		return new RowFilter(codes -> (segment, rows) -> {
+			long[] bits = new long[Segment.words(rows)];
+			System.arraycopy(segment.discounts[type.ordinal()], 0, bits, 0, bits.length);
+			return maskTail(bits, rows);
+		});
+	}
+
+	public static RowFilter product(String productId) {
+		return new RowFilter(codes -> {
+			int code = codes.product(productId);
+			return (segment, rows) -> {
+				long[] bits = new long[Segment.words(rows)];
+				if (code < 0)
+					return bits;
+				int[] offsets = segment.productOffsets;
+				int[] products = segment.productCodes;
+				for (int r = 0; r < rows; r++) {
+					for (int i = offsets[r]; i < offsets[r + 1]; i++) {
+						if (products[i] == code) {
+							bits[r >>> 6] |= 1L << r;
+							break;
+						}
+					}
+				}
+				return bits;
+			};
+		});
+	}
+
+	public static RowFilter and(RowFilter... filters) {
+		List<RowFilter> all = List.of(filters);
+		return new RowFilter(codes -> {
+			List<Selector> selectors = all.stream().map(f -> f.bind(codes)).toList();
+			return (segment, rows) -> {
+				long[] bits = firstRows(rows);
+				for (Selector s : selectors) {
+					long[] other = s.select(segment, rows);
+					for (int w = 0; w < bits.length; w++)
+						bits[w] &= other[w];
+				}
+				return bits;
+			};
+		});
+	}
+
+	Selector bind(Codes codes) {
+		return binder.apply(codes);
+	}
+
+	private static long[] firstRows(int rows) {
+		long[] bits = new long[Segment.words(rows)];
+		Arrays.fill(bits, -1L);
+		return maskTail(bits, rows);
+	}
+
+	// rows 以降（書き込み中の行）のビットを落とす
+	static long[] maskTail(long[] bits, int rows) {
+		if ((rows & 63) != 0)
+			bits[bits.length - 1] &= (1L << rows) - 1;
+		return bits;
+	}
+
+	interface Selector {
+		long[] select(Segment segment, int rows);
+	}
+
+	interface Codes {
+		int region(String region);
+
+		int product(String productId);
+	}
+}
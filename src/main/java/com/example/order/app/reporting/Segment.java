@@ -0,0 +1,64 @@
+package com.example.order.app.reporting;
+
+import java.util.Arrays;
+
+import com.example.order.app.dto.DiscountType;
+
+/**
+ * 固定行数の列ブロック。金額は 1/100 単位の long、地域・商品はコード、適用割引は種別ごとのビット列。
+ * 書き込みは1スレッド（OrderColumns のロック下）。行を書き終えてから size（volatile）を進めるので、
+ * 読み手は size を先に読めばそこまでの行を安全に読める。
+ */
+final class Segment {
+	static final int COLUMNS = 5; // netBefore, totalDiscount, netAfter, totalTax, gross
+
+	final int capacity;
+	final long[][] amounts = new long[COLUMNS][];
+	final int[] region;
+	final long[][] discounts = new long[DiscountType.values().length][];
+	// 商品コードの可変長リスト列：行 r の商品は productCodes[productOffsets[r] .. productOffsets[r + 1])
+	final int[] productOffsets;
+	volatile int[] productCodes = new int[16];
+	private volatile int size;
+
+	Segment(int capacity) {
+		this.capacity = capacity;
+		for (int c = 0; c < COLUMNS; c++)
+			amounts[c] = new long[capacity];
+		this.region = new int[capacity];
+		for (int t = 0; t < discounts.length; t++)
+			discounts[t] = new long[words(capacity)];
+		this.productOffsets = new int[capacity + 1];
+	}
+
+	static int words(int rows) {
+		return (rows + 63) >>> 6;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isFull() {
+		return size == capacity;
+	}
+
+	void append(long[] rowAmounts, int regionCode, int discountMask, int[] products) {
+		int row = size;
+		for (int c = 0; c < COLUMNS; c++)
+			amounts[c][row] = rowAmounts[c];
+		region[row] = regionCode;
+		for (int t = 0; t < discounts.length; t++) {
+			if ((discountMask & (1 << t)) != 0)
+				discounts[t][row >>> 6] |= 1L << row;
+		}
+		int start = productOffsets[row];
+		int[] codes = productCodes;
+		if (start + products.length > codes.length)
+			codes = Arrays.copyOf(codes, Math.max(codes.length * 2, start + products.length));
+		System.arraycopy(products, 0, codes, start, products.length);
+		productCodes = codes;
+		productOffsets[row + 1] = start + products.length;
+		size = row + 1; // 公開
+	}
+}
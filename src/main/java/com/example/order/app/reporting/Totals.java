@@ -0,0 +1,13 @@
+package com.example.order.app.reporting;
+
+import java.math.BigDecimal;
+
+/** 1グループの件数と金額合計（scale 2、丸めなしの正確な合計） */
+public record Totals(
+  long count,
+  BigDecimal netBefore,
+  BigDecimal totalDiscount,
+  BigDecimal netAfter,
+  BigDecimal totalTax,
+  BigDecimal gross) {
+}
@@ -0,0 +1,217 @@
+package com.example.order.app.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.example.order.app.admission.Priority;
+
+/**
+ * 作業クラス（CHECKOUT / QUOTE / BATCH）ごとに有界の待ち行列を持ち、共有ワーカーへ重み付き公平に割り振るスケジューラ。
+ *
+ * 取り出しはストライド方式：各クラスは 1件ごとに 1/weight だけ pass を進め、pass が最小のクラスから取り出す。
+ * 混雑時は weight の比で処理され、他が空いていれば 1クラスだけでも全ワーカーを使える（BATCH が空き容量を吸う）。
+ * 空だったクラスは現在の仮想時刻から再開し、遊んでいた間の取り分を貯め込まない。
+ * maxConcurrent で BATCH などの同時実行数を絞れば、CHECKOUT が来たときに使えるワーカーを残せる。
+ */
+public class OrderScheduler {
+	private static final long STRIDE = 1L << 20;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition ready = lock.newCondition();
+	private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+	private final List<Thread> workers = new ArrayList<>();
+	private long virtualTime;
+	private boolean shutdown;
+
+	public OrderScheduler(int workerCount, Map<Priority, WorkloadConfig> config) {
+		if (workerCount <= 0)
+			throw new IllegalArgumentException("workerCount must be > 0");
+		for (Priority p : Priority.values()) {
+			WorkloadConfig c = config.get(p);
+			if (c == null)
+				throw new IllegalArgumentException("missing workload config: " + p);
+			lanes.put(p, new Lane(c));
+		}
+		for (int i = 0; i < workerCount; i++) {
+			Thread t = new Thread(this::work, "order-scheduler-" + i);
+			t.setDaemon(true);
+			workers.add(t);
+			t.start();
+		}
+	}
+
+	public <T> CompletableFuture<T> submit(Priority priority, Supplier<T> task) {
+		var future = new CompletableFuture<T>();
+		Lane lane = lanes.get(priority);
+		lock.lock();
+		try {
+			if (shutdown)
+				throw new RejectedExecutionException("scheduler is shut down");
+			if (lane.queue.size() >= lane.config.queueCapacity()) {
+				lane.rejected++;
+				throw new RejectedExecutionException(priority + " queue is full");
+			}
+			if (lane.queue.isEmpty() && lane.running == 0)
+				lane.pass = Math.max(lane.pass, virtualTime); // 休止明けは現在の仮想時刻から
+			lane.queue.add(new Task(() -> {
+				try {
+					future.complete(task.get());
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			}, System.nanoTime()));
+			ready.signal();
+		} finally {
+			lock.unlock();
+		}
+		return future;
+	}
+
+	public WorkloadMetrics metrics(Priority priority) {
+		Lane lane = lanes.get(priority);
+		lock.lock();
+		try {
+			long mean = lane.started == 0 ? 0 : lane.totalWaitNanos / lane.started;
+			return new WorkloadMetrics(lane.queue.size(), lane.running, lane.completed, lane.rejected, mean,
+					lane.maxWaitNanos, lane.percentile(0.99));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 新規投入を止める。投入済みの作業は実行してからワーカーが終わる
+	public void shutdown() {
+		lock.lock();
+		try {
+			shutdown = true;
+			ready.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean awaitTermination(Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		for (Thread t : workers) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+				return false;
+			TimeUnit.NANOSECONDS.timedJoin(t, remaining);
+			if (t.isAlive())
+				return false;
+		}
+		return true;
+	}
+
+	private void work() {
+		while (true) {
+			Lane lane;
+			Task task;
+			lock.lock();
+			try {
+				while ((lane = pick()) == null) {
+					if (shutdown && idle())
+						return;
+					ready.awaitUninterruptibly();
+				}
+				task = lane.queue.poll();
+				lane.running++;
+				virtualTime = lane.pass;
+				lane.pass += lane.stride;
+				lane.recordWait(System.nanoTime() - task.enqueuedAt);
+				if (pick() != null)
+					ready.signal(); // まだ取り出せる作業があれば他のワーカーも起こす
+			} finally {
+				lock.unlock();
+			}
+			try {
+				task.body.run();
+			} finally {
+				lock.lock();
+				try {
+					lane.running--;
+					lane.completed++;
+					ready.signalAll(); // maxConcurrent で止まっていたクラスが動けるかもしれない
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	// pass 最小のクラス（同値は優先度順）。取り出せなければ null
+	private Lane pick() {
+		Lane best = null;
+		for (Lane lane : lanes.values()) {
+			if (lane.queue.isEmpty() || lane.running >= lane.config.maxConcurrent())
+				continue;
+			if (best == null || lane.pass < best.pass)
+				best = lane;
+		}
+		return best;
+	}
+
+	private boolean idle() {
+		for (Lane lane : lanes.values()) {
+			if (!lane.queue.isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+	private record Task(Runnable body, long enqueuedAt) {
+	}
+
+	private static final class Lane {
+		final WorkloadConfig config;
+		final long stride;
+		final ArrayDeque<Task> queue = new ArrayDeque<>();
+		final long[] waitBuckets = new long[64]; // [i] = 待ち時間が 2^(i-1) 以上 2^i 未満 ns
+		long pass;
+		int running;
+		long started;
+		long completed;
+		long rejected;
+		long totalWaitNanos;
+		long maxWaitNanos;
+
+		Lane(WorkloadConfig config) {
+			this.config = config;
+			this.stride = STRIDE / config.weight();
+		}
+
+		void recordWait(long nanos) {
+			nanos = Math.max(0, nanos);
+			totalWaitNanos += nanos;
+			maxWaitNanos = Math.max(maxWaitNanos, nanos);
+			waitBuckets[64 - Long.numberOfLeadingZeros(nanos)]++;
+			started++;
+		}
+
+		long percentile(double q) {
+			long total = 0;
+			for (long c : waitBuckets)
+				total += c;
+			if (total == 0)
+				return 0;
+			long rank = (long) Math.ceil(total * q);
+			long seen = 0;
+			for (int i = 0; i < waitBuckets.length; i++) {
+				seen += waitBuckets[i];
+				if (seen >= rank)
+					return Math.min(maxWaitNanos, i == 0 ? 0 : (1L << i) - 1);
+			}
+			return maxWaitNanos;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.order.app.scheduling;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.admission.Priority;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+
+/**
+ * OrderService.placeOrder を作業クラス別にスケジューラ経由で実行する。
+ * 夜間の一括再計算（BATCH）が店頭の注文確定（CHECKOUT）と同じ呼び出しスレッドを取り合わないようにする。
+ */
+public class ScheduledOrderService {
+	private final OrderService orders;
+	private final OrderScheduler scheduler;
+
+	public ScheduledOrderService(OrderService orders, OrderScheduler scheduler) {
+		this.orders = orders;
+		this.scheduler = scheduler;
+	}
+
+	// 待ち行列が満杯なら RejectedExecutionException
+	public CompletableFuture<OrderResult> placeOrder(OrderRequest req, Priority workload) {
+		return scheduler.submit(workload, () -> orders.placeOrder(req));
+	}
+}
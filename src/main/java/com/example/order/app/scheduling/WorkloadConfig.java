@@ -0,0 +1,15 @@
+package com.example.order.app.scheduling;
+
+/**
+ * 作業クラスごとのスケジューリング設定。
+ *
+ * weight        混雑時の取り分の比（weighted fair）
+ * queueCapacity 待ち行列の上限。超えた投入は RejectedExecutionException
+ * maxConcurrent 同時に使えるワーカー数の上限。BATCH を絞って CHECKOUT 用の空きを残すのに使う
+ */
+public record WorkloadConfig(int weight, int queueCapacity, int maxConcurrent) {
+  public WorkloadConfig {
+    if (weight <= 0 || queueCapacity <= 0 || maxConcurrent <= 0)
+      throw new IllegalArgumentException("weight, queueCapacity and maxConcurrent must be > 0");
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.order.app.scheduling;
+
+/**
+ * 作業クラスごとの計測値のスナップショット。待ち時間は投入からワーカーが取り出すまで。
+ * p99WaitNanos は 2 のべき乗バケットによる近似（上側に丸める）。
+ */
+public record WorkloadMetrics(
+    int queueDepth,
+    int running,
+    long completed,
+    long rejected,
+    long meanWaitNanos,
+    long maxWaitNanos,
+    long p99WaitNanos
+) {}
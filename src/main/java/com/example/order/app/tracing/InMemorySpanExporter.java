@@ -0,0 +1,28 @@
+package com.example.order.app.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * テスト用：受け取ったスパンをメモリに溜める。
+ */
+public class InMemorySpanExporter implements SpanExporter {
+	private final List<SpanData> spans = new ArrayList<>();
+
+	@Override
+	public synchronized void export(List<SpanData> batch) {
+		spans.addAll(batch);
+	}
+
+	public synchronized List<SpanData> spans() {
+		return List.copyOf(spans);
+	}
+
+	public synchronized List<SpanData> named(String name) {
+		return spans.stream().filter(s -> s.name().equals(name)).toList();
+	}
+
+	public synchronized void reset() {
+		spans.clear();
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.order.app.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 処理段階1つぶんの計測区間。try-with-resources で閉じる。
+ * 記録しないスパン（NOOP）は全操作が何もしないので、非サンプリング時はこのインスタンスを使い回す。
+ */
+public final class Span implements AutoCloseable {
+	static final Span NOOP = new Span(null, null, null, 0);
+
+	private final Trace trace;
+	private final Span parent;
+	private final String name;
+	private final long spanId;
+	private final long start;
+	private Map<String, Object> attributes;
+	private Throwable error;
+
+	Span(Trace trace, Span parent, String name, long spanId) {
+		this.trace = trace;
+		this.parent = parent;
+		this.name = name;
+		this.spanId = spanId;
+		this.start = (trace == null) ? 0 : System.nanoTime();
+	}
+
+	public boolean isRecording() {
+		return trace != null;
+	}
+
+	public Span attr(String key, Object value) {
+		if (trace != null) {
+			if (attributes == null)
+				attributes = new LinkedHashMap<>();
+			attributes.put(key, value);
+		}
+		return this;
+	}
+
+	// 非サンプリング時にボックス化しないための数値版
+	public Span attr(String key, long value) {
+		if (trace != null)
+			attr(key, (Object) value);
+		return this;
+	}
+
+	public void error(Throwable e) {
+		if (trace != null)
+			error = e;
+	}
+
+	@Override
+	public void close() {
+		if (trace != null)
+			trace.end(this, System.nanoTime());
+	}
+
+	Trace trace() {
+		return trace;
+	}
+
+	Span parent() {
+		return parent;
+	}
+
+	boolean failed() {
+		return error != null;
+	}
+
+	long start() {
+		return start;
+	}
+
+	SpanData toData(long end, Map<String, Object> extra) {
+		Map<String, Object> attrs = new LinkedHashMap<>();
+		if (attributes != null)
+			attrs.putAll(attributes);
+		attrs.putAll(extra);
+		String err = (error == null) ? null : error.getClass().getSimpleName() + ": " + error.getMessage();
+		return new SpanData(trace.id(), spanId, parent == null ? 0 : parent.spanId, name, start, end - start,
+				attrs, err);
+	}
+}
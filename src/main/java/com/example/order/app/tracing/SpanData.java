@@ -0,0 +1,19 @@
+package com.example.order.app.tracing;
+
+import java.util.Map;
+
+/**
+ * 終了したスパンの記録（エクスポート単位）。
+ * parentId は親が無ければ 0。error は例外のクラス名とメッセージ（成功時は null）。
+ * 先頭サンプリングで外れた注文を末尾サンプリングで残した場合、ルートスパンだけが出力され attributes に sampling=tail が付く。
+ */
+public record SpanData(
+    String traceId,
+    long spanId,
+    long parentId,
+    String name,
+    long startNanos,
+    long durationNanos,
+    Map<String, Object> attributes,
+    String error
+) {}
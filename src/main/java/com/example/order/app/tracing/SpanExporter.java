@@ -0,0 +1,11 @@
+package com.example.order.app.tracing;
+
+import java.util.List;
+
+/**
+ * 1トレースぶんのスパンを受け取る出力先。ルートスパンの終了時に呼び出し元スレッドで呼ばれる。
+ */
+@FunctionalInterface
+public interface SpanExporter {
+	void export(List<SpanData> spans);
+}
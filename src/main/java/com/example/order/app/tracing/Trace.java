@@ -0,0 +1,46 @@
+package com.example.order.app.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1注文ぶんのトレース。先頭サンプリングで選ばれたときだけ子スパンを記録する。
+ * 選ばれなかったトレースはルートスパンの時刻と成否だけを持ち、遅い・失敗した場合に末尾サンプリングで出力する。
+ */
+final class Trace {
+	private final Tracer tracer;
+	private final String id;
+	private final boolean sampled;
+	private final List<SpanData> finished;
+
+	Trace(Tracer tracer, String id, boolean sampled) {
+		this.tracer = tracer;
+		this.id = id;
+		this.sampled = sampled;
+		this.finished = sampled ? new ArrayList<>() : null;
+	}
+
+	String id() {
+		return id;
+	}
+
+	boolean sampled() {
+		return sampled;
+	}
+
+	void end(Span span, long endNanos) {
+		Tracer.restore(span.parent());
+		if (span.parent() != null) {
+			finished.add(span.toData(endNanos, Map.of()));
+			return;
+		}
+		long duration = endNanos - span.start();
+		if (sampled) {
+			finished.add(span.toData(endNanos, Map.of()));
+			tracer.export(finished);
+		} else if (span.failed() || duration >= tracer.slowThresholdNanos()) {
+			tracer.export(List.of(span.toData(endNanos, Map.of("sampling", "tail"))));
+		}
+	}
+}
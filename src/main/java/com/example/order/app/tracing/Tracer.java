@@ -0,0 +1,106 @@
+package com.example.order.app.tracing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 注文パイプラインの簡易トレーサ。
+ *
+ * - root で1注文ぶんのトレースを開始する（既にスレッド上にスパンがあればその子になる）
+ * - 各段階は静的な span(name) で現在スパンの子を作る（inSpan は失敗をそのスパンに記録する版）。トレース外・非サンプリング時は共有の NOOP スパンを返し、割り当てしない
+ * - 先頭サンプリング：sampleRatio の割合でトレース全体を記録する
+ * - 末尾サンプリング：記録しなかったトレースでも、slowThreshold 以上かかった／失敗したものはルートスパンだけ出力する
+ *
+ * 現在スパンはスレッドローカルで受け渡すため、別スレッドに渡した処理（並行割引評価など）は子スパンにならない。
+ */
+public final class Tracer {
+	public static final Tracer NOOP = new Tracer(0, Duration.ofNanos(Long.MAX_VALUE), null);
+
+	private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+	private final double sampleRatio;
+	private final long slowThresholdNanos;
+	private final SpanExporter exporter;
+
+	public Tracer(double sampleRatio, Duration slowThreshold, SpanExporter exporter) {
+		if (sampleRatio < 0 || sampleRatio > 1)
+			throw new IllegalArgumentException("sampleRatio must be within [0, 1]");
+		this.sampleRatio = sampleRatio;
+		this.slowThresholdNanos = slowThreshold.toNanos();
+		this.exporter = exporter;
+	}
+
+	public Span root(String name) {
+		Span current = CURRENT.get();
+		if (current != null)
+			return child(current, name);
+		if (exporter == null)
+			return Span.NOOP;
+		boolean sampled = sampleRatio > 0 && ThreadLocalRandom.current().nextDouble() < sampleRatio;
+		var rng = ThreadLocalRandom.current();
+		var trace = new Trace(this, Long.toHexString(rng.nextLong()) + Long.toHexString(rng.nextLong()), sampled);
+		return push(new Span(trace, null, name, rng.nextLong()));
+	}
+
+	// 現在のトレースの子スパン。トレース外・非サンプリングなら NOOP
+	public static Span span(String name) {
+		Span current = CURRENT.get();
+		return (current == null) ? Span.NOOP : child(current, name);
+	}
+
+	// 処理を現在スパンの子で囲む。失敗したらそのスパンに例外を記録して投げ直す
+	public static <T> T inSpan(String name, Function<Span, T> work) {
+		try (Span s = span(name)) {
+			try {
+				return work.apply(s);
+			} catch (RuntimeException e) {
+				s.error(e);
+				throw e;
+			}
+		}
+	}
+
+	public static <T> T inSpan(String name, Supplier<T> work) {
+		return inSpan(name, s -> work.get());
+	}
+
+	public static void inSpan(String name, Runnable work) {
+		inSpan(name, s -> {
+			work.run();
+			return null;
+		});
+	}
+
+	private static Span child(Span parent, String name) {
+		if (!parent.trace().sampled())
+			return Span.NOOP;
+		return push(new Span(parent.trace(), parent, name, ThreadLocalRandom.current().nextLong()));
+	}
+
+	private static Span push(Span span) {
+		CURRENT.set(span);
+		return span;
+	}
+
+	static void restore(Span parent) {
+		if (parent == null)
+			CURRENT.remove();
+		else
+			CURRENT.set(parent);
+	}
+
+	long slowThresholdNanos() {
+		return slowThresholdNanos;
+	}
+
+	void export(List<SpanData> spans) {
+		try {
+			exporter.export(spans);
+		} catch (RuntimeException e) {
+			// 計測の失敗で注文処理を失敗させない
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.order.app.warmup;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import com.example.order.adapter.outbound.catalog.CachingProductRepository;
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.TaxCalculator;
+
+/**
+ * 起動直後の遅延（JIT 未コンパイル・キャッシュが空）を減らすウォームアップ。run が終わるまで isReady は false。
+ *
+ * 1. 売れ筋 SKU 一覧（1行1ID、# 以降はコメント）を商品キャッシュへ読み込む
+ * 2. 各リージョン・丸めモードで税計算を1回ずつ呼び、税率の解決を済ませる
+ * 3. 売れ筋だけで組んだ合成注文を OrderService.quote に流す（在庫確認・在庫確保・保存はしない）。
+ *    ラウンドごとの JIT コンパイル時間の増分が閾値以下のラウンドが続いたら安定とみなして終える
+ */
+public class StartupWarmup {
+	private static final RoundingMode[] MODES = { RoundingMode.HALF_UP, RoundingMode.HALF_DOWN };
+	private static final int[] QTYS = { 1, 2, 10, 3, 12 }; // 10 以上で VOLUME の分岐も通す
+	private static final int MAX_LINES = 5; // 3種以上で MULTI_ITEM も通す
+	private static final int SYNTHETIC_ORDERS = 256;
+	private static final BigDecimal SAMPLE_NET = new BigDecimal("1000");
+
+	private final OrderService orders;
+	private final CachingProductRepository products;
+	private final TaxCalculator tax;
+	private final Path hotSkuFile;
+	private final List<String> regions;
+	private final WarmupConfig config;
+	private final LongSupplier compileMillis;
+	private volatile boolean ready;
+
+	public StartupWarmup(OrderService orders, CachingProductRepository products, TaxCalculator tax, Path hotSkuFile,
+			List<String> regions, WarmupConfig config) {
+		this(orders, products, tax, hotSkuFile, regions, config, StartupWarmup::totalCompilationMillis);
+	}
+
+	StartupWarmup(OrderService orders, CachingProductRepository products, TaxCalculator tax, Path hotSkuFile,
+			List<String> regions, WarmupConfig config, LongSupplier compileMillis) {
+		this.orders = orders;
+		this.products = products;
+		this.tax = tax;
+		this.hotSkuFile = hotSkuFile;
+		this.regions = List.copyOf(regions);
+		this.config = config;
+		this.compileMillis = compileMillis;
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	// 途中で例外になったら ready にしない（起動失敗として扱う）
+	public WarmupReport run() throws IOException {
+		long start = System.nanoTime();
+		List<String> hot = readHotSkus(hotSkuFile);
+		products.preload(hot);
+		List<String> cached = hot.stream().filter(products::isCached).toList();
+
+		for (String region : regions) {
+			for (RoundingMode mode : MODES) {
+				tax.calcTaxAmount(SAMPLE_NET, region, mode);
+				tax.addTax(SAMPLE_NET, region, mode);
+			}
+		}
+
+		int rounds = 0;
+		boolean stabilized = false;
+		if (!cached.isEmpty() && !regions.isEmpty()) {
+			List<OrderRequest> synthetic = syntheticOrders(cached);
+			long deadline = start + config.timeBudget().toNanos();
+			long previous = compileMillis.getAsLong();
+			int quiet = 0;
+			while (true) {
+				for (int i = 0; i < config.ordersPerRound(); i++)
+					orders.quote(synthetic.get(i % synthetic.size()));
+				rounds++;
+				long current = compileMillis.getAsLong();
+				if (current < 0) { // 計測できない JVM は quietRounds ラウンドで打ち切る
+					if (rounds >= config.quietRounds())
+						break;
+				} else {
+					quiet = (current - previous <= config.quietCompileMillis()) ? quiet + 1 : 0;
+					previous = current;
+					if (quiet >= config.quietRounds()) {
+						stabilized = true;
+						break;
+					}
+				}
+				if (System.nanoTime() - deadline >= 0)
+					break;
+			}
+		}
+		ready = true;
+		return new WarmupReport(hot.size(), cached.size(), regions.size(), rounds,
+				(long) rounds * config.ordersPerRound(), stabilized, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	static List<String> readHotSkus(Path file) throws IOException {
+		Set<String> ids = new LinkedHashSet<>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			int comment = line.indexOf('#');
+			String id = (comment >= 0 ? line.substring(0, comment) : line).trim();
+			if (!id.isEmpty())
+				ids.add(id);
+		}
+		return List.copyOf(ids);
+	}
+
+	// 行数 1〜5・数量・リージョン・丸めモードを巡回させ、割引の各分岐を通る注文を作る
+	private List<OrderRequest> syntheticOrders(List<String> skus) {
+		List<OrderRequest> result = new ArrayList<>(SYNTHETIC_ORDERS);
+		for (int i = 0; i < SYNTHETIC_ORDERS; i++) {
+			int lineCount = 1 + i % MAX_LINES;
+			List<OrderRequest.Line> lines = new ArrayList<>(lineCount);
+			for (int k = 0; k < lineCount; k++)
+				lines.add(new OrderRequest.Line(skus.get((i + k) % skus.size()), QTYS[(i + k) % QTYS.length]));
+			result.add(new OrderRequest(regions.get(i % regions.size()), MODES[(i / regions.size()) % MODES.length],
+					List.copyOf(lines)));
+		}
+		return result;
+	}
+
+	private static long totalCompilationMillis() {
+		CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+		return (jit != null && jit.isCompilationTimeMonitoringSupported()) ? jit.getTotalCompilationTime() : -1;
+	}
+}
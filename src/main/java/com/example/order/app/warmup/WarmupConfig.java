@@ -0,0 +1,26 @@
+package com.example.order.app.warmup;
+
+import java.time.Duration;
+
+/**
+ * ordersPerRound: 1ラウンドで見積もる合成注文の数
+ * quietRounds: JIT コンパイル時間の増分が quietCompileMillis 以下のラウンドがこれだけ続いたら安定とみなす
+ * timeBudget: 安定しなくてもここで打ち切る
+ */
+public record WarmupConfig(
+  int ordersPerRound,
+  int quietRounds,
+  long quietCompileMillis,
+  Duration timeBudget) {
+
+  public WarmupConfig {
+    if (ordersPerRound <= 0 || quietRounds <= 0)
+      throw new IllegalArgumentException("ordersPerRound and quietRounds must be > 0");
+    if (quietCompileMillis < 0 || timeBudget.isNegative())
+      throw new IllegalArgumentException("quietCompileMillis and timeBudget must be >= 0");
+  }
+
+  public static WarmupConfig defaults() {
+    return new WarmupConfig(2_000, 3, 5, Duration.ofSeconds(30));
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.order.app.warmup;
+
+import java.time.Duration;
+
+/** stabilized=false は timeBudget 打ち切り、またはコンパイル時間を計測できない JVM */
+public record WarmupReport(
+  int hotSkus,
+  int cachedProducts,
+  int regions,
+  int rounds,
+  long pricedOrders,
+  boolean stabilized,
+  Duration elapsed) {
+}
@@ -0,0 +1,41 @@
+package com.example.order.domain.policy;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * ポリシーが非ゼロ割引を返しうるための必要条件（索引用ヒント）。
+ * 満たさない注文ではそのポリシーを評価しない。十分条件ではないので、満たしても 0 を返してよい。
+ *
+ * regions    空なら地域を問わない。指定時は注文の region がいずれかに一致すること
+ * productIds 空なら商品を問わない。指定時は注文にいずれかの商品が含まれること
+ * minSubtotal 割引前小計の下限（null なら無し）。前段の割引は非負なので基準額条件の下限にも使える
+ * minLineQty  いずれかの行の数量の下限
+ * minTotalQty 数量合計の下限
+ */
+public record Applicability(Set<String> regions, Set<String> productIds, BigDecimal minSubtotal, int minLineQty,
+		int minTotalQty) {
+	public static final Applicability ALWAYS = new Applicability(Set.of(), Set.of(), null, 0, 0);
+
+	public Applicability {
+		regions = Set.copyOf(regions);
+		productIds = Set.copyOf(productIds);
+	}
+
+	public static Applicability minSubtotal(BigDecimal minSubtotal) {
+		return new Applicability(Set.of(), Set.of(), minSubtotal, 0, 0);
+	}
+
+	public static Applicability minLineQty(int minLineQty) {
+		return new Applicability(Set.of(), Set.of(), null, minLineQty, 0);
+	}
+
+	public static Applicability minTotalQty(int minTotalQty) {
+		return new Applicability(Set.of(), Set.of(), null, 0, minTotalQty);
+	}
+
+	public boolean isAlways() {
+		return regions.isEmpty() && productIds.isEmpty() && minSubtotal == null && minLineQty <= 0
+				&& minTotalQty <= 0;
+	}
+}
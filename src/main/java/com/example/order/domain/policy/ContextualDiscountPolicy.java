@@ -0,0 +1,32 @@
+package com.example.order.domain.policy;
+
+import java.math.BigDecimal;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.ProductRepository;
+
+/**
+ * 前計算済みの OrderContext だけを受け取る割引ポリシー。
+ * Port を受け取らないため、ポリシー追加でリポジトリ負荷が増えない。
+ * 従来 API（req, products, base）で呼ばれた場合はここでコンテキストを組み立てて委譲する。
+ * 商品を読まないポリシー（usesProducts = false）では商品を解決せず、行だけのコンテキストを渡す。
+ */
+public interface ContextualDiscountPolicy extends DiscountPolicy {
+	/**
+	 * baseAfterPrevious: 直前までの割引を反映した基準金額
+	 * 返り値: 本ポリシーで適用する割引「額」
+	 * 純粋計算・副作用無し
+	 */
+	BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious);
+
+	@Override
+	default BigDecimal discount(OrderRequest req, ProductRepository products, BigDecimal baseAfterPrevious) {
+		OrderContext ctx = usesProducts() ? OrderContext.resolve(req, products) : OrderContext.linesOnly(req);
+		return discount(ctx, baseAfterPrevious);
+	}
+
+	// product / lineAmount / subtotal を読むか。false を宣言したポリシーは従来 API でリポジトリを呼ばない
+	default boolean usesProducts() {
+		return true;
+	}
+}
@@ -14,4 +14,14 @@ public interface DiscountPolicy {
 	 */
 	BigDecimal discount(OrderRequest req,ProductRepository products,BigDecimal baseAfterPrevious);
 	DiscountType type(); // ADR-004
+
+	// 索引用の適用必要条件。宣言しないポリシーは全注文で評価される
+	default Applicability applicability() {
+		return Applicability.ALWAYS;
+	}
+
+	// baseAfterPrevious を参照するか。false を宣言したポリシーは前段と並行に計算してよい
+	default boolean dependsOnBase() {
+		return true;
+	}
 }
@@ -0,0 +1,172 @@
+package com.example.order.domain.policy;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.ProductRepository;
+
+/**
+ * 割引計算用に1注文ぶんの事実を前計算した不変コンテキスト。
+ * 商品解決（Port 呼び出し）は resolve の1回だけで、ポリシー側には Port を渡さない。
+ * 行はリクエスト順のままインデックスで参照する（コピーしたリストは作らない）。
+ */
+public final class OrderContext {
+	// distinct 数をペア比較で数える上限（これを超える行数はセットで数える）
+	private static final int PAIRWISE_DISTINCT_LIMIT = 16;
+
+	private final String region;
+	private final OrderRequest.Line[] lines;
+	private final Product[] products;
+	private final BigDecimal[] lineAmounts;
+	private final BigDecimal subtotal;
+	private int distinctCount = -1; // 遅延計算（冪等なので競合しても結果は同じ）
+	private volatile Map<String, Integer> qtyHistogram;
+
+	private OrderContext(String region, OrderRequest.Line[] lines, Product[] products, BigDecimal[] lineAmounts,
+			BigDecimal subtotal) {
+		this.region = region;
+		this.lines = lines;
+		this.products = products;
+		this.lineAmounts = lineAmounts;
+		this.subtotal = subtotal;
+	}
+
+	// Optional<Product>の中身が空の場合IAEをThrow、行計算自体を行わない(ADR-003)
+	public static OrderContext resolve(OrderRequest req, ProductRepository repository) {
+		List<OrderRequest.Line> src = req.lines();
+		int n = src.size();
+		var lines = new OrderRequest.Line[n];
+		var products = new Product[n];
+		var amounts = new BigDecimal[n];
+		BigDecimal subtotal = BigDecimal.ZERO;
+		for (int i = 0; i < n; i++) {
+			var line = src.get(i);
+			Optional<Product> found = repository.findById(line.productId());
+			if (found.isEmpty())
+				throw new IllegalArgumentException("product not found: " + line.productId());
+			lines[i] = line;
+			products[i] = found.get();
+			amounts[i] = found.get().price().multiply(BigDecimal.valueOf(line.qty()));
+			subtotal = subtotal.add(amounts[i]);
+		}
+		return new OrderContext(req.region(), lines, products, amounts, subtotal);
+	}
+
+	// 行だけのコンテキスト（商品を読まないポリシーを従来 API で呼ぶとき用）。商品・金額を読むと IllegalStateException
+	public static OrderContext linesOnly(OrderRequest req) {
+		return new OrderContext(req.region(), req.lines().toArray(new OrderRequest.Line[0]), null, null, null);
+	}
+
+	// 解決済みの商品から組み立てる（リプレイ等、Port を使わない経路向け）
+	public static OrderContext of(String region, List<OrderRequest.Line> lines, List<Product> products) {
+		if (lines.size() != products.size())
+			throw new IllegalArgumentException("lines and products must have the same size");
+		int n = lines.size();
+		var l = new OrderRequest.Line[n];
+		var p = new Product[n];
+		var amounts = new BigDecimal[n];
+		BigDecimal subtotal = BigDecimal.ZERO;
+		for (int i = 0; i < n; i++) {
+			l[i] = lines.get(i);
+			p[i] = products.get(i);
+			amounts[i] = p[i].price().multiply(BigDecimal.valueOf(l[i].qty()));
+			subtotal = subtotal.add(amounts[i]);
+		}
+		return new OrderContext(region, l, p, amounts, subtotal);
+	}
+
+	public String region() {
+		return region;
+	}
+
+	public int lineCount() {
+		return lines.length;
+	}
+
+	public OrderRequest.Line line(int index) {
+		return lines[index];
+	}
+
+	public Product product(int index) {
+		requireProducts();
+		return products[index];
+	}
+
+	// 行金額 = 単価 × 数量（割引前）
+	public BigDecimal lineAmount(int index) {
+		requireProducts();
+		return lineAmounts[index];
+	}
+
+	// 割引前小計
+	public BigDecimal subtotal() {
+		requireProducts();
+		return subtotal;
+	}
+
+	public int distinctCount() {
+		int d = distinctCount;
+		if (d < 0) {
+			d = lines.length <= PAIRWISE_DISTINCT_LIMIT ? countPairwise() : countWithSet();
+			distinctCount = d;
+		}
+		return d;
+	}
+
+	// 商品ID → 合計数量（行順を保持）
+	public Map<String, Integer> qtyHistogram() {
+		Map<String, Integer> h = qtyHistogram;
+		if (h == null) {
+			var m = new LinkedHashMap<String, Integer>();
+			for (var line : lines) {
+				m.merge(line.productId(), line.qty(), Integer::sum);
+			}
+			h = Collections.unmodifiableMap(m);
+			qtyHistogram = h;
+		}
+		return h;
+	}
+
+	public int totalQty() {
+		int sum = 0;
+		for (var line : lines) {
+			sum += line.qty();
+		}
+		return sum;
+	}
+
+	private void requireProducts() {
+		if (products == null)
+			throw new IllegalStateException("products are not resolved in this context");
+	}
+
+	private int countPairwise() {
+		int distinct = 0;
+		for (int i = 0; i < lines.length; i++) {
+			String id = lines[i].productId();
+			boolean seen = false;
+			for (int j = 0; j < i && !seen; j++) {
+				seen = id.equals(lines[j].productId());
+			}
+			if (!seen)
+				distinct++;
+		}
+		return distinct;
+	}
+
+	private int countWithSet() {
+		Set<String> ids = new HashSet<>();
+		for (var line : lines) {
+			ids.add(line.productId());
+		}
+		return ids.size();
+	}
+}
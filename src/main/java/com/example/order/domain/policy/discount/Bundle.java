@@ -0,0 +1,19 @@
+package com.example.order.domain.policy.discount;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * セット割の定義。components の商品を指定数量ずつ揃えるごとに、その構成金額へ rate を掛けた額を割り引く。
+ */
+public record Bundle(String name, Map<String, Integer> components, BigDecimal rate) {
+	public Bundle {
+		if (components.isEmpty())
+			throw new IllegalArgumentException("bundle must have components: " + name);
+		for (var qty : components.values()) {
+			if (qty <= 0)
+				throw new IllegalArgumentException("bundle component qty must be > 0: " + name);
+		}
+		components = Map.copyOf(components);
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.order.domain.policy.discount;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+
+/**
+ * セット割（A+B+C を揃えると割引）。注文行をセットへ割り当て、割引額が最大になる組数を求める。
+ * 割当は BundleSolver（探索手数の予算付きメモ化 DP、超過時は決定的な貪欲解）で解き、
+ * 同じ「対象商品 × 数量 × 単価」の組み合わせの解は注文をまたいでキャッシュする。
+ * 行金額だけで決まるため基準額には依存しない。
+ */
+public class BundleDiscount implements ContextualDiscountPolicy {
+	private static final long DEFAULT_MAX_STEPS = 200_000;
+	private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+	private final List<Bundle> bundles;
+	private final BundleSolver solver;
+	private final Map<CacheKey, BundleSolver.Solution> cache;
+	private final Applicability applicability;
+
+	public BundleDiscount(List<Bundle> bundles) {
+		this(bundles, DEFAULT_MAX_STEPS, DEFAULT_CACHE_SIZE);
+	}
+
+	public BundleDiscount(List<Bundle> bundles, long maxSteps, int cacheSize) {
+		this.bundles = List.copyOf(bundles);
+		this.solver = new BundleSolver(maxSteps);
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, BundleSolver.Solution> eldest) {
+				return size() > cacheSize;
+			}
+		});
+		Set<String> ids = new HashSet<>();
+		for (var b : this.bundles)
+			ids.addAll(b.components().keySet());
+		this.applicability = new Applicability(Set.of(), ids, null, 0, 0);
+	}
+
+	@Override
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
+		return assign(ctx).value();
+	}
+
+	// セット名 → 組数（0 組は含めない）
+	public Map<String, Integer> assignment(OrderContext ctx) {
+		Problem problem = Problem.of(bundles, ctx);
+		Map<String, Integer> result = new LinkedHashMap<>();
+		if (problem == null)
+			return result;
+		int[] counts = solve(problem).counts();
+		for (int b = 0; b < counts.length; b++) {
+			if (counts[b] > 0)
+				result.put(problem.bundles.get(b).name(), counts[b]);
+		}
+		return result;
+	}
+
+	BundleSolver.Solution assign(OrderContext ctx) {
+		Problem problem = Problem.of(bundles, ctx);
+		if (problem == null)
+			return new BundleSolver.Solution(new int[0], BigDecimal.ZERO, true);
+		return solve(problem);
+	}
+
+	private BundleSolver.Solution solve(Problem problem) {
+		CacheKey key = new CacheKey(problem.skus, problem.available, problem.prices);
+		BundleSolver.Solution hit = cache.get(key);
+		if (hit != null)
+			return hit;
+		BundleSolver.Solution solution = solver.solve(problem.use, problem.values, problem.available);
+		cache.put(key, solution);
+		return solution;
+	}
+
+	@Override
+	public DiscountType type() {
+		return DiscountType.BUNDLE;
+	}
+
+	@Override
+	public Applicability applicability() {
+		return applicability; // いずれかの構成商品を含む注文だけが候補
+	}
+
+	@Override
+	public boolean dependsOnBase() {
+		return false;
+	}
+
+	// 注文中に構成商品が揃いうるセットだけを取り出した割当問題
+	private static final class Problem {
+		final List<Bundle> bundles;
+		final String[] skus;
+		final int[] available;
+		final BigDecimal[] prices;
+		final int[][] use;
+		final BigDecimal[] values;
+
+		private Problem(List<Bundle> bundles, String[] skus, int[] available, BigDecimal[] prices) {
+			this.bundles = bundles;
+			this.skus = skus;
+			this.available = available;
+			this.prices = prices;
+			this.use = new int[bundles.size()][skus.length];
+			this.values = new BigDecimal[bundles.size()];
+			for (int b = 0; b < bundles.size(); b++) {
+				BigDecimal amount = BigDecimal.ZERO;
+				for (int s = 0; s < skus.length; s++) {
+					Integer need = bundles.get(b).components().get(skus[s]);
+					if (need != null) {
+						use[b][s] = need;
+						amount = amount.add(prices[s].multiply(BigDecimal.valueOf(need)));
+					}
+				}
+				values[b] = amount.multiply(bundles.get(b).rate());
+			}
+		}
+
+		static Problem of(List<Bundle> all, OrderContext ctx) {
+			Map<String, Integer> qty = ctx.qtyHistogram();
+			List<Bundle> feasible = new ArrayList<>();
+			TreeMap<String, BigDecimal> skuPrices = new TreeMap<>();
+			for (var bundle : all) {
+				boolean ok = true;
+				for (var e : bundle.components().entrySet()) {
+					Integer have = qty.get(e.getKey());
+					if (have == null || have < e.getValue()) {
+						ok = false;
+						break;
+					}
+				}
+				if (ok) {
+					feasible.add(bundle);
+					for (String sku : bundle.components().keySet())
+						skuPrices.put(sku, null);
+				}
+			}
+			if (feasible.isEmpty())
+				return null;
+			for (int i = 0; i < ctx.lineCount(); i++) {
+				String id = ctx.line(i).productId();
+				if (skuPrices.containsKey(id) && skuPrices.get(id) == null)
+					skuPrices.put(id, ctx.product(i).price());
+			}
+			String[] skus = skuPrices.keySet().toArray(new String[0]);
+			int[] available = new int[skus.length];
+			BigDecimal[] prices = new BigDecimal[skus.length];
+			for (int s = 0; s < skus.length; s++) {
+				available[s] = qty.get(skus[s]);
+				prices[s] = skuPrices.get(skus[s]);
+			}
+			return new Problem(feasible, skus, available, prices);
+		}
+	}
+
+	private record CacheKey(String[] skus, int[] qty, BigDecimal[] prices) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CacheKey k && Arrays.equals(k.skus, skus) && Arrays.equals(k.qty, qty)
+					&& Arrays.equals(k.prices, prices);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(skus) + Arrays.hashCode(qty)) + Arrays.hashCode(prices);
+		}
+	}
+}
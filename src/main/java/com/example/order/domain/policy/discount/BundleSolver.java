@@ -0,0 +1,175 @@
+package com.example.order.domain.policy.discount;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * セット割の割当ソルバー。
+ * 残数量ベクトルをキーにしたメモ化 DP で「各セットを何組作るか」の最適解を探す。
+ * 探索の手数が予算を超えたら、価値の高いセットから貪欲に詰める決定的な解に切り替える。
+ * 手数はメモのヒットや末端も含めた best の呼び出し回数（= 組数ループの反復）で数える。
+ * 新しい状態の数だけで数えると、数量が大きいときの組数ループやメモ参照の分だけ予算の外で時間がかかるため。
+ * 壁時計は見ない（同じ入力なら負荷に関係なく同じ解になる）。
+ */
+final class BundleSolver {
+	record Solution(int[] counts, BigDecimal value, boolean exact) {
+	}
+
+	private final long maxSteps;
+
+	BundleSolver(long maxSteps) {
+		this.maxSteps = maxSteps;
+	}
+
+	/**
+	 * @param use       use[b][s] = セット b 1組に必要な商品 s の数量
+	 * @param values    values[b] = セット b 1組あたりの割引額
+	 * @param available available[s] = 注文中の商品 s の数量
+	 */
+	Solution solve(int[][] use, BigDecimal[] values, int[] available) {
+		int[] order = byValueDesc(values);
+		var search = new Search(use, values, order);
+		try {
+			search.best(0, available.clone());
+			return search.reconstruct(available);
+		} catch (BudgetExceeded e) {
+			return greedy(use, values, order, available);
+		}
+	}
+
+	// 価値降順（同値は定義順）で最大組数ずつ取る
+	static Solution greedy(int[][] use, BigDecimal[] values, int[] order, int[] available) {
+		int[] rem = available.clone();
+		int[] counts = new int[values.length];
+		BigDecimal total = BigDecimal.ZERO;
+		for (int b : order) {
+			int c = maxCount(use[b], rem);
+			if (c > 0) {
+				counts[b] = c;
+				subtract(rem, use[b], c);
+				total = total.add(values[b].multiply(BigDecimal.valueOf(c)));
+			}
+		}
+		return new Solution(counts, total, false);
+	}
+
+	static int[] byValueDesc(BigDecimal[] values) {
+		Integer[] boxed = new Integer[values.length];
+		for (int i = 0; i < boxed.length; i++)
+			boxed[i] = i;
+		Arrays.sort(boxed, (a, b) -> {
+			int c = values[b].compareTo(values[a]);
+			return c != 0 ? c : Integer.compare(a, b);
+		});
+		int[] order = new int[boxed.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = boxed[i];
+		return order;
+	}
+
+	private static int maxCount(int[] need, int[] rem) {
+		int max = Integer.MAX_VALUE;
+		for (int s = 0; s < need.length; s++) {
+			if (need[s] > 0)
+				max = Math.min(max, rem[s] / need[s]);
+		}
+		return max == Integer.MAX_VALUE ? 0 : max;
+	}
+
+	private static void subtract(int[] rem, int[] need, int times) {
+		for (int s = 0; s < need.length; s++)
+			rem[s] -= need[s] * times;
+	}
+
+	private final class Search {
+		private final int[][] use;
+		private final BigDecimal[] values;
+		private final int[] order;
+		private final Map<State, Memo> memo = new HashMap<>();
+		private long steps;
+
+		Search(int[][] use, BigDecimal[] values, int[] order) {
+			this.use = use;
+			this.values = values;
+			this.order = order;
+		}
+
+		// order[k..] のセットだけで rem から得られる最大割引額
+		BigDecimal best(int k, int[] rem) {
+			if (++steps > maxSteps)
+				throw BudgetExceeded.INSTANCE;
+			if (k == order.length)
+				return BigDecimal.ZERO;
+			Memo hit = memo.get(new State(k, rem));
+			if (hit != null)
+				return hit.value;
+
+			int b = order[k];
+			int max = maxCount(use[b], rem);
+			BigDecimal bestValue = null;
+			int bestCount = 0;
+			subtract(rem, use[b], max);
+			for (int c = max; c >= 0; c--) {
+				BigDecimal v = best(k + 1, rem).add(values[b].multiply(BigDecimal.valueOf(c)));
+				if (bestValue == null || v.compareTo(bestValue) > 0) {
+					bestValue = v;
+					bestCount = c;
+				}
+				if (c > 0)
+					subtract(rem, use[b], -1); // 1組戻す
+			}
+			memo.put(new State(k, rem.clone()), new Memo(bestValue, bestCount));
+			return bestValue;
+		}
+
+		Solution reconstruct(int[] available) {
+			int[] rem = available.clone();
+			int[] counts = new int[values.length];
+			BigDecimal total = BigDecimal.ZERO;
+			for (int k = 0; k < order.length; k++) {
+				Memo m = memo.get(new State(k, rem));
+				int b = order[k];
+				counts[b] = m.count;
+				subtract(rem, use[b], m.count);
+				total = total.add(values[b].multiply(BigDecimal.valueOf(m.count)));
+			}
+			return new Solution(counts, total, true);
+		}
+	}
+
+	private record Memo(BigDecimal value, int count) {
+	}
+
+	private static final class State {
+		private final int k;
+		private final int[] rem;
+		private final int hash;
+
+		State(int k, int[] rem) {
+			this.k = k;
+			this.rem = rem;
+			this.hash = 31 * k + Arrays.hashCode(rem);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof State s && s.k == k && Arrays.equals(s.rem, rem);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class BudgetExceeded extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		static final BudgetExceeded INSTANCE = new BudgetExceeded();
+
+		private BudgetExceeded() {
+			super("bundle solver budget exceeded", null, false, false);
+		}
+	}
+}
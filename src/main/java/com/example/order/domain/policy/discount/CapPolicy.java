@@ -3,11 +3,10 @@ package com.example.order.domain.policy.discount;
 import java.math.BigDecimal;
 
 import com.example.order.app.dto.DiscountType;
-import com.example.order.app.dto.OrderRequest;
-import com.example.order.domain.policy.DiscountPolicy;
-import com.example.order.port.outbound.ProductRepository;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 
-public class CapPolicy implements DiscountPolicy {
+public class CapPolicy implements ContextualDiscountPolicy {
 	private final BigDecimal rate; // 例: 0.30
 
 	public CapPolicy(BigDecimal rate) {
@@ -15,14 +14,9 @@ public class CapPolicy implements DiscountPolicy {
 	}
 
 	@Override
-	public BigDecimal discount(OrderRequest req, ProductRepository products, BigDecimal baseAfterPrevious) {
-		// subtotal を再計算（純粋関数）
-		BigDecimal subtotal = BigDecimal.ZERO;
-		for (var line : req.lines()) {
-			var p = products.findById(line.productId())
-					.orElseThrow(() -> new IllegalArgumentException("product not found: " + line.productId()));
-			subtotal = subtotal.add(p.price().multiply(BigDecimal.valueOf(line.qty())));
-		}
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
+		// subtotal はコンテキストで前計算済み
+		BigDecimal subtotal = ctx.subtotal();
 
 		// ここまでに適用済みの合計割引 = subtotal - baseAfterPrevious
 		BigDecimal sumSoFar = subtotal.subtract(baseAfterPrevious);
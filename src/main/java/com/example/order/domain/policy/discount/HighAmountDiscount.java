@@ -3,18 +3,16 @@ package com.example.order.domain.policy.discount;
 import java.math.BigDecimal;
 
 import com.example.order.app.dto.DiscountType;
-import com.example.order.app.dto.OrderRequest;
-import com.example.order.domain.policy.DiscountPolicy;
-import com.example.order.port.outbound.ProductRepository;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 
-public class HighAmountDiscount implements DiscountPolicy {
+public class HighAmountDiscount implements ContextualDiscountPolicy {
 	private static final BigDecimal THRESHOLD = new BigDecimal("100000");
 	private static final BigDecimal RATE = new BigDecimal("0.03");
 
 	@Override
-	public BigDecimal discount(OrderRequest req,
-			ProductRepository products,
-			BigDecimal baseAfterPrevious) {
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
 		if (baseAfterPrevious.compareTo(THRESHOLD) >= 0) {
 			return baseAfterPrevious.multiply(RATE);
 		}
@@ -24,4 +22,12 @@ public class HighAmountDiscount implements DiscountPolicy {
 	public DiscountType type() {
 	    return DiscountType.HIGH_AMOUNT;
 	}
+	@Override
+	public boolean usesProducts() {
+		return false; // 基準額だけで決まる
+	}
+	@Override
+	public Applicability applicability() {
+		return Applicability.minSubtotal(THRESHOLD); // 基準額 <= 小計
+	}
 }
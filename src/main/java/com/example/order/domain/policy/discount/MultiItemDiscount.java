@@ -3,17 +3,17 @@ package com.example.order.domain.policy.discount;
 import java.math.BigDecimal;
 
 import com.example.order.app.dto.DiscountType;
-import com.example.order.app.dto.OrderRequest;
-import com.example.order.domain.policy.DiscountPolicy;
-import com.example.order.port.outbound.ProductRepository;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 
-public class MultiItemDiscount implements DiscountPolicy {
+public class MultiItemDiscount implements ContextualDiscountPolicy {
 	private static final BigDecimal RATE = new BigDecimal("0.02");
+	private static final int MIN_DISTINCT = 3;
 
 	@Override
-	public BigDecimal discount(OrderRequest req, ProductRepository products, BigDecimal baseAfterPrevious) {
-		long distinct = req.lines().stream().map(l -> l.productId()).distinct().count();
-		if (distinct >= 3) {
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
+		if (ctx.distinctCount() >= MIN_DISTINCT) {
 			return baseAfterPrevious.multiply(RATE);
 		}
 		return BigDecimal.ZERO;
@@ -22,4 +22,12 @@ public class MultiItemDiscount implements DiscountPolicy {
 	public DiscountType type() {
 	    return DiscountType.MULTI_ITEM;
 	}
+	@Override
+	public boolean usesProducts() {
+		return false; // 商品IDの種類数だけで決まる
+	}
+	@Override
+	public Applicability applicability() {
+		return Applicability.minTotalQty(MIN_DISTINCT); // 3種以上なら数量合計も3以上
+	}
 }
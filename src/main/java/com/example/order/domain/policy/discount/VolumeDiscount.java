@@ -3,24 +3,20 @@ package com.example.order.domain.policy.discount;
 import java.math.BigDecimal;
 
 import com.example.order.app.dto.DiscountType;
-import com.example.order.app.dto.OrderRequest;
-import com.example.order.domain.model.Product;
-import com.example.order.domain.policy.DiscountPolicy;
-import com.example.order.port.outbound.ProductRepository;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 
-public class VolumeDiscount implements DiscountPolicy {
+public class VolumeDiscount implements ContextualDiscountPolicy {
 	private static final BigDecimal RATE = new BigDecimal("0.05");
 
 	@Override
-	public BigDecimal discount(OrderRequest req, ProductRepository products, BigDecimal baseAfterPrevious) {
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
 		BigDecimal total = BigDecimal.ZERO;
 
-		for (var line : req.lines()) {
-			if (line.qty() >= 10) {
-				Product p = products.findById(line.productId())
-						.orElseThrow(() -> new IllegalArgumentException("product not found: " + line.productId()));
-				BigDecimal lineAmount = p.price().multiply(BigDecimal.valueOf(line.qty()));
-				total = total.add(lineAmount.multiply(RATE));
+		for (int i = 0; i < ctx.lineCount(); i++) {
+			if (ctx.line(i).qty() >= 10) {
+				total = total.add(ctx.lineAmount(i).multiply(RATE));
 			}
 		}
 		return total;
@@ -29,4 +25,12 @@ public class VolumeDiscount implements DiscountPolicy {
 	public DiscountType type() {
 	    return DiscountType.VOLUME;
 	}
+	@Override
+	public Applicability applicability() {
+		return Applicability.minLineQty(10);
+	}
+	@Override
+	public boolean dependsOnBase() {
+		return false; // 行金額のみで決まる
+	}
 }
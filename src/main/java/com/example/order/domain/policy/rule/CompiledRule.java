@@ -0,0 +1,92 @@
+package com.example.order.domain.policy.rule;
+
+import java.math.BigDecimal;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+
+/**
+ * ルール定義1行をコンパイルした割引ポリシー。
+ * scope=order は基準額（直前までの割引後）に率を掛け、scope=line は条件を満たす行金額に率を掛けて合算する。
+ */
+public final class CompiledRule implements ContextualDiscountPolicy {
+	public enum Scope {
+		LINE, ORDER
+	}
+
+	private final DiscountType type;
+	private final Scope scope;
+	private final BigDecimal rate;
+	private final int order;
+	private final RuleCondition when;
+	private final LineCondition lineWhen;
+	private final Applicability applicability;
+	private final boolean dependsOnBase;
+	private final String source;
+
+	CompiledRule(DiscountType type, Scope scope, BigDecimal rate, int order, RuleCondition when,
+			LineCondition lineWhen, Applicability applicability, boolean baseInCondition, String source) {
+		this.type = type;
+		this.scope = scope;
+		this.rate = rate;
+		this.order = order;
+		this.when = when;
+		this.lineWhen = lineWhen;
+		this.applicability = applicability;
+		this.dependsOnBase = scope == Scope.ORDER || baseInCondition;
+		this.source = source;
+	}
+
+	@Override
+	public BigDecimal discount(OrderContext ctx, BigDecimal baseAfterPrevious) {
+		if (!when.test(ctx, baseAfterPrevious)) {
+			return BigDecimal.ZERO;
+		}
+		if (scope == Scope.ORDER) {
+			return baseAfterPrevious.multiply(rate);
+		}
+		BigDecimal total = BigDecimal.ZERO;
+		for (int i = 0; i < ctx.lineCount(); i++) {
+			if (lineWhen.test(ctx, i)) {
+				total = total.add(ctx.lineAmount(i).multiply(rate));
+			}
+		}
+		return total;
+	}
+
+	@Override
+	public DiscountType type() {
+		return type;
+	}
+
+	// 条件式から導いた索引用ヒント（ADR-004 の順序適用とは独立）
+	@Override
+	public Applicability applicability() {
+		return applicability;
+	}
+
+	// scope=line で base 条件を持たないルールは基準額に依存しない
+	@Override
+	public boolean dependsOnBase() {
+		return dependsOnBase;
+	}
+
+	public Scope scope() {
+		return scope;
+	}
+
+	public BigDecimal rate() {
+		return rate;
+	}
+
+	public int order() {
+		return order;
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledRule[" + source + "]";
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.order.domain.policy.rule;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.service.PolicyIndex;
+
+/**
+ * ローカルのルール定義ファイルからコンパイルしたポリシー列を保持する。
+ * reload はコンパイルに成功した場合だけ原子的に差し替え、失敗時は現行ルールを維持して例外を投げる。
+ * 注文側は1注文の間、取得したポリシー列（不変）を使い続ける。
+ */
+public class DiscountRuleBook {
+	private final Path file;
+	private final AtomicReference<PolicyIndex> current;
+
+	private DiscountRuleBook(Path file, PolicyIndex initial) {
+		this.file = file;
+		this.current = new AtomicReference<>(initial);
+	}
+
+	public static DiscountRuleBook load(Path file) {
+		return new DiscountRuleBook(file, compile(file));
+	}
+
+	public List<DiscountPolicy> policies() {
+		return current.get().policies();
+	}
+
+	// 索引はコンパイル時に1度だけ構築し、ポリシー列と同じ世代で差し替える
+	public PolicyIndex index() {
+		return current.get();
+	}
+
+	public Path file() {
+		return file;
+	}
+
+	public List<DiscountPolicy> reload() {
+		PolicyIndex next = compile(file);
+		current.set(next);
+		return next.policies();
+	}
+
+	private static PolicyIndex compile(Path file) {
+		try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return PolicyIndex.of(DiscountRuleParser.parse(in));
+		} catch (IOException e) {
+			throw new UncheckedIOException("cannot read discount rules: " + file, e);
+		}
+	}
+}
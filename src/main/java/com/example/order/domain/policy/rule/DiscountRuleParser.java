@@ -0,0 +1,290 @@
+package com.example.order.domain.policy.rule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.discount.CapPolicy;
+
+/**
+ * ルール定義ファイルを読み、評価用オブジェクトにコンパイルする。
+ *
+ * <pre>
+ * # コメント
+ * rule &lt;DiscountType&gt; order=&lt;n&gt; scope=line|order rate=&lt;decimal&gt; [when=&lt;field&gt;&lt;op&gt;&lt;value&gt; ...]
+ * cap rate=&lt;decimal&gt;
+ * </pre>
+ *
+ * when は AND 結合。field は distinct / qty / lines / base / subtotal / region（注文単位）と
+ * line.qty / line.amount / line.price / line.product（行単位、scope=line のみ）。
+ * op は &gt;= &gt; &lt;= &lt; == != 。
+ * ルールは order 昇順（同順位は記述順）で並べ、cap は常に末尾に置く（ADR-004）。
+ */
+public final class DiscountRuleParser {
+	private static final Pattern CONDITION = Pattern.compile("([a-z.]+)(>=|<=|==|!=|>|<)(.+)");
+
+	private DiscountRuleParser() {
+	}
+
+	public static List<DiscountPolicy> parse(Reader source) throws IOException {
+		BufferedReader reader = source instanceof BufferedReader b ? b : new BufferedReader(source);
+		List<CompiledRule> rules = new ArrayList<>();
+		CapPolicy cap = null;
+		String raw;
+		int lineNo = 0;
+		while ((raw = reader.readLine()) != null) {
+			lineNo++;
+			int hash = raw.indexOf('#');
+			String text = (hash >= 0 ? raw.substring(0, hash) : raw).trim();
+			if (text.isEmpty())
+				continue;
+			String[] tokens = text.split("\\s+");
+			try {
+				switch (tokens[0]) {
+				case "rule" -> rules.add(compileRule(tokens, text));
+				case "cap" -> {
+					if (cap != null)
+						throw new IllegalArgumentException("cap is already defined");
+					cap = compileCap(tokens);
+				}
+				default -> throw new IllegalArgumentException("unknown directive: " + tokens[0]);
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage(), e);
+			}
+		}
+		rules.sort(Comparator.comparingInt(CompiledRule::order)); // 安定ソート：同順位は記述順
+		List<DiscountPolicy> policies = new ArrayList<>(rules);
+		if (cap != null)
+			policies.add(cap);
+		return List.copyOf(policies);
+	}
+
+	private static CompiledRule compileRule(String[] tokens, String source) {
+		if (tokens.length < 2)
+			throw new IllegalArgumentException("rule requires a discount type");
+		DiscountType type = parseType(tokens[1]);
+		Integer order = null;
+		CompiledRule.Scope scope = null;
+		BigDecimal rate = null;
+		RuleCondition when = RuleCondition.ALWAYS;
+		LineCondition lineWhen = LineCondition.ALWAYS;
+		var hints = new Hints();
+		boolean baseInCondition = false;
+		for (int i = 2; i < tokens.length; i++) {
+			String key = key(tokens[i]);
+			String value = value(tokens[i]);
+			switch (key) {
+			case "order" -> order = Integer.valueOf(value);
+			case "scope" -> scope = parseScope(value);
+			case "rate" -> rate = parseRate(value);
+			case "when" -> {
+				Matcher m = CONDITION.matcher(value);
+				if (!m.matches())
+					throw new IllegalArgumentException("invalid condition: " + value);
+				String field = m.group(1);
+				hints.collect(field, m.group(2), m.group(3));
+				baseInCondition |= "base".equals(field);
+				if (field.startsWith("line."))
+					lineWhen = lineWhen.and(compileLineCondition(field, m.group(2), m.group(3)));
+				else
+					when = when.and(compileCondition(field, m.group(2), m.group(3)));
+			}
+			default -> throw new IllegalArgumentException("unknown rule attribute: " + key);
+			}
+		}
+		if (order == null || scope == null || rate == null)
+			throw new IllegalArgumentException("rule requires order, scope and rate");
+		if (scope == CompiledRule.Scope.ORDER && lineWhen != LineCondition.ALWAYS)
+			throw new IllegalArgumentException("line conditions require scope=line");
+		return new CompiledRule(type, scope, rate, order, when, lineWhen, hints.toApplicability(),
+				baseInCondition, source);
+	}
+
+	// 条件式から索引用の必要条件を集める（>= / > / == のみ。それ以外は絞り込みに使わない）
+	private static final class Hints {
+		private final Set<String> regions = new HashSet<>();
+		private final Set<String> productIds = new HashSet<>();
+		private BigDecimal minSubtotal;
+		private int minLineQty;
+		private int minTotalQty;
+
+		void collect(String field, String op, String value) {
+			boolean lowerBound = ">=".equals(op) || ">".equals(op);
+			switch (field) {
+			case "region" -> {
+				if ("==".equals(op))
+					regions.add(value);
+			}
+			case "line.product" -> {
+				if ("==".equals(op))
+					productIds.add(value);
+			}
+			case "subtotal", "base" -> {
+				if (lowerBound) {
+					BigDecimal v = new BigDecimal(value);
+					minSubtotal = minSubtotal == null ? v : minSubtotal.max(v);
+				}
+			}
+			case "line.qty" -> {
+				if (lowerBound)
+					minLineQty = Math.max(minLineQty, parseInt(value) + (">".equals(op) ? 1 : 0));
+			}
+			case "qty", "distinct" -> {
+				if (lowerBound)
+					minTotalQty = Math.max(minTotalQty, parseInt(value) + (">".equals(op) ? 1 : 0));
+			}
+			default -> {
+			}
+			}
+		}
+
+		Applicability toApplicability() {
+			return new Applicability(regions, productIds, minSubtotal, minLineQty, minTotalQty);
+		}
+	}
+
+	private static CapPolicy compileCap(String[] tokens) {
+		BigDecimal rate = null;
+		for (int i = 1; i < tokens.length; i++) {
+			if (!"rate".equals(key(tokens[i])))
+				throw new IllegalArgumentException("unknown cap attribute: " + key(tokens[i]));
+			rate = parseRate(value(tokens[i]));
+		}
+		if (rate == null)
+			throw new IllegalArgumentException("cap requires rate");
+		return new CapPolicy(rate);
+	}
+
+	private static RuleCondition compileCondition(String field, String op, String value) {
+		switch (field) {
+		case "distinct": {
+			IntPredicate p = intOp(op, parseInt(value));
+			return (ctx, base) -> p.test(ctx.distinctCount());
+		}
+		case "qty": {
+			IntPredicate p = intOp(op, parseInt(value));
+			return (ctx, base) -> p.test(ctx.totalQty());
+		}
+		case "lines": {
+			IntPredicate p = intOp(op, parseInt(value));
+			return (ctx, base) -> p.test(ctx.lineCount());
+		}
+		case "base": {
+			BigDecimal v = new BigDecimal(value);
+			IntPredicate p = compareOp(op);
+			return (ctx, base) -> p.test(base.compareTo(v));
+		}
+		case "subtotal": {
+			BigDecimal v = new BigDecimal(value);
+			IntPredicate p = compareOp(op);
+			return (ctx, base) -> p.test(ctx.subtotal().compareTo(v));
+		}
+		case "region": {
+			boolean negate = equalityNegated(op);
+			return (ctx, base) -> value.equals(ctx.region()) != negate;
+		}
+		default:
+			throw new IllegalArgumentException("unknown condition field: " + field);
+		}
+	}
+
+	private static LineCondition compileLineCondition(String field, String op, String value) {
+		switch (field) {
+		case "line.qty": {
+			IntPredicate p = intOp(op, parseInt(value));
+			return (ctx, i) -> p.test(ctx.line(i).qty());
+		}
+		case "line.amount": {
+			BigDecimal v = new BigDecimal(value);
+			IntPredicate p = compareOp(op);
+			return (ctx, i) -> p.test(ctx.lineAmount(i).compareTo(v));
+		}
+		case "line.price": {
+			BigDecimal v = new BigDecimal(value);
+			IntPredicate p = compareOp(op);
+			return (ctx, i) -> p.test(ctx.product(i).price().compareTo(v));
+		}
+		case "line.product": {
+			boolean negate = equalityNegated(op);
+			return (ctx, i) -> value.equals(ctx.line(i).productId()) != negate;
+		}
+		default:
+			throw new IllegalArgumentException("unknown condition field: " + field);
+		}
+	}
+
+	private static IntPredicate intOp(String op, int v) {
+		return switch (op) {
+		case ">=" -> x -> x >= v;
+		case ">" -> x -> x > v;
+		case "<=" -> x -> x <= v;
+		case "<" -> x -> x < v;
+		case "==" -> x -> x == v;
+		default -> x -> x != v;
+		};
+	}
+
+	// compareTo の結果（負/0/正）に対する判定
+	private static IntPredicate compareOp(String op) {
+		return intOp(op, 0);
+	}
+
+	private static boolean equalityNegated(String op) {
+		return switch (op) {
+		case "==" -> false;
+		case "!=" -> true;
+		default -> throw new IllegalArgumentException("only == and != are allowed for text fields: " + op);
+		};
+	}
+
+	private static DiscountType parseType(String name) {
+		try {
+			return DiscountType.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("unknown discount type: " + name); // ADR-005
+		}
+	}
+
+	private static CompiledRule.Scope parseScope(String value) {
+		return switch (value) {
+		case "line" -> CompiledRule.Scope.LINE;
+		case "order" -> CompiledRule.Scope.ORDER;
+		default -> throw new IllegalArgumentException("unknown scope: " + value);
+		};
+	}
+
+	private static BigDecimal parseRate(String value) {
+		BigDecimal rate = new BigDecimal(value);
+		if (rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0)
+			throw new IllegalArgumentException("rate must be between 0 and 1: " + value);
+		return rate;
+	}
+
+	private static int parseInt(String value) {
+		return Integer.parseInt(value);
+	}
+
+	private static String key(String token) {
+		int eq = token.indexOf('=');
+		if (eq <= 0)
+			throw new IllegalArgumentException("expected key=value: " + token);
+		return token.substring(0, eq);
+	}
+
+	private static String value(String token) {
+		return token.substring(token.indexOf('=') + 1);
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.order.domain.policy.rule;
+
+import com.example.order.domain.policy.OrderContext;
+
+/**
+ * 読込時に生成済みの行単位条件（scope=line のルールで対象行を選ぶ）。
+ */
+@FunctionalInterface
+interface LineCondition {
+	LineCondition ALWAYS = (ctx, index) -> true;
+
+	boolean test(OrderContext ctx, int lineIndex);
+
+	default LineCondition and(LineCondition other) {
+		if (this == ALWAYS)
+			return other;
+		if (other == ALWAYS)
+			return this;
+		return (ctx, i) -> test(ctx, i) && other.test(ctx, i);
+	}
+}
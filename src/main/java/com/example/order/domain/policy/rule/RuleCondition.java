@@ -0,0 +1,23 @@
+package com.example.order.domain.policy.rule;
+
+import java.math.BigDecimal;
+
+import com.example.order.domain.policy.OrderContext;
+
+/**
+ * 読込時に生成済みの注文単位条件。評価時は式の解釈をしない。
+ */
+@FunctionalInterface
+interface RuleCondition {
+	RuleCondition ALWAYS = (ctx, base) -> true;
+
+	boolean test(OrderContext ctx, BigDecimal baseAfterPrevious);
+
+	default RuleCondition and(RuleCondition other) {
+		if (this == ALWAYS)
+			return other;
+		if (other == ALWAYS)
+			return this;
+		return (ctx, base) -> test(ctx, base) && other.test(ctx, base);
+	}
+}
@@ -2,37 +2,149 @@ package com.example.order.domain.service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import com.example.order.app.dto.DiscountResult;
 import com.example.order.app.dto.DiscountType;
 import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
 import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
 import com.example.order.port.outbound.ProductRepository;
 
 public class DiscountEngine {
+	private static volatile DiscountEvaluationHook hook = DiscountEvaluationHook.NONE;
+
 	private DiscountEngine() {
 	}
 
+	// ポリシー評価の観測フックを差し替える（JFR などの計測は app 層が入れる）。null なら観測しない
+	public static void installHook(DiscountEvaluationHook hook) {
+		DiscountEngine.hook = (hook == null) ? DiscountEvaluationHook.NONE : hook;
+	}
+
 	/*
 	 * 順序依存
 	 * 次ポリシーは全ポリシーの割引金額分を「引いた後」を基準に計算
 	 */
 	public static DiscountResult applyInOrder(List<DiscountPolicy> policies, OrderRequest req, ProductRepository products,
 			BigDecimal subtotal) {
+		return fold(policies, null, subtotal, null, req, products, SEQUENTIAL);
+	}
+
+	/*
+	 * 前計算済みコンテキスト版（順序依存は同じ）
+	 * ContextualDiscountPolicy はコンテキストだけで計算し、従来 API のポリシーは req/products で呼ぶ
+	 */
+	public static DiscountResult applyInOrder(List<DiscountPolicy> policies, OrderContext ctx, OrderRequest req,
+			ProductRepository products) {
+		return fold(policies, null, ctx.subtotal(), ctx, req, products, SEQUENTIAL);
+	}
+
+	/*
+	 * 索引版：適用必要条件を満たす候補だけを元の順序で評価する
+	 * 候補外は 0 のはずなので、合計・ラベル・Cap 差し戻しは全件評価と同じ
+	 */
+	public static DiscountResult applyInOrder(PolicyIndex index, OrderContext ctx, OrderRequest req,
+			ProductRepository products) {
+		return fold(index.policies(), index.candidates(ctx), ctx.subtotal(), ctx, req, products, SEQUENTIAL);
+	}
+
+	/*
+	 * 並行版：dependsOnBase()=false のコンテキスト版ポリシーを pool で先行計算し、
+	 * 結果は設定順に畳み込む（基準額依存のポリシーは呼び出しスレッドで順に計算）
+	 * 先行計算する独立ポリシーには基準額として小計を渡す（参照しない契約）
+	 */
+	public static DiscountResult applyInOrder(PolicyIndex index, OrderContext ctx, OrderRequest req,
+			ProductRepository products, ForkJoinPool pool) {
+		List<DiscountPolicy> policies = index.policies();
+		long[] candidates = index.candidates(ctx);
+		List<ForkJoinTask<BigDecimal>> forked = new ArrayList<>(Collections.nCopies(policies.size(), null));
+		int independent = 0;
+		for (int i = next(candidates, policies.size(), 0); i >= 0; i = next(candidates, policies.size(), i + 1)) {
+			if (policies.get(i) instanceof ContextualDiscountPolicy c && !c.dependsOnBase()) {
+				forked.set(i, pool.submit(() -> evaluate(c, ctx, req, products, ctx.subtotal())));
+				independent++;
+			}
+		}
+		if (independent == 0) {
+			return fold(policies, candidates, ctx.subtotal(), ctx, req, products, SEQUENTIAL);
+		}
+		try {
+			return fold(policies, candidates, ctx.subtotal(), ctx, req, products, (i, p, c, r, repo, base) -> {
+				ForkJoinTask<BigDecimal> task = forked.get(i);
+				return (task != null) ? task.join() : evaluate(p, c, r, repo, base);
+			});
+		} catch (RuntimeException e) {
+			for (var task : forked) {
+				if (task != null)
+					task.cancel(true);
+			}
+			throw e;
+		}
+	}
+
+	// 1ポリシーぶんの割引額の求め方（逐次は評価、並行版は先行計算した結果を使う）
+	@FunctionalInterface
+	private interface Step {
+		BigDecimal discount(int index, DiscountPolicy p, OrderContext ctx, OrderRequest req, ProductRepository products,
+				BigDecimal base);
+	}
+
+	// 何も捕捉しないので使い回せる（逐次版は呼び出しごとの割り当てなし）
+	private static final Step SEQUENTIAL = (i, p, ctx, req, products, base) -> evaluate(p, ctx, req, products, base);
+
+	/*
+	 * 畳み込み本体：候補（candidates が null なら全件）を設定順に評価し、非ゼロ割引だけを適用する
+	 * 割引のたびに基準額を減らす（順序依存）
+	 */
+	private static DiscountResult fold(List<DiscountPolicy> policies, long[] candidates, BigDecimal subtotal,
+			OrderContext ctx, OrderRequest req, ProductRepository products, Step step) {
 		BigDecimal total = BigDecimal.ZERO;
 		BigDecimal base = subtotal;
-		List<DiscountType> applied = new ArrayList<>();
+		List<DiscountType> applied = null; // 割引が1件も無い注文ではリストを作らない
 
-		for (var p : policies) {
-			BigDecimal d = p.discount(req, products, base);
-			if (d.compareTo(BigDecimal.ZERO) != 0) { // ← 非ゼロなら適用(ADR-010)
-		        applied.add(p.type());
-		    }
+		for (int i = next(candidates, policies.size(), 0); i >= 0; i = next(candidates, policies.size(), i + 1)) {
+			var p = policies.get(i);
+			BigDecimal d = step.discount(i, p, ctx, req, products, base);
+			if (d.signum() == 0) {
+				continue; // ゼロ割引は基準も合計も変わらない
+			}
+			if (applied == null) { // ← 非ゼロなら適用(ADR-010)
+				applied = new ArrayList<>(policies.size() - i);
+			}
+			applied.add(p.type());
 			total = total.add(d);
 			base  = base.subtract(d);
 		}
-		return new DiscountResult(total, applied);
+		return new DiscountResult(total, applied == null ? List.of() : applied);
+	}
+
+	// from 以降で最初に評価するポリシーの位置（無ければ -1）
+	private static int next(long[] candidates, int size, int from) {
+		if (candidates == null)
+			return from < size ? from : -1;
+		return PolicyIndex.nextCandidate(candidates, from);
 	}
 
+	/*
+	 * 1ポリシーぶんの評価。ctx があればコンテキスト版で呼ぶ
+	 * ポリシー単位の JFR イベントもここで出す
+	 */
+	private static BigDecimal evaluate(DiscountPolicy p, OrderContext ctx, OrderRequest req, ProductRepository products,
+			BigDecimal base) {
+		var event = hook.start();
+		BigDecimal d = null;
+		try {
+			d = (ctx != null && p instanceof ContextualDiscountPolicy c)
+					? c.discount(ctx, base)
+					: p.discount(req, products, base);
+			return d;
+		} finally {
+			event.finish(p, base, d);
+		}
+	}
 }
@@ -0,0 +1,24 @@
+package com.example.order.domain.service;
+
+import java.math.BigDecimal;
+
+import com.example.order.domain.policy.DiscountPolicy;
+
+/**
+ * DiscountPolicy 1件の評価を観測するフック。ドメインは計測手段を知らず、app 層が DiscountEngine.installHook で差し込む。
+ * 観測しないときは共有の Evaluation を返し、評価ごとに割り当てない。
+ */
+public interface DiscountEvaluationHook {
+	DiscountEvaluationHook NONE = () -> Evaluation.NONE;
+
+	// 評価の直前に呼ぶ。戻り値の finish は評価後（失敗時も）に必ず呼ぶ
+	Evaluation start();
+
+	interface Evaluation {
+		Evaluation NONE = (policy, base, discount) -> {
+		};
+
+		// discount は評価が失敗したとき null
+		void finish(DiscountPolicy policy, BigDecimal base, BigDecimal discount);
+	}
+}
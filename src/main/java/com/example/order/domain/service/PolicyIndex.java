@@ -0,0 +1,190 @@
+package com.example.order.domain.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.order.domain.policy.Applicability;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+
+/**
+ * ポリシー列の適用必要条件（Applicability）に対する索引。
+ * 注文ごとに候補ポリシーだけをビット集合で返し、DiscountEngine は候補を元の順序で評価する。
+ * 候補外のポリシーは 0 を返すはずのものなので、順序適用（ADR-004）と Cap 差し戻しの結果は変わらない。
+ * 構築後は不変。
+ */
+public final class PolicyIndex {
+	private final List<DiscountPolicy> policies;
+	private final Applicability[] hints;
+	private final int words;
+	private final long[] unconstrained; // 地域・商品の指定なし
+	private final Map<String, long[]> byRegion; // 地域指定あり（商品指定の有無を問わない）
+	private final Map<String, long[]> byProduct; // 商品指定のみ
+	private final long[] productCheck; // 地域・商品の両方を指定（地域で拾ってから商品を確認）
+	private final Thresholds<BigDecimal> minSubtotal;
+	private final Thresholds<Integer> minLineQty;
+	private final Thresholds<Integer> minTotalQty;
+
+	private PolicyIndex(List<DiscountPolicy> policies) {
+		this.policies = policies;
+		int n = policies.size();
+		this.words = Math.max(1, (n + 63) >>> 6);
+		this.hints = new Applicability[n];
+		this.unconstrained = new long[words];
+		this.productCheck = new long[words];
+		this.byRegion = new HashMap<>();
+		this.byProduct = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			Applicability a = policies.get(i).applicability();
+			hints[i] = a;
+			if (!a.regions().isEmpty()) {
+				for (String region : a.regions())
+					set(byRegion.computeIfAbsent(region, k -> new long[words]), i);
+				if (!a.productIds().isEmpty())
+					set(productCheck, i);
+			} else if (!a.productIds().isEmpty()) {
+				for (String productId : a.productIds())
+					set(byProduct.computeIfAbsent(productId, k -> new long[words]), i);
+			} else {
+				set(unconstrained, i);
+			}
+		}
+		this.minSubtotal = new Thresholds<>(hints, words, Applicability::minSubtotal);
+		this.minLineQty = new Thresholds<>(hints, words, a -> a.minLineQty() > 0 ? a.minLineQty() : null);
+		this.minTotalQty = new Thresholds<>(hints, words, a -> a.minTotalQty() > 0 ? a.minTotalQty() : null);
+	}
+
+	public static PolicyIndex of(List<? extends DiscountPolicy> policies) {
+		return new PolicyIndex(List.copyOf(policies)); // ADR-009
+	}
+
+	public List<DiscountPolicy> policies() {
+		return policies;
+	}
+
+	public int size() {
+		return policies.size();
+	}
+
+	// 候補ポリシーの位置（policies のインデックス）をビットで返す
+	public long[] candidates(OrderContext ctx) {
+		long[] c = unconstrained.clone();
+		long[] region = byRegion.get(ctx.region());
+		if (region != null)
+			or(c, region);
+		if (!byProduct.isEmpty()) {
+			for (int i = 0; i < ctx.lineCount(); i++) {
+				long[] product = byProduct.get(ctx.line(i).productId());
+				if (product != null)
+					or(c, product);
+			}
+		}
+		and(c, minSubtotal.reachable(ctx.subtotal()));
+		and(c, minLineQty.reachable(maxLineQty(ctx)));
+		and(c, minTotalQty.reachable(ctx.totalQty()));
+		for (int w = 0; w < words; w++) {
+			long pending = c[w] & productCheck[w];
+			while (pending != 0) {
+				int bit = Long.numberOfTrailingZeros(pending);
+				pending &= pending - 1;
+				if (!containsAnyProduct(ctx, hints[(w << 6) + bit]))
+					c[w] &= ~(1L << bit);
+			}
+		}
+		return c;
+	}
+
+	// 次の候補位置（無ければ -1）
+	public static int nextCandidate(long[] candidates, int from) {
+		int w = from >>> 6;
+		if (w >= candidates.length)
+			return -1;
+		long word = candidates[w] & (-1L << (from & 63));
+		while (true) {
+			if (word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if (++w == candidates.length)
+				return -1;
+			word = candidates[w];
+		}
+	}
+
+	private static int maxLineQty(OrderContext ctx) {
+		int max = 0;
+		for (int i = 0; i < ctx.lineCount(); i++)
+			max = Math.max(max, ctx.line(i).qty());
+		return max;
+	}
+
+	private static boolean containsAnyProduct(OrderContext ctx, Applicability a) {
+		for (int i = 0; i < ctx.lineCount(); i++) {
+			if (a.productIds().contains(ctx.line(i).productId()))
+				return true;
+		}
+		return false;
+	}
+
+	private static void set(long[] bits, int i) {
+		bits[i >>> 6] |= 1L << i;
+	}
+
+	private static void or(long[] target, long[] src) {
+		for (int w = 0; w < target.length; w++)
+			target[w] |= src[w];
+	}
+
+	private static void and(long[] target, long[] src) {
+		for (int w = 0; w < target.length; w++)
+			target[w] &= src[w];
+	}
+
+	/*
+	 * 下限しきい値の索引。しきい値昇順に並べ、reachable[k] = 「しきい値なし」∪「小さい方から k 件」。
+	 * 注文の値 x に対して x 以下のしきい値の件数 k を二分探索し、reachable[k] を返す。
+	 */
+	private static final class Thresholds<T extends Comparable<T>> {
+		private final List<T> sorted;
+		private final long[][] reachable;
+
+		Thresholds(Applicability[] hints, int words, Function<Applicability, T> key) {
+			List<Integer> constrained = new ArrayList<>();
+			long[] none = new long[words];
+			for (int i = 0; i < hints.length; i++) {
+				if (key.apply(hints[i]) == null)
+					none[i >>> 6] |= 1L << i;
+				else
+					constrained.add(i);
+			}
+			constrained.sort(Comparator.comparing(i -> key.apply(hints[i])));
+			this.sorted = new ArrayList<>(constrained.size());
+			this.reachable = new long[constrained.size() + 1][];
+			reachable[0] = none;
+			for (int k = 0; k < constrained.size(); k++) {
+				int policy = constrained.get(k);
+				sorted.add(key.apply(hints[policy]));
+				long[] next = Arrays.copyOf(reachable[k], words);
+				next[policy >>> 6] |= 1L << policy;
+				reachable[k + 1] = next;
+			}
+		}
+
+		long[] reachable(T value) {
+			int lo = 0;
+			int hi = sorted.size();
+			while (lo < hi) { // value 以下のしきい値の件数
+				int mid = (lo + hi) >>> 1;
+				if (sorted.get(mid).compareTo(value) <= 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			return reachable[lo];
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.example.order.domain.validation;
 
 import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.ProductIdFilter;
 
 public class RequestValidator {
 	private RequestValidator() {
@@ -13,9 +14,23 @@ public class RequestValidator {
 			throw new IllegalArgumentException("region must not be blank");
 		if (req.lines() == null || req.lines().isEmpty())
 			throw new IllegalArgumentException("order lines must not be empty");
-		for (var line : req.lines()) {
-			if (line.qty() <= 0)
+		var lines = req.lines();
+		for (int i = 0; i < lines.size(); i++) {
+			if (lines.get(i).qty() <= 0)
 				throw new IllegalArgumentException("qty must be > 0");
 		}
 	}
+
+	// 上に加え、カタログに確実に無い商品IDを Port 呼び出し前に弾く（メッセージは findById 時と同じ、ADR-003）
+	public static void validate(OrderRequest req, ProductIdFilter knownProducts) {
+		validate(req);
+		if (knownProducts == ProductIdFilter.ALL)
+			return;
+		var lines = req.lines();
+		for (int i = 0; i < lines.size(); i++) {
+			String id = lines.get(i).productId();
+			if (!knownProducts.mightContain(id))
+				throw new IllegalArgumentException("product not found: " + id);
+		}
+	}
 }
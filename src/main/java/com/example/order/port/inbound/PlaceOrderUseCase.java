@@ -1,12 +1,19 @@
 package com.example.order.port.inbound;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.example.order.app.OrderService;
 import com.example.order.app.dto.OrderRequest;
 import com.example.order.app.dto.OrderResult;
+import com.example.order.app.dto.PlacedOrder;
+import com.example.order.app.jfr.PortCallEvent;
+import com.example.order.app.tracing.Span;
+import com.example.order.app.tracing.Tracer;
 import com.example.order.domain.model.OrderLinePersistence;
 import com.example.order.domain.model.OrderPersistenceModel;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.OrderEventPublisher;
 import com.example.order.port.outbound.ProductRepository;
 import com.example.order.port.outbound.SaveOrderPort;
 
@@ -14,21 +21,63 @@ public class PlaceOrderUseCase {
 	private final OrderService orderService;
 	private final ProductRepository products;
 	private final SaveOrderPort savePort;
+	private final Tracer tracer;
+	private final OrderEventPublisher events;
 
 	public PlaceOrderUseCase(OrderService orderService, ProductRepository products, SaveOrderPort savePort) {
+		this(orderService, products, savePort, Tracer.NOOP);
+	}
+
+	// トレース有効化用（1注文 = 1トレース、OrderService の各段階は子スパン）
+	public PlaceOrderUseCase(OrderService orderService, ProductRepository products, SaveOrderPort savePort,
+			Tracer tracer) {
+		this(orderService, products, savePort, tracer, OrderEventPublisher.NONE);
+	}
+
+	// 保存に成功した注文を events へ通知する（下流はDBをポーリングせずに受け取れる）
+	public PlaceOrderUseCase(OrderService orderService, ProductRepository products, SaveOrderPort savePort,
+			Tracer tracer, OrderEventPublisher events) {
 		this.orderService = orderService;
 		this.products = products;
 		this.savePort = savePort;
+		this.tracer = tracer;
+		this.events = events;
 	}
 
 	public String execute(OrderRequest req) {
+		return placeOrder(req).orderId();
+	}
+
+	// execute と同じ処理で、保存した注文IDに加えて価格計算結果も返す（HTTP 応答など）
+	public PlacedOrder placeOrder(OrderRequest req) {
+		try (Span span = tracer.root("order.execute")) {
+			try {
+				if (req != null && req.lines() != null)
+					span.attr("region", req.region()).attr("lineCount", req.lines().size());
+				PlacedOrder placed = place(req);
+				span.attr("orderId", placed.orderId());
+				return placed;
+			} catch (RuntimeException e) {
+				span.error(e); // 失敗した注文は末尾サンプリングで必ず残す
+				throw e;
+			}
+		}
+	}
+
+	private PlacedOrder place(OrderRequest req) {
 		// 計算（副作用はOrderServiceに準拠。在庫予約・税は既にOrderServiceが面倒みてる現状でOK）
 		OrderResult result = orderService.placeOrder(req);
 
 		// 保存用マッピング（単価はProductRepositoryから引いて行を復元）
 		List<OrderLinePersistence> lines = req.lines().stream().map(l -> {
-			var p = products.findById(l.productId())
-					.orElseThrow(() -> new IllegalArgumentException("product not found: " + l.productId()));
+			var call = PortCallEvent.start();
+			Optional<Product> found;
+			try {
+				found = products.findById(l.productId());
+			} finally {
+				call.finish("ProductRepository", "findById", l.productId());
+			}
+			var p = found.orElseThrow(() -> new IllegalArgumentException("product not found: " + l.productId()));
 			return new OrderLinePersistence(p.id(), l.qty(), p.price());
 		}).toList();
 
@@ -40,7 +89,15 @@ public class PlaceOrderUseCase {
 				result.totalTax(),
 				result.totalGross(),
 				result.appliedDiscounts());
-		return savePort.save(model);
+		var call = PortCallEvent.start();
+		String id;
+		try {
+			id = Tracer.inSpan("order.save", () -> savePort.save(model));
+		} finally {
+			call.finish("SaveOrderPort", "save", null);
+		}
+		events.orderPlaced(id, model);
+		return new PlacedOrder(id, result);
 	}
 
 }
@@ -0,0 +1,14 @@
+package com.example.order.port.outbound;
+
+import java.util.List;
+
+import com.example.order.app.dto.OrderRequest;
+
+/**
+ * 注文全体を1操作で確保できる在庫ポート（ADR-012）。
+ * 実装していれば OrderService は行ごとの reserve の代わりにこちらを使う。
+ */
+public interface AtomicInventoryService extends InventoryService {
+	// 全行を確保できたときだけ確保する。1行でも不足なら何も確保せず IllegalStateException
+	void reserveAll(List<OrderRequest.Line> lines);
+}
@@ -0,0 +1,14 @@
+package com.example.order.port.outbound;
+
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * 保存に成功した注文の通知先（出荷・分析などの下流向け）。
+ * 保存済みの注文を失敗にしないため、実装は例外を投げず、注文スレッドを長く止めないこと。
+ */
+public interface OrderEventPublisher {
+	OrderEventPublisher NONE = (orderId, order) -> {
+	};
+
+	void orderPlaced(String orderId, OrderPersistenceModel order);
+}
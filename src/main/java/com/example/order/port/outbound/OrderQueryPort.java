@@ -0,0 +1,21 @@
+package com.example.order.port.outbound;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+/**
+ * 保存済み注文の参照（カスタマーサービス向け）。
+ * 一覧系は新しい順に最大 limit 件の注文IDを返す。該当が無ければ空リスト。
+ */
+public interface OrderQueryPort {
+	Optional<OrderPersistenceModel> findById(String orderId);
+
+	List<String> findByRegion(String region, int limit);
+
+	List<String> findByProduct(String productId, int limit);
+
+	List<String> findByDiscount(DiscountType type, int limit);
+}
@@ -0,0 +1,12 @@
+package com.example.order.port.outbound;
+
+/**
+ * 商品IDの事前判定（在庫・商品 Port を呼ぶ前に、確実に存在しないIDを弾く）。
+ * false は「カタログに無い」と確定してよいときだけ返す。true は「あるかもしれない」。
+ */
+@FunctionalInterface
+public interface ProductIdFilter {
+	ProductIdFilter ALL = productId -> true;
+
+	boolean mightContain(String productId);
+}
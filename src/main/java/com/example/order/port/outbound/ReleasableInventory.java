@@ -0,0 +1,9 @@
+package com.example.order.port.outbound;
+
+/**
+ * 確保済みの在庫を戻せる在庫ポート（期限付き確保の自動解放用）。
+ */
+public interface ReleasableInventory extends AtomicInventoryService {
+	// 確保の取り消し。未登録の商品は IllegalStateException
+	void release(String productId, int qty);
+}
@@ -0,0 +1,11 @@
+package com.example.order.port.outbound;
+
+import java.util.Map;
+
+/**
+ * 在庫数量の一括取得（可用性キャッシュの更新元）。
+ */
+public interface StockLevels {
+	// 商品ID → 確保済みを差し引いた現在庫
+	Map<String, Long> snapshot();
+}
@@ -0,0 +1,225 @@
+package com.example.order.adapter.inbound.http;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.admission.AdmissionRejectedException;
+import com.example.order.app.admission.Priority;
+import com.example.order.domain.model.Product;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+class OrderHttpServerTest {
+	private static final String ORDER = "{\"region\":\"JP\",\"lines\":[{\"productId\":\"P001\",\"qty\":2}]}";
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private volatile boolean blockTax;
+	private volatile boolean ready = true;
+	private final AtomicInteger saved = new AtomicInteger();
+	private final HttpClient client = HttpClient.newHttpClient();
+	private OrderHttpServer server;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		release.countDown();
+		if (server != null)
+			server.stop(Duration.ofSeconds(1));
+	}
+
+	@Test
+	@DisplayName("POST /orders は OrderResult を JSON で返し、入力エラーは 400、在庫不足は 409")
+	void places_order_and_maps_errors() throws Exception {
+		start(4);
+
+		var ok = post(ORDER);
+		assertThat(ok.statusCode()).isEqualTo(200);
+		var result = OrderJson.readResult(new StringReader(ok.body()));
+		assertThat(result.totalNetBeforeDiscount()).isEqualByComparingTo("200");
+		assertThat(result.totalGross()).isEqualByComparingTo("220");
+		assertThat(ok.headers().firstValue("Location")).contains("/orders/ORD-1"); // PlaceOrderUseCase で保存済み
+		assertThat(saved.get()).isEqualTo(1);
+
+		assertThat(post("{\"region\":\"JP\",\"lines\":[]}").statusCode()).isEqualTo(400);
+		assertThat(post("{").body()).contains("malformed json");
+		var noStock = post("{\"region\":\"JP\",\"lines\":[{\"productId\":\"P404\",\"qty\":1}]}");
+		assertThat(noStock.statusCode()).isEqualTo(409);
+		assertThat(noStock.body()).isEqualTo("{\"error\":\"no stock for product P404\"}");
+		assertThat(saved.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("受付制御の拒否は 503 + Retry-After、想定外の例外は 500")
+	void maps_admission_rejection_and_unexpected_errors() throws Exception {
+		server = new OrderHttpServer(req -> {
+			if (req.region().equals("JP"))
+				throw new AdmissionRejectedException(Priority.BATCH, "queue full");
+			throw new UnsupportedOperationException("boom");
+		}, 4, () -> true);
+		server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+		var rejected = post(ORDER);
+		assertThat(rejected.statusCode()).isEqualTo(503);
+		assertThat(rejected.headers().firstValue("Retry-After")).contains("1");
+		var failed = post(ORDER.replace("JP", "US"));
+		assertThat(failed.statusCode()).isEqualTo(500);
+		assertThat(failed.body()).isEqualTo("{\"error\":\"internal error\"}");
+	}
+
+	@Test
+	@DisplayName("本文が maxBodyBytes を超える注文は読み切らずに 413 を返す")
+	void rejects_oversized_body() throws Exception {
+		var calls = new AtomicInteger();
+		server = new OrderHttpServer(req -> {
+			calls.incrementAndGet();
+			throw new IllegalStateException("no stock for product P001");
+		}, 4, () -> true, 128);
+		server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+		assertThat(post(ORDER).statusCode()).isEqualTo(409);
+		var tooLarge = post(ORDER.replace("\"JP\"", "\"" + "J".repeat(200) + "\""));
+		assertThat(tooLarge.statusCode()).isEqualTo(413);
+		assertThat(tooLarge.body()).isEqualTo("{\"error\":\"request body too large\"}");
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("GET /ready は readiness が true になるまで 503、その後 200")
+	void ready_reflects_readiness() throws Exception {
+		ready = false;
+		start(4);
+
+		var warming = client.send(readyRequest(), HttpResponse.BodyHandlers.ofString());
+		assertThat(warming.statusCode()).isEqualTo(503);
+		assertThat(warming.body()).isEqualTo("{\"error\":\"not ready\"}");
+
+		ready = true;
+		var ok = client.send(readyRequest(), HttpResponse.BodyHandlers.ofString());
+		assertThat(ok.statusCode()).isEqualTo(200);
+		assertThat(ok.body()).isEqualTo("{\"status\":\"ready\"}");
+	}
+
+	@Test
+	@DisplayName("同時処理数の上限を超えたリクエストは待たせずに 503 を返す")
+	void rejects_beyond_in_flight_limit() throws Exception {
+		start(1);
+		blockTax = true;
+		var first = postAsync(ORDER);
+		awaitInFlight(1);
+
+		var rejected = post(ORDER);
+		assertThat(rejected.statusCode()).isEqualTo(503);
+		assertThat(rejected.headers().firstValue("Retry-After")).contains("1");
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+	}
+
+	@Test
+	@DisplayName("stop は処理中のリクエストを完了させ、その間の新規リクエストは 503")
+	void stop_drains_in_flight_requests() throws Exception {
+		start(4);
+		blockTax = true;
+		var first = postAsync(ORDER);
+		awaitInFlight(1);
+
+		var stopped = CompletableFuture.supplyAsync(() -> {
+			try {
+				return server.stop(Duration.ofSeconds(5));
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Thread.sleep(100);
+		assertThat(post(ORDER).statusCode()).isEqualTo(503);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+		assertThat(stopped.get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void start(int maxInFlight) throws Exception {
+		Map<String, Product> catalog = Map.of("P001", new Product("P001", "A", new BigDecimal("100")),
+				"P404", new Product("P404", "B", new BigDecimal("100")));
+		ProductRepository products = id -> Optional.ofNullable(catalog.get(id));
+		InventoryService inventory = new InventoryService() {
+			@Override
+			public void reserve(String productId, int qty) {
+			}
+
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return !productId.equals("P404");
+			}
+		};
+		TaxCalculator tax = new TaxCalculator() {
+			@Override
+			public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+				if (blockTax) {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return net.multiply(new BigDecimal("0.10"));
+			}
+
+			@Override
+			public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+				return net.multiply(new BigDecimal("1.10"));
+			}
+		};
+		var useCase = new PlaceOrderUseCase(new OrderService(products, inventory, tax), products,
+				order -> "ORD-" + saved.incrementAndGet());
+		server = new OrderHttpServer(useCase::placeOrder, maxInFlight, () -> ready);
+		server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+	}
+
+	private void awaitInFlight(int n) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (server.inFlight() < n && System.nanoTime() < deadline)
+			Thread.sleep(5);
+		assertThat(server.inFlight()).isEqualTo(n);
+	}
+
+	private HttpResponse<String> post(String body) throws Exception {
+		return client.send(request(body), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private CompletableFuture<HttpResponse<String>> postAsync(String body) {
+		return client.sendAsync(request(body), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest request(String body) {
+		return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + OrderHttpServer.PATH))
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+	}
+
+	private HttpRequest readyRequest() {
+		return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + OrderHttpServer.READY_PATH))
+				.GET().build();
+	}
+}
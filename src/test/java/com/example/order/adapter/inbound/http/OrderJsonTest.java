@@ -0,0 +1,70 @@
+package com.example.order.adapter.inbound.http;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+
+class OrderJsonTest {
+
+	@Test
+	@DisplayName("OrderRequest を読み、未知フィールドとエスケープを扱える")
+	void reads_request_skipping_unknown_fields() throws IOException {
+		String json = """
+				{ "region": "JP", "extra": {"a": [1, true, null]},
+				  "mode": "HALF_DOWN",
+				  "lines": [ {"productId": "P\\u0030\\"1", "qty": 2}, {"qty": 3, "productId": "P002"} ] }
+				""";
+
+		var req = OrderJson.readRequest(new StringReader(json));
+
+		assertThat(req).isEqualTo(new OrderRequest("JP", RoundingMode.HALF_DOWN, List.of(
+				new OrderRequest.Line("P0\"1", 2), new OrderRequest.Line("P002", 3))));
+	}
+
+	@Test
+	@DisplayName("書いた OrderRequest / OrderResult を読み戻すと同値になる")
+	void round_trips_request_and_result() throws IOException {
+		var req = new OrderRequest("J\\P\n", null, List.of(new OrderRequest.Line("P001", 10)));
+		var result = new OrderResult(new BigDecimal("100000.00"), new BigDecimal("3000.00"),
+				new BigDecimal("97000.00"), new BigDecimal("9700.00"), new BigDecimal("1E+5"),
+				List.of(DiscountType.VOLUME, DiscountType.CAP));
+
+		var reqJson = new StringBuilder();
+		OrderJson.writeRequest(req, reqJson);
+		var resultJson = new StringBuilder();
+		OrderJson.writeResult(result, resultJson);
+
+		assertThat(OrderJson.readRequest(new StringReader(reqJson.toString()))).isEqualTo(req);
+		assertThat(resultJson.toString()).contains("\"totalGross\":100000,").contains("\"appliedLabels\":[\"VOLUME\",\"CAP\"]");
+		var back = OrderJson.readResult(new StringReader(resultJson.toString()));
+		assertThat(back.totalNetAfterDiscount()).isEqualTo(result.totalNetAfterDiscount());
+		assertThat(back.totalGross()).isEqualByComparingTo(result.totalGross());
+		assertThat(back.appliedDiscounts()).isEqualTo(result.appliedDiscounts());
+	}
+
+	@Test
+	@DisplayName("壊れた JSON や不正な値は IllegalArgumentException")
+	void rejects_malformed_input() {
+		assertThatThrownBy(() -> OrderJson.readRequest(new StringReader("{\"region\":\"JP\"")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("malformed json");
+		assertThatThrownBy(() -> OrderJson.readRequest(new StringReader("{\"region\":\"JP\"} x")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("trailing content");
+		assertThatThrownBy(() -> OrderJson.readRequest(new StringReader("{\"lines\":[{\"productId\":\"P1\",\"qty\":1.5}]}")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("integer expected");
+		assertThatThrownBy(() -> OrderJson.readRequest(new StringReader("{\"mode\":\"UP\"}")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("unsupported mode: UP");
+		assertThatThrownBy(() -> OrderJson.readRequest(new StringReader("{\"lines\":[{\"qty\":1}]}")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("productId must not be blank");
+	}
+}
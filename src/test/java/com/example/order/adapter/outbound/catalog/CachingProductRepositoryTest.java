@@ -0,0 +1,78 @@
+package com.example.order.adapter.outbound.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.ProductRepository;
+
+class CachingProductRepositoryTest {
+
+	@TempDir
+	Path dir;
+
+	private long now;
+
+	@Test
+	@DisplayName("ttl を過ぎたエントリは backend から読み直し、価格改定が反映される")
+	void expires_entries_after_ttl() {
+		Map<String, Product> catalog = new HashMap<>(Map.of("P001", product("100")));
+		var calls = new AtomicInteger();
+		ProductRepository backend = id -> {
+			calls.incrementAndGet();
+			return Optional.ofNullable(catalog.get(id));
+		};
+		var cache = new CachingProductRepository(backend, 10, Duration.ofSeconds(30), () -> now);
+
+		assertThat(cache.findById("P001").orElseThrow().price()).isEqualByComparingTo("100");
+		catalog.put("P001", product("120"));
+		now += Duration.ofSeconds(29).toNanos();
+		assertThat(cache.findById("P001").orElseThrow().price()).isEqualByComparingTo("100");
+		assertThat(calls).hasValue(1);
+
+		now += Duration.ofSeconds(1).toNanos();
+		assertThat(cache.findById("P001").orElseThrow().price()).isEqualByComparingTo("120");
+		assertThat(calls).hasValue(2);
+		assertThat(cache.findById(null)).isEmpty();
+		assertThatThrownBy(() -> new CachingProductRepository(backend, 10, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("ttl must be > 0");
+	}
+
+	@Test
+	@DisplayName("カタログを差し替えると読み込み済みの商品も新世代の価格になる")
+	void catalog_swap_invalidates_cache() throws IOException {
+		Path v1 = dir.resolve("v1.bin");
+		Path v2 = dir.resolve("v2.bin");
+		CatalogFileBuilder.build(new StringReader("P001,Apple,100\n"), v1);
+		CatalogFileBuilder.build(new StringReader("P001,Apple,110\n"), v2);
+		var catalog = new MappedProductRepository(v1);
+		var cache = new CachingProductRepository(catalog, 10);
+		catalog.onSwap(cache::invalidateAll);
+
+		assertThat(cache.preload(List.of("P001", "P404"))).isEqualTo(1);
+		assertThat(cache.isCached("P001")).isTrue();
+
+		catalog.swap(v2);
+
+		assertThat(cache.isCached("P001")).isFalse();
+		assertThat(cache.findById("P001").orElseThrow().price()).isEqualByComparingTo("110");
+	}
+
+	private static Product product(String price) {
+		return new Product("P001", "Apple", new BigDecimal(price));
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.order.adapter.outbound.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KnownProductFilterTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("登録IDは必ず通し、未登録IDの誤通過率は目標値程度で、大きさと判定件数を報告する")
+	void has_no_false_negatives_and_target_false_positive_rate() {
+		List<String> known = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++)
+			known.add("SKU-%06d".formatted(i));
+		var sut = new KnownProductFilter(0.01);
+		sut.rebuild(known);
+
+		assertThat(known).allMatch(sut::mightContain);
+		int passed = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (sut.mightContain("BOT-" + i))
+				passed++;
+		}
+		double observed = (double) passed / probes;
+		assertThat(observed).isLessThan(0.02);
+		assertThat(sut.mightContain(null)).isFalse();
+
+		var m = sut.metrics();
+		assertThat(m.keys()).isEqualTo(100_000);
+		assertThat(m.hashes()).isEqualTo(7);
+		assertThat(m.bits()).isBetween(958_000L, 960_000L); // 約 9.6 bit/ID
+		assertThat(m.sizeBytes()).isEqualTo(m.bits() / 8);
+		assertThat(m.estimatedFalsePositiveRate()).isCloseTo(0.01, within(0.002));
+		assertThat(m.checked()).isEqualTo(200_001);
+		assertThat(m.rejected()).isEqualTo(probes - passed + 1);
+		assertThat(m.generation()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("構築前は全IDを通し、目標値は (0, 1) に限る")
+	void passes_everything_until_first_build() {
+		var sut = new KnownProductFilter(0.001);
+		assertThat(sut.mightContain("anything")).isTrue();
+		assertThat(sut.metrics().generation()).isZero();
+		assertThat(sut.metrics().checked()).isZero();
+		assertThatThrownBy(() -> new KnownProductFilter(1.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("falsePositiveRate must be in (0, 1)");
+	}
+
+	@Test
+	@DisplayName("カタログの差し替えでフィルタも新世代に作り直される")
+	void rebuilds_on_catalog_swap() throws IOException {
+		Path v1 = dir.resolve("v1.bin");
+		Path v2 = dir.resolve("v2.bin");
+		CatalogFileBuilder.build(new StringReader("P001,Apple,100\nP002,Banana,200\n"), v1);
+		CatalogFileBuilder.build(new StringReader("P002,Banana,210\nP003,Cherry,300\n"), v2);
+		var filter = new KnownProductFilter(0.0001);
+		var repo = new MappedProductRepository(v1, filter);
+
+		assertThat(filter.mightContain("P001")).isTrue();
+		assertThat(filter.mightContain("P003")).isFalse();
+
+		repo.swap(v2);
+		assertThat(filter.mightContain("P003")).isTrue();
+		assertThat(filter.mightContain("P001")).isFalse();
+		assertThat(filter.metrics().generation()).isEqualTo(2);
+		assertThat(filter.metrics().keys()).isEqualTo(2);
+	}
+}
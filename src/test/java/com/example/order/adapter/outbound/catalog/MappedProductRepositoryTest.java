@@ -0,0 +1,78 @@
+package com.example.order.adapter.outbound.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedProductRepositoryTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("CSVから生成したカタログをマップして検索できる")
+	void finds_products_built_from_csv() throws IOException {
+		Path file = dir.resolve("catalog.bin");
+		int count = CatalogFileBuilder.build(new StringReader("""
+				id,name,price
+				P003,Cherry,300
+				P001,Apple,123.456
+				P002,Banana, with comma,200
+				"""), file);
+
+		var repo = new MappedProductRepository(file);
+
+		assertThat(count).isEqualTo(3);
+		assertThat(repo.catalog().size()).isEqualTo(3);
+		var p1 = repo.findById("P001").orElseThrow();
+		assertThat(p1.name()).isEqualTo("Apple");
+		assertThat(p1.price()).isEqualByComparingTo("123.456");
+		assertThat(p1.price().scale()).isEqualTo(3);
+		assertThat(repo.findById("P002").orElseThrow().name()).isEqualTo("Banana, with comma");
+		assertThat(repo.findById("P003").orElseThrow().price()).isEqualByComparingTo("300");
+	}
+
+	@Test
+	@DisplayName("未登録IDは Optional.empty（ADR-003）")
+	void returns_empty_for_unknown_ids() throws IOException {
+		Path file = dir.resolve("catalog.bin");
+		CatalogFileBuilder.build(new StringReader("P0010,A,1\nP002,B,2\n"), file);
+		var repo = new MappedProductRepository(file);
+
+		assertThat(repo.findById("P001")).isEmpty(); // 前方一致は不一致
+		assertThat(repo.findById("P00100")).isEmpty(); // スロット幅超過
+		assertThat(repo.findById("")).isEmpty();
+		assertThat(repo.findById(null)).isEmpty();
+		assertThat(repo.findById("P0010")).isPresent();
+	}
+
+	@Test
+	@DisplayName("新世代のカタログへ原子的に差し替えられる")
+	void swaps_catalog_generation() throws IOException {
+		Path v1 = dir.resolve("v1.bin");
+		Path v2 = dir.resolve("v2.bin");
+		CatalogFileBuilder.build(new StringReader("P001,Apple,100\n"), v1);
+		CatalogFileBuilder.build(new StringReader("P001,Apple,110\nP002,Banana,200\n"), v2);
+		var repo = new MappedProductRepository(v1);
+
+		var previous = repo.swap(v2);
+
+		assertThat(previous.file()).isEqualTo(v1);
+		assertThat(repo.findById("P001").orElseThrow().price()).isEqualByComparingTo("110");
+		assertThat(repo.findById("P002")).isPresent();
+	}
+
+	@Test
+	void rejects_duplicate_ids() {
+		assertThatThrownBy(() -> CatalogFileBuilder.build(new StringReader("P001,A,1\nP001,B,2\n"),
+				dir.resolve("dup.bin")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("duplicate product id: P001");
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.order.adapter.outbound.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.domain.model.OrderPersistenceModel;
+
+class OrderEventRingTest {
+	private static final OrderPersistenceModel ORDER = new OrderPersistenceModel("JP", List.of(),
+			BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("11"), List.of());
+
+	@Test
+	@DisplayName("消費者ごとに独立したカーソルで全イベントを順に受け取り、maxBatch 件ずつ endOfBatch が立つ")
+	void consumers_read_independently_in_batches() {
+		var sut = new OrderEventRing(8, WaitStrategy.busySpin(), OverflowPolicy.DROP);
+		List<String> fast = new ArrayList<>();
+		List<String> batched = new ArrayList<>();
+		var a = sut.addConsumer("fast", (e, seq, end) -> fast.add(e.orderId()), 100);
+		var b = sut.addConsumer("batched", (e, seq, end) -> batched.add(seq + ":" + e.orderId() + (end ? "|" : "")), 2);
+
+		for (int i = 1; i <= 5; i++)
+			assertThat(sut.publish("ORD-" + i, ORDER)).isTrue();
+
+		assertThat(a.poll()).isEqualTo(5);
+		assertThat(a.poll()).isZero();
+		assertThat(fast).containsExactly("ORD-1", "ORD-2", "ORD-3", "ORD-4", "ORD-5");
+		assertThat(b.lag()).isEqualTo(5);
+		assertThat(b.poll() + b.poll() + b.poll()).isEqualTo(5);
+		assertThat(batched).containsExactly("0:ORD-1", "1:ORD-2|", "2:ORD-3", "3:ORD-4|", "4:ORD-5|");
+		assertThat(sut.published()).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("DROP は最遅の消費者が1周遅れると捨てて数え、消費が進めばまた発行できる")
+	void drop_policy_counts_overflow() throws Exception {
+		var sut = new OrderEventRing(4, WaitStrategy.busySpin(), OverflowPolicy.DROP);
+		var slow = sut.addConsumer("slow", (e, seq, end) -> {
+		}, 10);
+
+		for (int i = 0; i < 4; i++)
+			assertThat(sut.publish("ORD-" + i, ORDER)).isTrue();
+		assertThat(sut.publish("ORD-4", ORDER)).isFalse();
+		assertThat(sut.dropped()).isEqualTo(1);
+
+		assertThat(slow.poll()).isEqualTo(4);
+		assertThat(sut.publish("ORD-5", ORDER)).isTrue();
+
+		slow.close(); // 待ち対象から外れると、読まれなくても発行できる
+		for (int i = 0; i < 8; i++)
+			assertThat(sut.publish("X", ORDER)).isTrue();
+		assertThat(sut.dropped()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("BLOCK は複数スレッドから発行しても取りこぼさず、発行スレッドごとの順序を保つ")
+	void block_policy_applies_back_pressure_without_loss() throws Exception {
+		for (WaitStrategy wait : List.of(WaitStrategy.blocking(), WaitStrategy.sleeping(100_000),
+				WaitStrategy.yielding())) {
+			var sut = new OrderEventRing(8, wait, OverflowPolicy.BLOCK);
+			List<String> received = new CopyOnWriteArrayList<>();
+			var consumer = sut.addConsumer("all", (e, seq, end) -> received.add(e.orderId()), 4).start();
+			ExecutorService producers = Executors.newFixedThreadPool(2);
+			try {
+				List<Future<?>> done = new ArrayList<>();
+				for (String p : List.of("A", "B")) {
+					done.add(producers.submit(() -> {
+						for (int i = 0; i < 500; i++)
+							sut.publish(p + "-" + i, ORDER);
+					}));
+				}
+				for (Future<?> f : done)
+					f.get(10, TimeUnit.SECONDS);
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while (received.size() < 1_000 && System.nanoTime() < deadline)
+					Thread.sleep(5);
+			} finally {
+				producers.shutdownNow();
+				consumer.close();
+			}
+
+			assertThat(received).hasSize(1_000).doesNotHaveDuplicates();
+			for (String p : List.of("A", "B")) {
+				assertThat(received.stream().filter(id -> id.startsWith(p + "-")).map(id -> id.substring(2))
+						.mapToInt(Integer::parseInt).toArray()).isSorted();
+			}
+			assertThat(sut.dropped()).isZero();
+		}
+	}
+
+	@Test
+	@DisplayName("BLOCK でも blockTimeout を過ぎたら捨てて数え、Error で止まった消費者は待ち対象から外れる")
+	void block_wait_is_bounded_and_dead_consumer_stops_gating() throws Exception {
+		var bounded = new OrderEventRing(4, WaitStrategy.busySpin(), OverflowPolicy.BLOCK, Duration.ofMillis(20));
+		bounded.addConsumer("stalled", (e, seq, end) -> {
+		}, 10);
+		for (int i = 0; i < 4; i++)
+			assertThat(bounded.publish("ORD-" + i, ORDER)).isTrue();
+		assertThat(bounded.publish("ORD-4", ORDER)).isFalse();
+		assertThat(bounded.dropped()).isEqualTo(1);
+
+		var sut = new OrderEventRing(4, WaitStrategy.blocking(), OverflowPolicy.BLOCK);
+		var dead = sut.addConsumer("dead", (e, seq, end) -> {
+			throw new AssertionError("handler bug");
+		}, 10);
+		dead.start();
+		for (int i = 0; i < 12; i++)
+			assertThat(sut.publish("ORD-" + i, ORDER)).isTrue(); // 消費者のスレッドが止まると待たずに発行できる
+		assertThat(sut.dropped()).isZero();
+		dead.close();
+
+		assertThatThrownBy(() -> new OrderEventRing(4, WaitStrategy.busySpin(), OverflowPolicy.BLOCK, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("blockTimeout must be > 0");
+	}
+
+	@Test
+	@DisplayName("ハンドラの例外は数えて次へ進み、容量は2のべき乗に限る")
+	void handler_failures_are_counted() {
+		var sut = new OrderEventRing(4, WaitStrategy.busySpin(), OverflowPolicy.DROP);
+		List<String> ok = new ArrayList<>();
+		var consumer = sut.addConsumer("flaky", (e, seq, end) -> {
+			if (seq == 0)
+				throw new IllegalStateException("boom");
+			ok.add(e.orderId());
+		}, 10);
+		sut.publish("ORD-1", ORDER);
+		sut.publish("ORD-2", ORDER);
+
+		assertThat(consumer.poll()).isEqualTo(2);
+		assertThat(consumer.failures()).isEqualTo(1);
+		assertThat(ok).containsExactly("ORD-2");
+		assertThat(consumer.position()).isEqualTo(1);
+
+		assertThatThrownBy(() -> new OrderEventRing(6, WaitStrategy.busySpin(), OverflowPolicy.DROP))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("capacity must be a power of two");
+		assertThatThrownBy(() -> sut.addConsumer("x", (e, seq, end) -> {
+		}, 0)).isInstanceOf(IllegalArgumentException.class).hasMessage("maxBatch must be > 0");
+	}
+}
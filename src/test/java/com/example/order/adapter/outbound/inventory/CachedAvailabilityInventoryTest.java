@@ -0,0 +1,159 @@
+package com.example.order.adapter.outbound.inventory;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.AtomicInventoryService;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.StockLevels;
+import com.example.order.port.outbound.TaxCalculator;
+
+@ExtendWith(MockitoExtension.class)
+class CachedAvailabilityInventoryTest {
+	@Mock
+	InventoryService backend;
+	@Mock
+	StockLevels levels;
+
+	final AtomicLong now = new AtomicLong();
+	CachedAvailabilityInventory sut;
+
+	@BeforeEach
+	void setUp() {
+		sut = CachedAvailabilityInventory.of(backend, levels, 10, Duration.ofSeconds(5), now::get);
+		when(levels.snapshot()).thenReturn(Map.of("DEEP", 1_000L, "LOW", 12L));
+		sut.refresh();
+	}
+
+	@Test
+	@DisplayName("安全余裕を十分に上回る商品はローカルで可用と答え、下流へ問い合わせない")
+	void answers_locally_when_well_above_margin() {
+		assertThat(sut.checkAvailable("DEEP", 5)).isTrue();
+		assertThat(sut.checkAvailable("LOW", 2)).isTrue(); // 12 - 2 = 10 ≧ 余裕 10
+
+		verifyNoInteractions(backend);
+		assertThat(sut.localHits()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("しきい値付近・未知の商品・古いスナップショットは下流へ問い合わせる")
+	void delegates_near_threshold_unknown_or_stale() {
+		when(backend.checkAvailable(anyString(), anyInt())).thenReturn(false);
+
+		assertThat(sut.checkAvailable("LOW", 3)).isFalse();
+		assertThat(sut.checkAvailable("NEW", 1)).isFalse();
+		now.addAndGet(Duration.ofSeconds(6).toNanos());
+		assertThat(sut.checkAvailable("DEEP", 1)).isFalse();
+
+		verify(backend).checkAvailable("LOW", 3);
+		verify(backend).checkAvailable("NEW", 1);
+		verify(backend).checkAvailable("DEEP", 1);
+		assertThat(sut.backendChecks()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("reserve 成功でローカル残数を減らし、更新で実在庫に戻す")
+	void reserve_decrements_soft_counter_until_refresh() {
+		when(backend.checkAvailable("DEEP", 2)).thenReturn(true);
+
+		sut.reserve("DEEP", 989); // 残り 11
+		assertThat(sut.checkAvailable("DEEP", 1)).isTrue(); // 11 - 1 = 10 はローカル
+		assertThat(sut.checkAvailable("DEEP", 2)).isTrue(); // 9 < 10 は下流へ
+
+		verify(backend).reserve("DEEP", 989);
+		verify(backend).checkAvailable("DEEP", 2);
+
+		when(levels.snapshot()).thenReturn(Map.of("DEEP", 500L));
+		sut.refresh();
+		assertThat(sut.checkAvailable("DEEP", 2)).isTrue();
+		verifyNoMoreInteractions(backend);
+	}
+
+	@Test
+	@DisplayName("reserve が在庫不足で失敗した商品は更新まで下流判定に回す")
+	void failed_reserve_zeroes_local_counter() {
+		doThrow(new IllegalStateException("no stock for product DEEP")).when(backend).reserve("DEEP", 1);
+
+		assertThatThrownBy(() -> sut.reserve("DEEP", 1)).isInstanceOf(IllegalStateException.class);
+		sut.checkAvailable("DEEP", 1);
+
+		verify(backend).checkAvailable("DEEP", 1);
+	}
+
+	@Test
+	@DisplayName("更新の読み取り中に確保された分は新しいスナップショットからも引き、古さは読み取り前から数える")
+	void reserve_during_refresh_is_subtracted_from_new_snapshot() {
+		when(levels.snapshot()).thenAnswer(inv -> {
+			sut.reserve("LOW", 5); // 下流には反映済みだが、読み取り結果には含まれない
+			now.addAndGet(Duration.ofSeconds(2).toNanos());
+			return Map.of("LOW", 20L);
+		});
+		sut.refresh();
+		when(backend.checkAvailable(anyString(), anyInt())).thenReturn(false);
+
+		assertThat(sut.checkAvailable("LOW", 5)).isTrue(); // 20 - 5 - 5 = 10
+		assertThat(sut.checkAvailable("LOW", 6)).isFalse(); // 新しいスナップショットも過大評価しない
+		now.addAndGet(Duration.ofSeconds(4).toNanos()); // 読み取り開始から 6 秒
+		assertThat(sut.checkAvailable("LOW", 1)).isFalse();
+		assertThat(sut.backendChecks()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("一括確保に対応した在庫を包んでも OrderService は reserveAll で確保し、ローカル残数も減らす（ADR-012）")
+	void keeps_atomic_reservation_through_order_service() {
+		var inventory = new InMemoryInventory(1) {
+			@Override
+			public void reserve(String productId, int qty) {
+				throw new AssertionError("per-line reserve must not be used");
+			}
+		};
+		inventory.restock("P001", 30);
+		inventory.restock("P002", 30);
+		inventory.restock("P003", 30);
+		var cached = CachedAvailabilityInventory.of(inventory, inventory, 10, Duration.ofSeconds(5), now::get);
+		cached.refresh();
+		ProductRepository products = id -> Optional.of(new Product(id, id, new BigDecimal("100")));
+		TaxCalculator tax = mock(TaxCalculator.class);
+		lenient().when(tax.calcTaxAmount(any(), anyString(), any())).thenReturn(BigDecimal.ZERO);
+		lenient().when(tax.addTax(any(), anyString(), any())).thenAnswer(inv -> inv.getArgument(0));
+		var service = new OrderService(products, cached, tax);
+
+		inventory.reserveAll(List.of(new OrderRequest.Line("P001", 25))); // 他ノードの確保。キャッシュはまだ 30 と見ている
+
+		assertThatThrownBy(() -> service.placeOrder(order(new OrderRequest.Line("P002", 1),
+				new OrderRequest.Line("P001", 10)))).isInstanceOf(IllegalStateException.class);
+		assertThat(inventory.available("P002")).isEqualTo(30); // 一括確保なので P002 の確保は残らない
+		service.placeOrder(order(new OrderRequest.Line("P003", 15)));
+
+		assertThat(cached).isInstanceOf(AtomicInventoryService.class);
+		assertThat(inventory.available("P003")).isEqualTo(15);
+		assertThat(cached.backendChecks()).isZero(); // ここまでの可用性チェックはすべてローカル
+		cached.checkAvailable("P003", 6); // 30 - 15 = 15 < 6 + 10
+		cached.checkAvailable("P001", 1); // 失敗した注文の商品はどれも下流判定
+		cached.checkAvailable("P002", 1);
+		assertThat(cached.backendChecks()).isEqualTo(3);
+	}
+
+	private static OrderRequest order(OrderRequest.Line... lines) {
+		return new OrderRequest("JP", RoundingMode.HALF_UP, List.of(lines));
+	}
+}
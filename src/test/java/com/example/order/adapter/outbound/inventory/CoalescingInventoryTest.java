@@ -0,0 +1,195 @@
+package com.example.order.adapter.outbound.inventory;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.outbound.AtomicInventoryService;
+import com.example.order.port.outbound.InventoryService;
+
+class CoalescingInventoryTest {
+
+	@Test
+	@DisplayName("同じ商品への同時 reserve は下流の reserve 呼び出し数より多くの注文をまとめて確保する")
+	void coalesces_concurrent_reserves() throws Exception {
+		var backend = new InMemoryInventory();
+		backend.restock("HOT", 100_000);
+		var sut = CoalescingInventory.of(backend, Duration.ofMillis(2), 1_000);
+		var succeeded = new AtomicInteger();
+
+		runConcurrently(16, () -> {
+			for (int i = 0; i < 50; i++) {
+				sut.reserve("HOT", 2);
+				succeeded.incrementAndGet();
+			}
+		});
+
+		assertThat(succeeded.get()).isEqualTo(800);
+		assertThat(backend.available("HOT")).isEqualTo(100_000 - 1_600);
+		assertThat(sut.backendReserves()).isLessThan(800);
+	}
+
+	@Test
+	@DisplayName("合計が確保できないときは到着順の先頭から確保し、後続は小口でも失敗させる")
+	void partial_batch_is_first_come_first_served() {
+		var backend = new InMemoryInventory();
+		backend.restock("P001", 10);
+		var sut = CoalescingInventory.of(backend, Duration.ZERO, 16);
+
+		int satisfied = sut.settle("P001", List.of(4, 3, 5, 1));
+
+		assertThat(satisfied).isEqualTo(2);
+		assertThat(backend.available("P001")).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("探索後の確保が競合で失敗し続けても、下流への確保は数回で打ち切る")
+	void lost_races_are_retried_a_bounded_number_of_times() {
+		InventoryService backend = new InventoryService() {
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return true; // 可用と答えるが、確保の時点では常に他に取られている
+			}
+
+			@Override
+			public void reserve(String productId, int qty) {
+				throw new IllegalStateException("no stock for product " + productId);
+			}
+		};
+		var sut = CoalescingInventory.of(backend, Duration.ZERO, 1_000);
+		List<Integer> qtys = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++)
+			qtys.add(1);
+
+		assertThat(sut.settle("HOT", qtys)).isZero();
+		assertThat(sut.backendReserves()).isLessThanOrEqualTo(4); // 合計1回 + 探し直し3回
+	}
+
+	@Test
+	@DisplayName("一括確保に対応した在庫を包むと reserveAll はそのまま下流へ流れる（ADR-012）")
+	void forwards_reserve_all_to_atomic_backend() {
+		var backend = new InMemoryInventory();
+		backend.restock("P001", 5);
+		backend.restock("P002", 1);
+		var sut = CoalescingInventory.of(backend, Duration.ofMillis(1), 16);
+
+		assertThat(sut).isInstanceOf(AtomicInventoryService.class);
+		assertThatThrownBy(() -> ((AtomicInventoryService) sut).reserveAll(List.of(
+				new OrderRequest.Line("P001", 3), new OrderRequest.Line("P002", 2))))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product P002");
+		assertThat(backend.available("P001")).isEqualTo(5);
+		assertThat(CoalescingInventory.of(mock(InventoryService.class), Duration.ZERO, 1))
+				.isNotInstanceOf(AtomicInventoryService.class);
+	}
+
+	@Test
+	@DisplayName("在庫切れの注文には在庫不足の例外を返し、在庫は負にならない")
+	void distributes_failures_to_waiting_orders() throws Exception {
+		var backend = new InMemoryInventory();
+		backend.restock("HOT", 100);
+		var sut = CoalescingInventory.of(backend, Duration.ofMillis(1), 64);
+		var succeeded = new AtomicInteger();
+		var failed = new AtomicInteger();
+
+		runConcurrently(8, () -> {
+			for (int i = 0; i < 20; i++) {
+				try {
+					sut.reserve("HOT", 1);
+					succeeded.incrementAndGet();
+				} catch (IllegalStateException e) {
+					assertThat(e).hasMessage("no stock for product HOT");
+					failed.incrementAndGet();
+				}
+			}
+		});
+
+		assertThat(succeeded.get() + failed.get()).isEqualTo(160);
+		assertThat(succeeded.get() + backend.available("HOT")).isEqualTo(100);
+		assertThat(backend.available("HOT")).isNotNegative();
+	}
+
+	@Test
+	@DisplayName("リーダーが Error で失敗しても後着の注文は待ち続けず、原因付きの例外を受け取る")
+	void leader_error_completes_every_waiter() throws Exception {
+		InventoryService backend = new InventoryService() {
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return true;
+			}
+
+			@Override
+			public void reserve(String productId, int qty) {
+				throw new AssertionError("backend bug");
+			}
+		};
+		var sut = CoalescingInventory.of(backend, Duration.ofSeconds(30), 8);
+		var leaderError = new AtomicReference<Throwable>();
+		var followerError = new AtomicReference<Throwable>();
+
+		Thread leader = new Thread(() -> capture(() -> sut.reserve("HOT", 1), leaderError));
+		leader.start();
+		awaitState(leader, Thread.State.TIMED_WAITING); // 窓を開いて待機中
+		Thread follower = new Thread(() -> capture(() -> sut.reserve("HOT", 2), followerError));
+		follower.start();
+		awaitState(follower, Thread.State.WAITING); // 同じ束に入って結果待ち
+		LockSupport.unpark(leader); // 窓を早めに閉じる
+
+		leader.join(5_000);
+		follower.join(5_000);
+		assertThat(follower.isAlive()).isFalse();
+		assertThat(leaderError.get()).isInstanceOf(AssertionError.class);
+		assertThat(followerError.get()).isInstanceOf(IllegalStateException.class)
+				.hasMessage("reserve failed for product HOT").hasCauseInstanceOf(AssertionError.class);
+	}
+
+	private static void capture(Runnable call, AtomicReference<Throwable> error) {
+		try {
+			call.run();
+		} catch (Throwable e) {
+			error.set(e);
+		}
+	}
+
+	private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (thread.getState() != state && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		assertThat(thread.getState()).isEqualTo(state);
+	}
+
+	private static void runConcurrently(int threads, Runnable task) throws Exception {
+		var start = new CountDownLatch(1);
+		List<Thread> started = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					task.run();
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			started.add(thread);
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : started)
+			thread.join();
+		assertThat(errors).isEmpty();
+	}
+}
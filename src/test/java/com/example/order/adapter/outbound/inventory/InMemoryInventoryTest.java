@@ -0,0 +1,210 @@
+package com.example.order.adapter.outbound.inventory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+
+class InMemoryInventoryTest {
+	private static final int THREADS = 8;
+
+	@Test
+	@DisplayName("ホット商品を多スレッドで取り合っても在庫は負にならず、予約合計と残数が初期在庫に一致する")
+	void hot_sku_never_goes_negative_under_contention() throws Exception {
+		var inventory = new InMemoryInventory(16);
+		inventory.restock("HOT", 100_000);
+		var reserved = new LongAdder();
+		var negativeSeen = new AtomicBoolean();
+		var done = new AtomicBoolean();
+
+		Thread watcher = new Thread(() -> {
+			while (!done.get()) {
+				if (inventory.available("HOT") < 0)
+					negativeSeen.set(true);
+			}
+		});
+		watcher.start();
+		runConcurrently(() -> {
+			var random = ThreadLocalRandom.current();
+			int failures = 0;
+			while (failures < 1_000) {
+				int qty = 1 + random.nextInt(5);
+				try {
+					inventory.reserve("HOT", qty);
+					reserved.add(qty);
+				} catch (IllegalStateException e) {
+					failures++;
+				}
+			}
+		});
+		done.set(true);
+		watcher.join();
+
+		long left = inventory.available("HOT");
+		assertThat(negativeSeen).isFalse();
+		assertThat(reserved.sum() + left).isEqualTo(100_000);
+		if (left > 0)
+			inventory.reserve("HOT", (int) left); // 散らばった残りもまとめて取れる
+		assertThat(inventory.available("HOT")).isZero();
+		assertThatThrownBy(() -> inventory.reserve("HOT", 1))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product HOT");
+	}
+
+	@Test
+	@DisplayName("在庫が足りている間は、セル間で在庫が移動中でも予約は失敗しない")
+	void never_fails_while_total_stock_covers_the_order() throws Exception {
+		var inventory = new InMemoryInventory(16);
+		inventory.restock("HOT", 50_000);
+		var minFailedQty = new AtomicInteger(Integer.MAX_VALUE);
+		var spurious = new LongAdder();
+
+		runConcurrently(() -> {
+			var random = ThreadLocalRandom.current();
+			int failures = 0;
+			while (failures < 200) {
+				int qty = 1 + random.nextInt(5);
+				int failedBefore = minFailedQty.get();
+				try {
+					inventory.reserve("HOT", qty);
+					// 取り消しは無いので在庫は減る一方。先に qty 以下で失敗した注文があるのに取れたら、その失敗は誤り
+					if (qty >= failedBefore)
+						spurious.increment();
+				} catch (IllegalStateException e) {
+					failures++;
+					minFailedQty.accumulateAndGet(qty, Math::min);
+				}
+			}
+		});
+
+		assertThat(spurious.sum()).isZero();
+		assertThat(inventory.available("HOT")).isLessThan(minFailedQty.get());
+	}
+
+	@Test
+	@DisplayName("予約と取り消しを並行に繰り返しても在庫は保存される")
+	void reserve_and_release_conserve_stock() throws Exception {
+		var inventory = new InMemoryInventory(8);
+		inventory.restock("A", 50);
+		inventory.restock("B", 1_000);
+
+		runConcurrently(() -> {
+			for (int i = 0; i < 20_000; i++) {
+				String id = (i % 3 == 0) ? "A" : "B";
+				try {
+					inventory.reserve(id, 3);
+					inventory.release(id, 3);
+				} catch (IllegalStateException e) {
+					// 一時的に他スレッドが持っている
+				}
+			}
+		});
+
+		assertThat(inventory.available("A")).isEqualTo(50);
+		assertThat(inventory.available("B")).isEqualTo(1_000);
+	}
+
+	@Test
+	@DisplayName("reserveAll は途中の行が不足すると何も確保しない")
+	void reserveAll_is_all_or_nothing() {
+		var inventory = new InMemoryInventory();
+		inventory.restock("A", 10);
+		inventory.restock("B", 2);
+
+		assertThatThrownBy(() -> inventory.reserveAll(List.of(
+				new OrderRequest.Line("A", 4), new OrderRequest.Line("B", 2), new OrderRequest.Line("A", 7))))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product A"); // A は合算 11
+		assertThatThrownBy(() -> inventory.reserveAll(List.of(
+				new OrderRequest.Line("A", 4), new OrderRequest.Line("C", 1))))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product C");
+		assertThat(inventory.available("A")).isEqualTo(10);
+		assertThat(inventory.available("B")).isEqualTo(2);
+
+		inventory.reserveAll(List.of(new OrderRequest.Line("B", 2), new OrderRequest.Line("A", 10)));
+		assertThat(inventory.available("A")).isZero();
+		assertThat(inventory.available("B")).isZero();
+	}
+
+	@Test
+	@DisplayName("商品が重なる複数行注文を並行に確保しても、成功した注文の合計と残数が初期在庫に一致する")
+	void concurrent_reserveAll_leaves_no_partial_reservation() throws Exception {
+		var inventory = new InMemoryInventory(8);
+		String[] skus = { "A", "B", "C" };
+		for (String sku : skus)
+			inventory.restock(sku, 20_000);
+		Map<String, LongAdder> reserved = new ConcurrentHashMap<>();
+		for (String sku : skus)
+			reserved.put(sku, new LongAdder());
+
+		runConcurrently(() -> {
+			var random = ThreadLocalRandom.current();
+			for (int i = 0; i < 5_000; i++) {
+				int first = random.nextInt(3);
+				var a = new OrderRequest.Line(skus[first], 1 + random.nextInt(4));
+				var b = new OrderRequest.Line(skus[(first + 1) % 3], 1 + random.nextInt(4));
+				try {
+					inventory.reserveAll(List.of(a, b));
+					reserved.get(a.productId()).add(a.qty());
+					reserved.get(b.productId()).add(b.qty());
+				} catch (IllegalStateException e) {
+					// 在庫切れ
+				}
+			}
+		});
+
+		for (String sku : skus) {
+			assertThat(inventory.available(sku)).isNotNegative();
+			assertThat(reserved.get(sku).sum() + inventory.available(sku)).isEqualTo(20_000);
+		}
+	}
+
+	@Test
+	@DisplayName("未登録商品は在庫なし、不正な数量は IllegalArgumentException")
+	void unknown_product_and_invalid_qty() {
+		var inventory = new InMemoryInventory();
+		inventory.restock("P001", 5);
+
+		assertThat(inventory.checkAvailable("P001", 5)).isTrue();
+		assertThat(inventory.checkAvailable("P001", 6)).isFalse();
+		assertThat(inventory.checkAvailable("P404", 1)).isFalse();
+		assertThatThrownBy(() -> inventory.reserve("P404", 1))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product P404");
+		assertThatThrownBy(() -> inventory.reserve("P001", 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new InMemoryInventory(3)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void runConcurrently(Runnable task) throws Exception {
+		var start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					task.run();
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+		assertThat(errors).isEmpty();
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.order.adapter.outbound.inventory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+
+class ReservationHoldsTest {
+	private static final Duration TICK = Duration.ofSeconds(1);
+	private static final Duration TTL = Duration.ofMinutes(15);
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(5));
+	private final InMemoryInventory inventory = new InMemoryInventory(1);
+	private final ReservationHolds sut = new ReservationHolds(inventory, TICK, now::get);
+
+	@Test
+	@DisplayName("確定されない確保は期限後にまとめて在庫へ戻り、確定した確保は残る")
+	void unconfirmed_holds_are_released_after_ttl() {
+		inventory.restock("P001", 10);
+		inventory.restock("P002", 10);
+		long a = sut.hold(List.of(new OrderRequest.Line("P001", 2), new OrderRequest.Line("P002", 1)), TTL);
+		long b = sut.hold(List.of(new OrderRequest.Line("P001", 3)), TTL);
+		long c = sut.hold(List.of(new OrderRequest.Line("P002", 4)), TTL);
+		assertThat(inventory.available("P001")).isEqualTo(5);
+		assertThat(sut.pending()).isEqualTo(3);
+
+		assertThat(sut.confirm(c)).isTrue();
+		advance(TTL.minusSeconds(1));
+		assertThat(sut.expire()).isZero();
+
+		advance(Duration.ofSeconds(1));
+		assertThat(sut.expire()).isEqualTo(2);
+		assertThat(inventory.available("P001")).isEqualTo(10);
+		assertThat(inventory.available("P002")).isEqualTo(6); // c の 4 は確定済み
+		assertThat(sut.pending()).isZero();
+		assertThat(sut.expired()).isEqualTo(2);
+		assertThat(sut.confirmed()).isEqualTo(1);
+
+		assertThat(sut.confirm(a)).isFalse(); // 期限切れ後の確定は失敗
+		assertThat(sut.release(b)).isFalse();
+		assertThat(sut.confirm(c)).isFalse();
+	}
+
+	@Test
+	@DisplayName("取り消しは即座に在庫へ戻し、期限が来ても二重に戻さない")
+	void release_returns_stock_once() {
+		inventory.restock("P001", 5);
+		long id = sut.hold(List.of(new OrderRequest.Line("P001", 5)), TTL);
+		assertThat(inventory.available("P001")).isZero();
+
+		assertThat(sut.release(id)).isTrue();
+		assertThat(inventory.available("P001")).isEqualTo(5);
+		advance(TTL.multipliedBy(2));
+		assertThat(sut.expire()).isZero();
+		assertThat(inventory.available("P001")).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("時間が大きく飛んでも期限切れはまとめて戻り、時計が戻っても期限前には戻さない")
+	void survives_clock_jumps() {
+		inventory.restock("P001", 100);
+		for (int i = 0; i < 50; i++)
+			sut.hold(List.of(new OrderRequest.Line("P001", 1)), Duration.ofMinutes(i + 1));
+		sut.hold(List.of(new OrderRequest.Line("P001", 1)), Duration.ofDays(30)); // ホイールの範囲外
+
+		now.addAndGet(-TimeUnit.HOURS.toNanos(1)); // 戻った読み値は無視
+		assertThat(sut.expire()).isZero();
+		now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+		advance(Duration.ofHours(3)); // スリープ復帰
+		assertThat(sut.expire()).isEqualTo(50);
+		assertThat(inventory.available("P001")).isEqualTo(99);
+		advance(Duration.ofDays(30));
+		assertThat(sut.expire()).isEqualTo(1);
+		assertThat(inventory.available("P001")).isEqualTo(100);
+	}
+
+	@Test
+	@DisplayName("期限切れの解放に失敗した商品は数えて、次の expire で戻し直す")
+	void failed_releases_are_retried_on_next_expire() {
+		var failNext = new AtomicBoolean(true);
+		var flaky = new InMemoryInventory(1) {
+			@Override
+			public void release(String productId, int qty) {
+				if (productId.equals("P002") && failNext.getAndSet(false))
+					throw new IllegalStateException("inventory unavailable");
+				super.release(productId, qty);
+			}
+		};
+		var holds = new ReservationHolds(flaky, TICK, now::get);
+		flaky.restock("P001", 10);
+		flaky.restock("P002", 10);
+		holds.hold(List.of(new OrderRequest.Line("P001", 2), new OrderRequest.Line("P002", 3)), TTL);
+
+		advance(TTL);
+		assertThatThrownBy(holds::expire).isInstanceOf(IllegalStateException.class).hasMessage("inventory unavailable");
+		assertThat(flaky.available("P001")).isEqualTo(10); // 他の商品は戻っている
+		assertThat(flaky.available("P002")).isEqualTo(7);
+		assertThat(holds.releaseFailures()).isEqualTo(1);
+		assertThat(holds.retryPending()).isEqualTo(3);
+
+		assertThat(holds.expire()).isZero(); // 期限切れは無いが、再試行待ちは戻す
+		assertThat(flaky.available("P002")).isEqualTo(10);
+		assertThat(holds.retryPending()).isZero();
+	}
+
+	@Test
+	@DisplayName("在庫不足の確保は何も確保せず、不正な ttl は受け付けない")
+	void rejects_short_stock_and_bad_ttl() {
+		inventory.restock("P001", 1);
+		assertThatThrownBy(() -> sut.hold(List.of(new OrderRequest.Line("P001", 2)), TTL))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product P001");
+		assertThat(sut.pending()).isZero();
+		assertThatThrownBy(() -> sut.hold(List.of(new OrderRequest.Line("P001", 1)), Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("ttl must be > 0");
+		assertThat(inventory.available("P001")).isEqualTo(1);
+	}
+
+	private void advance(Duration d) {
+		now.addAndGet(d.toNanos());
+	}
+}
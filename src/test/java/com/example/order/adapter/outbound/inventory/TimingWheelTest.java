@@ -0,0 +1,77 @@
+package com.example.order.adapter.outbound.inventory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+	@Test
+	@DisplayName("各段・最上段の先・大きな時間飛びをまたいでも、期限ちょうどのティックで1回だけ期限切れになる")
+	void expires_each_entry_exactly_at_its_deadline() {
+		Random random = new Random(7);
+		var wheel = new TimingWheel<Item>(0);
+		Map<Item, Long> deadlines = new HashMap<>();
+		List<Item> cancelled = new ArrayList<>();
+		long[] ranges = { 64, 4_096, 262_144, TimingWheel.SPAN * 2 };
+		for (int i = 0; i < 20_000; i++) {
+			Item item = new Item();
+			long deadline = 1 + (long) (random.nextDouble() * ranges[i % ranges.length]);
+			wheel.add(item, deadline);
+			if (i % 10 == 0) {
+				assertThat(wheel.remove(item)).isTrue();
+				assertThat(wheel.remove(item)).isFalse();
+				cancelled.add(item);
+			} else {
+				deadlines.put(item, deadline);
+			}
+		}
+		assertThat(wheel.size()).isEqualTo(deadlines.size());
+
+		Map<Item, long[]> firedIn = new HashMap<>(); // (前回の時刻, 出た時刻]
+		long now = 0;
+		while (wheel.size() > 0) {
+			// 短い前進と、CATCH_UP_TICKS を超える飛びを混ぜる
+			long from = now;
+			now += random.nextInt(8) == 0 ? TimingWheel.CATCH_UP_TICKS * 3 : 1 + random.nextInt(50);
+			long[] window = { from, now };
+			wheel.advanceTo(now, item -> assertThat(firedIn.put(item, window)).isNull());
+			wheel.advanceTo(now - 5, item -> fail("went backwards")); // 戻った時刻は無視
+		}
+
+		assertThat(firedIn.keySet()).containsExactlyInAnyOrderElementsOf(deadlines.keySet());
+		firedIn.forEach((item, window) -> assertThat(deadlines.get(item)).isGreaterThan(window[0])
+				.isLessThanOrEqualTo(window[1]));
+		assertThat(cancelled).noneMatch(firedIn::containsKey);
+	}
+
+	@Test
+	@DisplayName("1ティックずつ進めると期限のティックちょうどで出る")
+	void fires_on_exact_tick_when_stepping() {
+		var wheel = new TimingWheel<Item>(100);
+		Map<Item, Long> deadlines = new HashMap<>();
+		for (long d : new long[] { 101, 163, 164, 165, 4_196, 4_197, 300_000 }) {
+			Item item = new Item();
+			wheel.add(item, d);
+			deadlines.put(item, d);
+		}
+		Item late = new Item();
+		wheel.add(late, 50); // 過去の期限は次のティック
+		deadlines.put(late, 101L);
+
+		for (long t = 101; t <= 300_000; t++) {
+			long now = t;
+			wheel.advanceTo(t, item -> assertThat(deadlines.get(item)).isEqualTo(now));
+		}
+		assertThat(wheel.size()).isZero();
+	}
+
+	private static final class Item extends TimingWheel.Entry {
+	}
+}
@@ -0,0 +1,120 @@
+package com.example.order.adapter.outbound.order;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+class InMemoryOrderStoreTest {
+	private static final long STORE_ALLOCATION_BUDGET_BYTES = 256;
+
+	private final InMemoryOrderStore sut = new InMemoryOrderStore();
+
+	@Test
+	@DisplayName("ID・地域・商品・適用割引で引け、一覧は新しい順に limit 件")
+	void finds_by_id_and_secondary_indexes() {
+		String a = sut.save(order("JP", List.of(DiscountType.VOLUME), "P001", "P002"));
+		String b = sut.save(order("US", List.of(), "P002"));
+		String c = sut.save(order("JP", List.of(DiscountType.VOLUME, DiscountType.CAP), "P003", "P001", "P001"));
+
+		assertThat(List.of(a, b, c)).containsExactly("ORD-1", "ORD-2", "ORD-3");
+		assertThat(sut.findById(b)).get().extracting(OrderPersistenceModel::region).isEqualTo("US");
+		assertThat(sut.findById("ORD-9")).isEmpty();
+
+		assertThat(sut.findByRegion("JP", 10)).containsExactly(c, a);
+		assertThat(sut.findByRegion("JP", 1)).containsExactly(c);
+		assertThat(sut.findByProduct("P001", 10)).containsExactly(c, a); // 同一注文の重複行は1件
+		assertThat(sut.findByProduct("P002", 10)).containsExactly(b, a);
+		assertThat(sut.findByDiscount(DiscountType.VOLUME, 10)).containsExactly(c, a);
+		assertThat(sut.findByDiscount(DiscountType.CAP, 10)).containsExactly(c);
+		assertThat(sut.findByDiscount(DiscountType.BUNDLE, 10)).isEmpty();
+		assertThat(sut.findByRegion("EU", 10)).isEmpty();
+		assertThatThrownBy(() -> sut.findByRegion("JP", 0))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("limit must be > 0");
+		assertThatThrownBy(() -> sut.save(null))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("order must not be null");
+	}
+
+	@Test
+	@DisplayName("並行保存でも ID は重複せず、索引の件数と本体の件数が一致する")
+	void concurrent_saves_keep_indexes_consistent() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<List<String>>> tasks = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				String region = (t % 2 == 0) ? "JP" : "US";
+				tasks.add(() -> {
+					List<String> ids = new ArrayList<>();
+					for (int i = 0; i < 1_000; i++)
+						ids.add(sut.save(order(region, List.of(), "P" + (i % 10))));
+					return ids;
+				});
+			}
+			Set<String> ids = new HashSet<>();
+			for (Future<List<String>> f : pool.invokeAll(tasks))
+				ids.addAll(f.get());
+
+			assertThat(ids).hasSize(4_000);
+			assertThat(sut.size()).isEqualTo(4_000);
+			assertThat(sut.findByRegion("JP", 10_000)).hasSize(2_000);
+			assertThat(sut.findByProduct("P3", 10_000)).hasSize(400).allSatisfy(id -> assertThat(ids).contains(id));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("1注文を保存するときの割り当て量（保持量ではない）がモデル本体より小さく予算内で、索引の保持量も小さい")
+	void measures_allocation_per_stored_order() {
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		long tid = Thread.currentThread().getId();
+		int n = 50_000;
+		String[] regions = { "JP", "US", "EU", "APAC" };
+
+		long before = threads.getThreadAllocatedBytes(tid);
+		List<OrderPersistenceModel> models = new ArrayList<>(n);
+		for (int i = 0; i < n; i++)
+			models.add(order(regions[i % regions.length], i % 3 == 0 ? List.of(DiscountType.VOLUME) : List.of(),
+					"P" + (i % 500), "P" + ((i * 7) % 500), "P" + ((i * 13) % 500)));
+		long modelBytes = (threads.getThreadAllocatedBytes(tid) - before) / n;
+
+		before = threads.getThreadAllocatedBytes(tid);
+		for (OrderPersistenceModel m : models)
+			sut.save(m);
+		long storeBytes = (threads.getThreadAllocatedBytes(tid) - before) / n;
+
+		// getThreadAllocatedBytes は割り当てた総量で、後で捨てるもの（マップの拡張・PostingList の配列拡張）も含む。
+		// 保持量の上限ではなく、保存1件あたりの割り当てコストとして見る。保持量は索引の概算（indexFootprintBytes）で見る
+		// 計測値（JDK 17, 3行注文）：モデル本体 約 910 バイト（商品ID文字列を含む）、
+		// 保存の割り当て 約 185 バイト（ID 文字列・マップのエントリ・配列拡張の償却分）、うち索引の保持は 約 20 バイト
+		assertThat(modelBytes).isGreaterThan(storeBytes);
+		assertThat(storeBytes).isLessThanOrEqualTo(STORE_ALLOCATION_BUDGET_BYTES);
+		assertThat(sut.indexFootprintBytes() / n).isLessThanOrEqualTo(32); // 索引は 1注文あたり int 数個ぶん
+	}
+
+	private static OrderPersistenceModel order(String region, List<DiscountType> applied, String... productIds) {
+		List<OrderLinePersistence> lines = new ArrayList<>();
+		for (String id : productIds)
+			lines.add(new OrderLinePersistence(id, 1, new BigDecimal("100")));
+		BigDecimal net = BigDecimal.valueOf(100L * productIds.length);
+		return new OrderPersistenceModel(region, List.copyOf(lines), net, BigDecimal.ZERO, net,
+				net.multiply(new BigDecimal("0.10")), net.multiply(new BigDecimal("1.10")), applied);
+	}
+}
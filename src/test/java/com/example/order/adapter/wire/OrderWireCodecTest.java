@@ -0,0 +1,190 @@
+package com.example.order.adapter.wire;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.adapter.inbound.http.OrderJson;
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+class OrderWireCodecTest {
+	private static final ProductIdDictionary DICTIONARY = ProductIdDictionary.of(
+			List.of("P000", "P001", "P002", "P003", "P004", "P005", "P006", "P007"));
+
+	@Test
+	@DisplayName("ランダム生成した3種のメッセージが辞書あり・なし、heap/direct いずれでも往復で一致する")
+	void round_trips_random_messages() {
+		var random = new Random(11);
+		for (var codec : List.of(new OrderWireCodec(), new OrderWireCodec(DICTIONARY))) {
+			for (int n = 0; n < 500; n++) {
+				ByteBuffer buf = (n % 2 == 0) ? ByteBuffer.allocate(64 * 1024) : ByteBuffer.allocateDirect(64 * 1024);
+				var req = randomRequest(random);
+				var result = randomResult(random);
+				var model = randomModel(random);
+
+				codec.encode(req, buf);
+				codec.encode(result, buf);
+				codec.encode(model, buf);
+				buf.flip();
+
+				assertThat(codec.decodeRequest(buf)).isEqualTo(req);
+				assertThat(OrderWireCodec.peekType(buf)).isEqualTo(OrderWireCodec.TYPE_RESULT);
+				assertThat(codec.decodeResult(buf)).isEqualTo(result); // scale まで一致
+				assertThat(codec.decodePersistence(buf)).isEqualTo(model);
+				assertThat(buf.hasRemaining()).isFalse();
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("辞書エンコードは JSON より小さく、辞書が異なる受信側では復号を拒否する")
+	void dictionary_encoding_is_compact_and_checked() throws IOException {
+		var req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+				new OrderRequest.Line("P001", 10), new OrderRequest.Line("P002", 1), new OrderRequest.Line("X9", 3)));
+		var buf = ByteBuffer.allocate(256);
+		new OrderWireCodec(DICTIONARY).encode(req, buf);
+		var json = new StringBuilder();
+		OrderJson.writeRequest(req, json);
+
+		assertThat(buf.position()).isLessThan(json.length() / 3);
+		buf.flip();
+		var other = new OrderWireCodec(ProductIdDictionary.of(List.of("P001")));
+		assertThatThrownBy(() -> other.decodeRequest(buf.duplicate()))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("product id dictionary mismatch");
+		assertThatThrownBy(() -> new OrderWireCodec().decodeRequest(buf.duplicate()))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("product id dictionary mismatch");
+	}
+
+	@Test
+	@DisplayName("辞書なしで送ったフレームは、辞書を持つ受信側でもそのまま復号できる")
+	void plain_frame_decodes_with_dictionary_codec() {
+		var req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+				new OrderRequest.Line("P001", 10), new OrderRequest.Line("X9", 3)));
+		var model = new OrderPersistenceModel("JP", List.of(new OrderLinePersistence("P002", 2, new BigDecimal("150"))),
+				new BigDecimal("300"), BigDecimal.ZERO, new BigDecimal("300"), new BigDecimal("30"),
+				new BigDecimal("330"), List.of());
+		var buf = ByteBuffer.allocate(256);
+		var plain = new OrderWireCodec();
+		plain.encode(req, buf);
+		plain.encode(model, buf);
+		buf.flip();
+
+		var withDictionary = new OrderWireCodec(DICTIONARY);
+		assertThat(withDictionary.decodeRequest(buf)).isEqualTo(req);
+		assertThat(withDictionary.decodePersistence(buf)).isEqualTo(model);
+		assertThat(buf.hasRemaining()).isFalse();
+	}
+
+	@Test
+	@DisplayName("切り詰められたメッセージは IllegalArgumentException、書き込み先不足は位置を戻して BufferOverflowException")
+	void rejects_truncated_and_overflowing_buffers() {
+		var codec = new OrderWireCodec();
+		var result = new OrderResult(new BigDecimal("100.00"), new BigDecimal("0.00"), new BigDecimal("100.00"),
+				new BigDecimal("10.00"), new BigDecimal("110"), List.of(DiscountType.VOLUME));
+		var buf = ByteBuffer.allocate(128);
+		codec.encode(result, buf);
+		int size = buf.position();
+
+		for (int cut = 0; cut < size; cut++) {
+			var truncated = ByteBuffer.wrap(buf.array(), 0, cut);
+			assertThatThrownBy(() -> codec.decodeResult(truncated)).isInstanceOf(IllegalArgumentException.class);
+		}
+		var small = ByteBuffer.allocate(size - 1);
+		small.put((byte) 9);
+		assertThatThrownBy(() -> codec.encode(result, small)).isInstanceOf(BufferOverflowException.class);
+		assertThat(small.position()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("int に収まらない数量・scale は切り詰めずに IllegalArgumentException")
+	void rejects_out_of_range_ints() {
+		var codec = new OrderWireCodec();
+		var buf = ByteBuffer.allocate(64);
+		codec.encode(new OrderRequest("JP", null, List.of(new OrderRequest.Line("P001", Integer.MAX_VALUE))), buf);
+		buf.flip();
+		assertThat(codec.decodeRequest(buf.duplicate()).lines().get(0).qty()).isEqualTo(Integer.MAX_VALUE);
+
+		// 末尾の数量を同じ5バイト長の Integer.MAX_VALUE + 1 に書き換える
+		var patch = ByteBuffer.allocate(8);
+		OrderWireCodec.putSignedVarint(patch, Integer.MAX_VALUE + 1L);
+		assertThat(patch.position()).isEqualTo(5);
+		buf.put(buf.limit() - 5, patch.array(), 0, 5);
+		assertThatThrownBy(() -> codec.decodeRequest(buf))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("corrupt message: varint out of range");
+
+		var decimal = ByteBuffer.allocate(32);
+		OrderWireCodec.putVarint(decimal, 1 + (((long) Integer.MAX_VALUE + 1) << 2)); // scale = 2^31
+		OrderWireCodec.putSignedVarint(decimal, 1);
+		decimal.flip();
+		assertThatThrownBy(() -> OrderWireCodec.getDecimal(decimal))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("corrupt message: varint out of range");
+	}
+
+	private static OrderRequest randomRequest(Random random) {
+		List<OrderRequest.Line> lines = new ArrayList<>();
+		int n = random.nextInt(6);
+		for (int i = 0; i < n; i++)
+			lines.add(new OrderRequest.Line(productId(random), random.nextInt() >> random.nextInt(32)));
+		RoundingMode mode = random.nextBoolean() ? null : RoundingMode.values()[random.nextInt(RoundingMode.values().length)];
+		return new OrderRequest(random.nextInt(10) == 0 ? null : region(random), mode, random.nextInt(10) == 0 ? null : lines);
+	}
+
+	private static OrderResult randomResult(Random random) {
+		return new OrderResult(decimal(random), decimal(random), decimal(random), decimal(random), decimal(random),
+				labels(random));
+	}
+
+	private static OrderPersistenceModel randomModel(Random random) {
+		List<OrderLinePersistence> lines = new ArrayList<>();
+		int n = random.nextInt(6);
+		for (int i = 0; i < n; i++)
+			lines.add(new OrderLinePersistence(productId(random), 1 + random.nextInt(1000), decimal(random)));
+		return new OrderPersistenceModel(region(random), lines, decimal(random), decimal(random), decimal(random),
+				decimal(random), decimal(random), labels(random));
+	}
+
+	private static String productId(Random random) {
+		return switch (random.nextInt(4)) {
+		case 0 -> "商品-" + random.nextInt(100);
+		case 1 -> "X" + random.nextInt(100_000);
+		default -> "P00" + random.nextInt(10); // 辞書内と辞書外（P008, P009）
+		};
+	}
+
+	private static String region(Random random) {
+		return List.of("JP", "US", "EU", "").get(random.nextInt(4));
+	}
+
+	private static BigDecimal decimal(Random random) {
+		return switch (random.nextInt(5)) {
+		case 0 -> null;
+		case 1 -> new BigDecimal(new BigInteger(200, random).negate(), random.nextInt(40) - 20); // long に収まらない
+		case 2 -> BigDecimal.valueOf(Long.MIN_VALUE, 2);
+		default -> BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(8) - 2);
+		};
+	}
+
+	private static List<DiscountType> labels(Random random) {
+		List<DiscountType> labels = new ArrayList<>();
+		for (var type : DiscountType.values()) {
+			if (random.nextBoolean())
+				labels.add(type);
+		}
+		return labels;
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.order.app;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+/**
+ * 小口注文（3行）ホットパスの割り当て量ガード。
+ * モックは呼び出し記録で割り当てるため、割り当てを持たない手書きスタブを使う。
+ * BigDecimal 演算と OrderResult 生成ぶんは残るので、その上限を予算として固定する。
+ */
+class OrderServiceAllocationTest {
+	// 改修前 約1.9KB/注文 → 改修後 約0.9KB/注文。JVM差を見込んだ上限
+	private static final long BUDGET_BYTES_PER_ORDER = 1200;
+	private static final int WARMUP = 50_000;
+	private static final int MEASURED = 10_000;
+
+	@Test
+	@DisplayName("3行注文の placeOrder が割り当て予算内に収まる")
+	void placeOrder_allocates_within_budget_for_small_order() {
+		Map<String, Optional<Product>> catalog = Map.of(
+				"P001", Optional.of(new Product("P001", "A", new BigDecimal("100"))),
+				"P002", Optional.of(new Product("P002", "B", new BigDecimal("200"))),
+				"P003", Optional.of(new Product("P003", "C", new BigDecimal("300"))));
+		ProductRepository products = id -> catalog.getOrDefault(id, Optional.empty());
+		InventoryService inventory = new InventoryService() {
+			@Override
+			public void reserve(String productId, int qty) {
+			}
+
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return true;
+			}
+		};
+		BigDecimal taxAmount = new BigDecimal("60.00");
+		BigDecimal gross = new BigDecimal("660");
+		TaxCalculator tax = new TaxCalculator() {
+			@Override
+			public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+				return taxAmount;
+			}
+
+			@Override
+			public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+				return gross;
+			}
+		};
+		var sut = new OrderService(products, inventory, tax);
+		var req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+				new OrderRequest.Line("P001", 2),
+				new OrderRequest.Line("P002", 1),
+				new OrderRequest.Line("P003", 1)));
+
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+
+		for (int i = 0; i < WARMUP; i++) {
+			sut.placeOrder(req);
+		}
+		long tid = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(tid);
+		for (int i = 0; i < MEASURED; i++) {
+			sut.placeOrder(req);
+		}
+		long perOrder = (threads.getThreadAllocatedBytes(tid) - before) / MEASURED;
+
+		assertThat(perOrder).isLessThanOrEqualTo(BUDGET_BYTES_PER_ORDER);
+		// 値そのものは変わらない（MULTI_ITEM 2%: 700 * 0.02 = 14）
+		assertThat(sut.placeOrder(req).totalDiscount()).isEqualByComparingTo("14");
+	}
+}
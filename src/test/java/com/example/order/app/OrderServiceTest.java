@@ -30,6 +30,7 @@ import com.example.order.domain.policy.discount.CapPolicy;
 import com.example.order.domain.policy.discount.HighAmountDiscount;
 import com.example.order.domain.policy.discount.MultiItemDiscount;
 import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.port.outbound.AtomicInventoryService;
 import com.example.order.port.outbound.InventoryService;
 import com.example.order.port.outbound.ProductRepository;
 import com.example.order.port.outbound.TaxCalculator;
@@ -175,6 +176,34 @@ class OrderServiceTest {
 			verify(inventory, never()).reserve(anyString(), anyInt());
 			verifyNoInteractions(tax);
 		}
+
+		@Test
+		void rejects_unknown_product_before_any_port_call_when_filter_is_set() {
+			// Given: 既知商品フィルタは P001 だけを知っている
+			var filtered = OrderService.builder(products, inventory, tax)
+					.policies(List.of(new VolumeDiscount(), new CapPolicy(new BigDecimal("0.05"))))
+					.knownProducts(id -> id.equals("P001"))
+					.build();
+			OrderRequest req = new OrderRequest("JP", RoundingMode.HALF_UP,
+					List.of(new OrderRequest.Line("P001", 1), new OrderRequest.Line("BOT-$$$", 1)));
+
+			// When Then: メッセージは findById で見つからないときと同じ
+			assertThatThrownBy(() -> filtered.placeOrder(req))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("product not found: BOT-$$$");
+			assertThatThrownBy(() -> filtered.quote(req))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("product not found: BOT-$$$");
+			verifyNoInteractions(products, inventory, tax);
+		}
+
+		@Test
+		void builder_rejects_both_policies_and_rules() {
+			assertThatThrownBy(() -> OrderService.builder(products, inventory, tax)
+					.policies(List.of(new VolumeDiscount())).rules(null))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessage("policies and rules are mutually exclusive");
+		}
 	}
 
 	@Nested
@@ -336,6 +365,30 @@ class OrderServiceTest {
 			// 最後に確保
 			order.verify(inventory, times(2)).reserve(anyString(), anyInt());
 		}
+
+		@Test
+		@DisplayName("一括確保に対応した在庫では、計算後に reserveAll を1回だけ呼ぶ（ADR-012）")
+		void placeOrder_flow_whenAtomicInventory_reservesAllLinesAtOnce() {
+			// Given
+			var atomic = mock(AtomicInventoryService.class);
+			var sut = new OrderService(products, atomic, tax);
+			var l1 = new OrderRequest.Line("P001", 2);
+			var l2 = new OrderRequest.Line("P002", 1);
+			OrderRequest req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(l1, l2));
+			when(products.findById("P001")).thenReturn(Optional.of(new Product("P001", "Apple", new BigDecimal("100"))));
+			when(products.findById("P002")).thenReturn(Optional.of(new Product("P002", "Banana", new BigDecimal("200"))));
+			when(atomic.checkAvailable(anyString(), anyInt())).thenReturn(true);
+
+			InOrder order = inOrder(atomic, tax);
+			// When
+			sut.placeOrder(req);
+
+			// Then
+			order.verify(atomic, times(2)).checkAvailable(anyString(), anyInt());
+			order.verify(tax).calcTaxAmount(any(), any(), any());
+			order.verify(atomic).reserveAll(List.of(l1, l2));
+			verify(atomic, never()).reserve(anyString(), anyInt());
+		}
 	}
 
 	@Nested
@@ -20,9 +20,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.order.app.dto.OrderRequest;
 import com.example.order.app.dto.OrderResult;
+import com.example.order.app.tracing.Tracer;
 import com.example.order.domain.model.OrderPersistenceModel;
 import com.example.order.domain.model.Product;
 import com.example.order.port.inbound.PlaceOrderUseCase;
+import com.example.order.port.outbound.OrderEventPublisher;
 import com.example.order.port.outbound.ProductRepository;
 import com.example.order.port.outbound.SaveOrderPort;
 
@@ -107,4 +109,23 @@ public class PlaceOrderUseCaseTest {
 		
 
 	}
+
+	@Test
+	void publishes_order_placed_after_save_only_on_success() {
+		var events = mock(OrderEventPublisher.class);
+		var publishing = new PlaceOrderUseCase(orderService, products, savePort, Tracer.NOOP, events);
+		OrderRequest req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(new OrderRequest.Line("P001", 1)));
+		when(products.findById("P001")).thenReturn(Optional.of(new Product("P001", "A", new BigDecimal("1000"))));
+		when(orderService.placeOrder(req)).thenReturn(new OrderResult(new BigDecimal("1000.00"), BigDecimal.ZERO,
+				new BigDecimal("1000.00"), new BigDecimal("100.00"), new BigDecimal("1100"), List.of()));
+		when(savePort.save(any())).thenReturn("ORD-001").thenThrow(new IllegalStateException("db down"));
+
+		publishing.execute(req);
+		assertThatThrownBy(() -> publishing.execute(req)).isInstanceOf(IllegalStateException.class);
+
+		InOrder inOrder = inOrder(savePort, events);
+		inOrder.verify(savePort).save(any());
+		inOrder.verify(events).orderPlaced(eq("ORD-001"), argThat(m -> m.region().equals("JP")));
+		verifyNoMoreInteractions(events);
+	}
 }
@@ -0,0 +1,147 @@
+package com.example.order.app.admission;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+
+class AdmissionControllerTest {
+	private static final Executor THREAD_PER_TASK = runnable -> new Thread(runnable).start();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+	}
+
+	@Test
+	@DisplayName("上限いっぱいで低レイテンシなら上限を伸ばし、レイテンシ悪化や下流失敗で縮める")
+	void limit_follows_latency_gradient() {
+		var limit = new AdaptiveLimit(10, 2, 100, 1_000);
+		for (int i = 0; i < 50; i++)
+			limit.onSample(1_000_000, limit.limit());
+		int grown = limit.limit();
+		assertThat(grown).isGreaterThan(10);
+
+		for (int i = 0; i < 50; i++)
+			limit.onSample(10_000_000, limit.limit()); // 10倍の遅延
+		assertThat(limit.limit()).isLessThan(grown / 2);
+
+		int before = limit.limit();
+		limit.onDropped();
+		assertThat(limit.limit()).isLessThanOrEqualTo(Math.max(2, (int) (before * 0.9)));
+		for (int i = 0; i < 100; i++)
+			limit.onDropped();
+		assertThat(limit.limit()).isEqualTo(2);
+
+		assertThatThrownBy(() -> new AdaptiveLimit(10, 2, 100, 0))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("probeInterval must be > 0");
+	}
+
+	@Test
+	@DisplayName("混雑時は BATCH が share を超えた時点で断られ、CHECKOUT は上限まで入れる")
+	void lower_priorities_are_shed_first() throws Exception {
+		var sut = new AdmissionController(new AdaptiveLimit(4, 4, 4, 1_000), 0, Duration.ZERO);
+		var running = new CopyOnWriteArrayList<CompletableFuture<String>>();
+		for (int i = 0; i < 2; i++)
+			running.add(blocked(sut, Priority.BATCH));
+		awaitInFlight(sut, 2);
+
+		assertThatThrownBy(() -> sut.execute(Priority.BATCH, () -> "x"))
+				.isInstanceOf(AdmissionRejectedException.class)
+				.hasMessageContaining("BATCH")
+				.satisfies(e -> assertThat(((AdmissionRejectedException) e).priority()).isEqualTo(Priority.BATCH));
+		for (int i = 0; i < 2; i++)
+			running.add(blocked(sut, Priority.CHECKOUT));
+		awaitInFlight(sut, 4);
+		assertThatThrownBy(() -> sut.execute(Priority.CHECKOUT, () -> "x"))
+				.isInstanceOf(AdmissionRejectedException.class);
+
+		release.countDown();
+		for (var f : running)
+			assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+		assertThat(sut.inFlight()).isZero();
+	}
+
+	@Test
+	@DisplayName("待ち行列では後から来た CHECKOUT が先に待っていた BATCH より先に入る")
+	void queued_checkout_is_admitted_before_batch() throws Exception {
+		var sut = new AdmissionController(new AdaptiveLimit(1, 1, 1, 1_000), 10, Duration.ofSeconds(5));
+		var order = new CopyOnWriteArrayList<Priority>();
+		var first = blocked(sut, Priority.CHECKOUT);
+		awaitInFlight(sut, 1);
+
+		var batch = CompletableFuture.supplyAsync(() -> sut.execute(Priority.BATCH, () -> order.add(Priority.BATCH)),
+				THREAD_PER_TASK);
+		awaitWaiting(sut, Priority.BATCH, 1);
+		var checkout = CompletableFuture.supplyAsync(() -> sut.execute(Priority.CHECKOUT, () -> order.add(Priority.CHECKOUT)),
+				THREAD_PER_TASK);
+		awaitWaiting(sut, Priority.CHECKOUT, 1);
+		release.countDown();
+
+		first.get(5, TimeUnit.SECONDS);
+		batch.get(5, TimeUnit.SECONDS);
+		checkout.get(5, TimeUnit.SECONDS);
+		assertThat(order).containsExactly(Priority.CHECKOUT, Priority.BATCH);
+	}
+
+	@Test
+	@DisplayName("待ち時間を過ぎた要求は断り、業務エラーはそのまま伝播する")
+	void wait_timeout_and_business_errors() throws Exception {
+		var sut = new AdmissionController(new AdaptiveLimit(1, 1, 1, 1_000), 10, Duration.ofMillis(20));
+		var useCase = mock(PlaceOrderUseCase.class);
+		var req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(new OrderRequest.Line("P001", 1)));
+		when(useCase.execute(req)).thenThrow(new IllegalStateException("no stock for product P001"));
+		var placeOrder = new AdmissionControlledPlaceOrder(useCase, sut);
+
+		assertThatThrownBy(() -> placeOrder.execute(req, Priority.CHECKOUT))
+				.isInstanceOf(IllegalStateException.class).hasMessage("no stock for product P001");
+
+		var first = blocked(sut, Priority.CHECKOUT);
+		awaitInFlight(sut, 1);
+		assertThatThrownBy(() -> placeOrder.execute(req, Priority.QUOTE))
+				.isInstanceOf(AdmissionRejectedException.class).hasMessageContaining("wait timeout");
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+	}
+
+	private CompletableFuture<String> blocked(AdmissionController sut, Priority priority) {
+		return CompletableFuture.supplyAsync(() -> sut.execute(priority, () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "done";
+		}), THREAD_PER_TASK);
+	}
+
+	private static void awaitInFlight(AdmissionController sut, int n) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sut.inFlight() < n && System.nanoTime() < deadline)
+			Thread.sleep(5);
+		assertThat(sut.inFlight()).isEqualTo(n);
+	}
+
+	private static void awaitWaiting(AdmissionController sut, Priority priority, int n) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sut.waiting(priority) < n && System.nanoTime() < deadline)
+			Thread.sleep(5);
+		assertThat(sut.waiting(priority)).isEqualTo(n);
+	}
+}
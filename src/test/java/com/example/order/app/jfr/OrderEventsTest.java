@@ -0,0 +1,157 @@
+package com.example.order.app.jfr;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.discount.CapPolicy;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+class OrderEventsTest {
+	private static final String PLACEMENT = "com.example.order.OrderPlacement";
+	private static final String DISCOUNT = "com.example.order.DiscountEvaluation";
+	private static final String TAX = "com.example.order.TaxCalculation";
+	private static final String PORT = "com.example.order.PortCall";
+
+	private static final OrderRequest ORDER = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+			new OrderRequest.Line("P001", 2), new OrderRequest.Line("P002", 1)));
+
+	private final List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+
+	@Test
+	@DisplayName("有効化したイベントが注文・ポリシーごとの割引・税・Port 呼び出しごとに属性付きで出る")
+	void emits_events_for_each_stage() throws Exception {
+		try (var rs = new RecordingStream()) {
+			for (String name : List.of(PLACEMENT, DISCOUNT, TAX, PORT))
+				rs.enable(name).withThreshold(Duration.ZERO);
+			rs.onEvent(events::add);
+			rs.startAsync();
+
+			assertThat(useCase().execute(ORDER)).isEqualTo("ORDER-1");
+			await(e -> e.getEventType().getName().equals(PORT) && "save".equals(e.getString("operation")));
+		}
+
+		RecordedEvent placement = single(PLACEMENT);
+		assertThat(placement.getString("region")).isEqualTo("JP");
+		assertThat(placement.getInt("productCount")).isEqualTo(2);
+		assertThat(placement.getDouble("discountTotal")).isEqualTo(120.0); // 400 の 50% を cap 30% に差し戻し
+		assertThat(placement.getBoolean("capEngaged")).isTrue();
+		assertThat(placement.getBoolean("succeeded")).isTrue();
+		assertThat(placement.getDuration()).isPositive();
+
+		assertThat(named(DISCOUNT)).extracting(e -> e.getString("type")).containsExactly("HIGH_AMOUNT", "CAP");
+		assertThat(named(DISCOUNT)).extracting(e -> e.getDouble("discount")).containsExactly(200.0, -80.0);
+		assertThat(single(TAX).getString("region")).isEqualTo("JP");
+		assertThat(single(TAX).getDouble("net")).isEqualTo(280.0);
+
+		assertThat(named(PORT)).extracting(e -> e.getString("port") + "." + e.getString("operation"))
+				.containsExactlyInAnyOrder(
+						"InventoryService.checkAvailable", "InventoryService.checkAvailable",
+						"ProductRepository.findById", "ProductRepository.findById", // 価格計算
+						"TaxCalculator.calcTaxAmount", "TaxCalculator.addTax",
+						"InventoryService.reserve", "InventoryService.reserve",
+						"ProductRepository.findById", "ProductRepository.findById", // 保存用の行復元
+						"SaveOrderPort.save");
+		assertThat(named(PORT)).filteredOn(e -> e.getString("operation").equals("reserve"))
+				.extracting(e -> e.getString("productId")).containsExactlyInAnyOrder("P001", "P002");
+	}
+
+	@Test
+	@DisplayName("既定で無効なイベントと閾値未満のイベントは記録されない")
+	void disabled_and_below_threshold_events_are_not_recorded() throws Exception {
+		try (var rs = new RecordingStream()) {
+			rs.enable(PLACEMENT).withThreshold(Duration.ZERO);
+			rs.enable(PORT).withThreshold(Duration.ofSeconds(10));
+			rs.onEvent(events::add);
+			rs.startAsync();
+
+			useCase().execute(ORDER);
+			await(e -> e.getEventType().getName().equals(PLACEMENT));
+		}
+
+		assertThat(named(PLACEMENT)).hasSize(1);
+		assertThat(named(PORT)).isEmpty();
+		assertThat(named(DISCOUNT)).isEmpty();
+	}
+
+	private void await(Predicate<RecordedEvent> condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (events.stream().noneMatch(condition) && System.nanoTime() < deadline)
+			Thread.sleep(20);
+		assertThat(events).anyMatch(condition);
+	}
+
+	private List<RecordedEvent> named(String name) {
+		return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+	}
+
+	private RecordedEvent single(String name) {
+		List<RecordedEvent> found = named(name);
+		assertThat(found).hasSize(1);
+		return found.get(0);
+	}
+
+	private static PlaceOrderUseCase useCase() {
+		Map<String, Optional<Product>> catalog = Map.of(
+				"P001", Optional.of(new Product("P001", "A", new BigDecimal("100"))),
+				"P002", Optional.of(new Product("P002", "B", new BigDecimal("200"))));
+		ProductRepository products = id -> catalog.getOrDefault(id, Optional.empty());
+		InventoryService inventory = new InventoryService() {
+			@Override
+			public void reserve(String productId, int qty) {
+			}
+
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return true;
+			}
+		};
+		TaxCalculator tax = new TaxCalculator() {
+			@Override
+			public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+				return net.multiply(new BigDecimal("0.10"));
+			}
+
+			@Override
+			public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+				return net.multiply(new BigDecimal("1.10"));
+			}
+		};
+		// 半額割引の後ろに cap 30% を置き、必ず差し戻しが起きる構成
+		DiscountPolicy half = new DiscountPolicy() {
+			@Override
+			public BigDecimal discount(OrderRequest req, ProductRepository repo, BigDecimal base) {
+				return base.multiply(new BigDecimal("0.5"));
+			}
+
+			@Override
+			public DiscountType type() {
+				return DiscountType.HIGH_AMOUNT;
+			}
+		};
+		var service = new OrderService(products, inventory, tax, List.of(half, new CapPolicy(new BigDecimal("0.30"))));
+		return new PlaceOrderUseCase(service, products, order -> "ORDER-1");
+	}
+}
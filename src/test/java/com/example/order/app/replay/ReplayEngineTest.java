@@ -0,0 +1,197 @@
+package com.example.order.app.replay;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.app.dto.OrderResult;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.discount.CapPolicy;
+import com.example.order.domain.policy.discount.HighAmountDiscount;
+import com.example.order.domain.policy.discount.MultiItemDiscount;
+import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+class ReplayEngineTest {
+	private static final TaxCalculator TAX = new TaxCalculator() {
+		@Override
+		public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+			return net.multiply(new BigDecimal("0.10"));
+		}
+
+		@Override
+		public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+			return net.multiply(new BigDecimal("1.10")).setScale(0, mode);
+		}
+	};
+	private static final InventoryService NEVER = new InventoryService() {
+		@Override
+		public void reserve(String productId, int qty) {
+		}
+
+		@Override
+		public boolean checkAvailable(String productId, int qty) {
+			return true;
+		}
+	};
+
+	private final Map<String, Product> catalog = new HashMap<>();
+	private final ProductRepository products = id -> Optional.ofNullable(catalog.get(id));
+
+	ReplayEngineTest() {
+		for (int i = 0; i < 40; i++)
+			catalog.put("P%03d".formatted(i), new Product("P%03d".formatted(i), "item", BigDecimal.valueOf(50 + i * 37)));
+	}
+
+	@Test
+	@DisplayName("保存済み注文を並行に再計算し、差分と集計が逐次の見積りと一致する")
+	void replays_persisted_orders_and_matches_sequential_quotes() {
+		List<OrderRequest> requests = randomRequests(5_000, 11);
+		var current = new OrderService(products, NEVER, TAX, policies("0.30"));
+		List<ReplayOrder> history = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++)
+			history.add(ReplayOrder.of("ORD-" + i, persisted(requests.get(i), current.quote(requests.get(i))), null));
+
+		var engine = new ReplayEngine(id -> fail("catalog must not be used for persisted orders"), TAX, List.of(
+				new PricingConfig("current", policies("0.30")), new PricingConfig("cap-4", policies("0.04"))), 3, 64);
+		Map<String, OrderDiff> diffs = new ConcurrentHashMap<>();
+		var report = engine.replay(history.iterator(), d -> assertThat(diffs.put(d.config() + "/" + d.key(), d)).isNull());
+
+		assertThat(report.orders()).isEqualTo(5_000);
+		ConfigImpact same = report.impacts().get("current");
+		assertThat(same.orders()).isEqualTo(5_000);
+		assertThat(same.changed()).isZero();
+		assertThat(same.failed()).isZero();
+		assertThat(same.discountDelta()).isEqualByComparingTo("0");
+
+		var cap4 = new OrderService(products, NEVER, TAX, policies("0.04"));
+		BigDecimal expectedDelta = BigDecimal.ZERO;
+		int expectedChanged = 0;
+		for (int i = 0; i < requests.size(); i++) {
+			OrderResult before = current.quote(requests.get(i));
+			OrderResult after = cap4.quote(requests.get(i));
+			OrderDiff diff = diffs.get("cap-4/ORD-" + i);
+			if (before.equals(after)) {
+				assertThat(diff).isNull();
+			} else {
+				expectedChanged++;
+				assertThat(diff.candidate()).isEqualTo(after);
+				assertThat(diff.baseline().totalGross()).isEqualTo(before.totalGross());
+				expectedDelta = expectedDelta.add(after.totalDiscount().subtract(before.totalDiscount()));
+			}
+		}
+		ConfigImpact impact = report.impacts().get("cap-4");
+		assertThat(expectedChanged).isPositive();
+		assertThat(impact.changed()).isEqualTo(expectedChanged);
+		assertThat(diffs).hasSize(expectedChanged);
+		assertThat(impact.discountDelta()).isEqualByComparingTo(expectedDelta).isNegative();
+		assertThat(impact.candidateCapEngaged()).isGreaterThan(impact.baselineCapEngaged());
+		assertThat(report.impacts().keySet()).containsExactly("current", "cap-4");
+	}
+
+	@Test
+	@DisplayName("リクエストログは先頭の構成を基準にし、解決できない注文は失敗として数えて流す")
+	void replays_request_log_against_first_config() {
+		List<ReplayOrder> log = new ArrayList<>();
+		for (OrderRequest r : randomRequests(500, 5))
+			log.add(ReplayOrder.of("REQ-" + log.size(), r));
+		log.add(ReplayOrder.of("REQ-bad", new OrderRequest("JP", null, List.of(new OrderRequest.Line("NOPE", 1)))));
+
+		var engine = new ReplayEngine(products, TAX, List.of(
+				new PricingConfig("current", policies("0.30")), new PricingConfig("cap-4", policies("0.04"))), 2, 7);
+		List<OrderDiff> failures = new ArrayList<>();
+		var report = engine.replay(log.iterator(), d -> {
+			if (d.failed())
+				synchronized (failures) {
+					failures.add(d);
+				}
+		});
+
+		assertThat(report.impacts().get("current").changed()).isZero();
+		assertThat(report.impacts().get("current").failed()).isEqualTo(1);
+		assertThat(report.impacts().get("cap-4").orders()).isEqualTo(501);
+		assertThat(failures).extracting(OrderDiff::config, OrderDiff::error).containsExactlyInAnyOrder(
+				tuple("current", "product not found: NOPE"), tuple("cap-4", "product not found: NOPE"));
+	}
+
+	@Test
+	@DisplayName("sink の例外で読み込みを止めて投げ直す")
+	void sink_failure_stops_replay() {
+		var engine = new ReplayEngine(products, TAX, List.of(
+				new PricingConfig("current", policies("0.30")), new PricingConfig("cap-4", policies("0.04"))), 2, 10);
+		var read = new AtomicInteger();
+		List<OrderRequest> requests = randomRequests(100_000, 3);
+		var it = requests.stream().map(r -> {
+			read.incrementAndGet();
+			return ReplayOrder.of("R", r);
+		}).iterator();
+
+		assertThatThrownBy(() -> engine.replay(it, d -> {
+			throw new IllegalStateException("sink down");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("sink down");
+		assertThat(read.get()).isLessThan(100_000);
+		assertThatThrownBy(() -> new ReplayEngine(products, TAX, List.of(new PricingConfig("a", policies("0.3")),
+				new PricingConfig("a", policies("0.2"))))).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("config names must be unique");
+	}
+
+	@Test
+	@DisplayName("ワーカーで Error が起きても replay は止まらずに返り、原因付きの例外を投げる")
+	void worker_error_does_not_hang_replay() {
+		var engine = new ReplayEngine(products, TAX, List.of(
+				new PricingConfig("current", policies("0.30")), new PricingConfig("cap-4", policies("0.04"))), 2, 10);
+		var it = randomRequests(10_000, 5).stream().map(r -> ReplayOrder.of("R", r)).iterator();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThatThrownBy(() -> engine.replay(it, d -> {
+			throw new AssertionError("sink bug");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("replay worker failed")
+				.hasCauseInstanceOf(AssertionError.class));
+	}
+
+	private static List<DiscountPolicy> policies(String cap) {
+		return List.of(new VolumeDiscount(), new MultiItemDiscount(), new HighAmountDiscount(),
+				new CapPolicy(new BigDecimal(cap)));
+	}
+
+	private static List<OrderRequest> randomRequests(int n, long seed) {
+		Random random = new Random(seed);
+		List<OrderRequest> result = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			int lines = 1 + random.nextInt(4);
+			List<OrderRequest.Line> l = new ArrayList<>();
+			for (int k = 0; k < lines; k++)
+				l.add(new OrderRequest.Line("P%03d".formatted(random.nextInt(40)), 1 + random.nextInt(15)));
+			result.add(new OrderRequest(random.nextBoolean() ? "JP" : "US", null, List.copyOf(l)));
+		}
+		return result;
+	}
+
+	private OrderPersistenceModel persisted(OrderRequest req, OrderResult r) {
+		List<OrderLinePersistence> lines = req.lines().stream()
+				.map(l -> new OrderLinePersistence(l.productId(), l.qty(), catalog.get(l.productId()).price()))
+				.toList();
+		return new OrderPersistenceModel(req.region(), lines, r.totalNetBeforeDiscount(), r.totalDiscount(),
+				r.totalNetAfterDiscount(), r.totalTax(), r.totalGross(), r.appliedDiscounts());
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.order.app.reporting;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.domain.model.OrderLinePersistence;
+import com.example.order.domain.model.OrderPersistenceModel;
+
+class OrderColumnsTest {
+	private static final String[] REGIONS = { "JP", "US", "EU" };
+
+	@Test
+	@DisplayName("複数セグメントにまたがる集計が、行ごとの BigDecimal 合計と一致する")
+	void aggregates_match_row_by_row_reference() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			var sut = new OrderColumns(1_000, pool);
+			List<OrderPersistenceModel> orders = randomOrders(10_345, 42);
+			orders.forEach(sut::append);
+			assertThat(sut.rowCount()).isEqualTo(orders.size());
+
+			assertThat(sut.aggregate(GroupBy.NONE, RowFilter.all())).containsExactly(
+					Map.entry("ALL", reference(orders)));
+			for (String region : REGIONS) {
+				assertThat(sut.aggregate(GroupBy.REGION, RowFilter.all()).get(region))
+						.isEqualTo(reference(orders.stream().filter(o -> o.region().equals(region)).toList()));
+			}
+
+			Map<String, Totals> byType = sut.aggregate(GroupBy.DISCOUNT_TYPE, RowFilter.region("JP"));
+			Map<String, Totals> expected = new TreeMap<>();
+			List<OrderPersistenceModel> jp = orders.stream().filter(o -> o.region().equals("JP")).toList();
+			for (DiscountType t : DiscountType.values()) {
+				var rows = jp.stream().filter(o -> o.appliedDiscounts().contains(t)).toList();
+				if (!rows.isEmpty())
+					expected.put(t.name(), reference(rows));
+			}
+			expected.put("NONE", reference(jp.stream().filter(o -> o.appliedDiscounts().isEmpty()).toList()));
+			assertThat(new TreeMap<>(byType)).isEqualTo(expected);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("地域・割引・商品の条件を組み合わせて絞り込め、未登録の値は0件")
+	void filters_combine() {
+		var sut = new OrderColumns(2, ForkJoinPool.commonPool());
+		sut.append(order("JP", List.of(DiscountType.VOLUME, DiscountType.CAP), "100.50", "P001", "P002"));
+		sut.append(order("JP", List.of(DiscountType.VOLUME), "200", "P002"));
+		sut.append(order("US", List.of(DiscountType.CAP), "300.25", "P001"));
+		sut.append(order("JP", List.of(), "50", "P003"));
+		sut.append(order("US", List.of(), "10.01", "P001", "P001"));
+
+		Totals jpP001 = sut.aggregate(GroupBy.NONE, RowFilter.and(RowFilter.region("JP"), RowFilter.product("P001")))
+				.get("ALL");
+		assertThat(jpP001.count()).isEqualTo(1);
+		assertThat(jpP001.netBefore()).isEqualByComparingTo("100.50");
+
+		Totals p001 = sut.aggregate(GroupBy.NONE, RowFilter.product("P001")).get("ALL");
+		assertThat(p001.count()).isEqualTo(3);
+		assertThat(p001.netBefore()).isEqualTo(new BigDecimal("410.76"));
+
+		assertThat(sut.aggregate(GroupBy.REGION, RowFilter.discount(DiscountType.CAP)).keySet())
+				.containsExactly("JP", "US");
+		assertThat(sut.aggregate(GroupBy.NONE, RowFilter.region("EU"))).isEmpty();
+		assertThat(sut.aggregate(GroupBy.NONE, RowFilter.product("P999"))).isEmpty();
+
+		assertThat(sut.engagementRate(DiscountType.CAP, RowFilter.all())).isEqualTo(0.4);
+		assertThat(sut.engagementRate(DiscountType.CAP, RowFilter.region("JP"))).isEqualTo(1.0 / 3);
+		assertThat(sut.engagementRate(DiscountType.CAP, RowFilter.region("EU"))).isZero();
+	}
+
+	@Test
+	@DisplayName("小数2桁を超える金額は受け付けず、行も増えない")
+	void rejects_amounts_beyond_two_decimals() {
+		var sut = new OrderColumns();
+		assertThatThrownBy(() -> sut.append(order("JP", List.of(), "1.005", "P001")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("amount must have at most 2 decimal places: 1.005");
+		assertThatThrownBy(() -> sut.append(null))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("order must not be null");
+		assertThat(sut.rowCount()).isZero();
+		assertThatThrownBy(() -> new OrderColumns(0, ForkJoinPool.commonPool()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Totals reference(List<OrderPersistenceModel> rows) {
+		BigDecimal[] sums = new BigDecimal[5];
+		Arrays.fill(sums, new BigDecimal("0.00"));
+		for (OrderPersistenceModel o : rows) {
+			sums[0] = sums[0].add(o.netBefore());
+			sums[1] = sums[1].add(o.totalDiscount());
+			sums[2] = sums[2].add(o.netAfter());
+			sums[3] = sums[3].add(o.totalTax());
+			sums[4] = sums[4].add(o.gross());
+		}
+		return new Totals(rows.size(), sums[0], sums[1], sums[2], sums[3], sums[4]);
+	}
+
+	private static List<OrderPersistenceModel> randomOrders(int n, long seed) {
+		Random random = new Random(seed);
+		DiscountType[] types = DiscountType.values();
+		List<OrderPersistenceModel> orders = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			EnumSet<DiscountType> applied = EnumSet.noneOf(DiscountType.class);
+			for (DiscountType t : types) {
+				if (random.nextInt(4) == 0)
+					applied.add(t);
+			}
+			String net = BigDecimal.valueOf(random.nextInt(10_000_000), 2).toPlainString();
+			orders.add(order(REGIONS[random.nextInt(REGIONS.length)], List.copyOf(applied), net,
+					"P" + random.nextInt(50)));
+		}
+		return orders;
+	}
+
+	private static OrderPersistenceModel order(String region, List<DiscountType> applied, String netBefore,
+			String... productIds) {
+		List<OrderLinePersistence> lines = new ArrayList<>();
+		for (String id : productIds)
+			lines.add(new OrderLinePersistence(id, 1, new BigDecimal("100")));
+		BigDecimal before = new BigDecimal(netBefore);
+		BigDecimal discount = applied.isEmpty() ? BigDecimal.ZERO : before.divideToIntegralValue(BigDecimal.TEN);
+		BigDecimal net = before.subtract(discount);
+		BigDecimal tax = net.movePointLeft(1).setScale(2, RoundingMode.DOWN);
+		return new OrderPersistenceModel(region, List.copyOf(lines), before, discount, net, tax, net.add(tax), applied);
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.order.app.scheduling;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.admission.Priority;
+
+class OrderSchedulerTest {
+	private final CountDownLatch release = new CountDownLatch(1);
+	private OrderScheduler sut;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		release.countDown();
+		if (sut != null) {
+			sut.shutdown();
+			sut.awaitTermination(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	@DisplayName("混雑時は weight の比（CHECKOUT 3 : BATCH 1）で取り出す")
+	void weighted_fair_sharing_under_contention() throws Exception {
+		sut = new OrderScheduler(1, config(3, 1, 100, 1));
+		var order = new CopyOnWriteArrayList<Priority>();
+		var blocker = sut.submit(Priority.QUOTE, this::block);
+		awaitRunning(Priority.QUOTE, 1);
+
+		List<CompletableFuture<Boolean>> all = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			all.add(sut.submit(Priority.BATCH, () -> order.add(Priority.BATCH)));
+			all.add(sut.submit(Priority.CHECKOUT, () -> order.add(Priority.CHECKOUT)));
+		}
+		release.countDown();
+		blocker.get(5, TimeUnit.SECONDS);
+		for (var f : all)
+			f.get(5, TimeUnit.SECONDS);
+
+		long checkoutInFirst8 = order.subList(0, 8).stream().filter(p -> p == Priority.CHECKOUT).count();
+		assertThat(checkoutInFirst8).isEqualTo(6);
+	}
+
+	@Test
+	@DisplayName("BATCH は maxConcurrent までに抑えられ、残したワーカーで CHECKOUT がすぐ動く")
+	void batch_leaves_capacity_for_checkout() throws Exception {
+		sut = new OrderScheduler(2, config(1, 1, 100, 1));
+		var b1 = sut.submit(Priority.BATCH, this::block);
+		var b2 = sut.submit(Priority.BATCH, this::block);
+		awaitRunning(Priority.BATCH, 1);
+
+		assertThat(sut.submit(Priority.CHECKOUT, () -> "ok").get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+		assertThat(sut.metrics(Priority.BATCH).queueDepth()).isEqualTo(1);
+
+		release.countDown();
+		b1.get(5, TimeUnit.SECONDS);
+		b2.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	@DisplayName("待ち行列が満杯なら RejectedExecutionException、待ち時間と件数を計測する")
+	void rejects_when_queue_full_and_reports_metrics() throws Exception {
+		sut = new OrderScheduler(1, Map.of(
+				Priority.CHECKOUT, new WorkloadConfig(4, 2, 1),
+				Priority.QUOTE, new WorkloadConfig(2, 2, 1),
+				Priority.BATCH, new WorkloadConfig(1, 2, 1)));
+		var blocker = sut.submit(Priority.CHECKOUT, this::block);
+		awaitRunning(Priority.CHECKOUT, 1);
+		var q1 = sut.submit(Priority.QUOTE, () -> "q1");
+		var q2 = sut.submit(Priority.QUOTE, () -> "q2");
+
+		assertThatThrownBy(() -> sut.submit(Priority.QUOTE, () -> "q3"))
+				.isInstanceOf(RejectedExecutionException.class).hasMessage("QUOTE queue is full");
+		assertThat(sut.metrics(Priority.QUOTE).queueDepth()).isEqualTo(2);
+
+		Thread.sleep(20);
+		release.countDown();
+		blocker.get(5, TimeUnit.SECONDS);
+		q1.get(5, TimeUnit.SECONDS);
+		q2.get(5, TimeUnit.SECONDS);
+		sut.shutdown();
+		assertThat(sut.awaitTermination(Duration.ofSeconds(5))).isTrue();
+
+		var quote = sut.metrics(Priority.QUOTE);
+		assertThat(quote.completed()).isEqualTo(2);
+		assertThat(quote.rejected()).isEqualTo(1);
+		assertThat(quote.maxWaitNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+		assertThat(quote.p99WaitNanos()).isBetween(quote.meanWaitNanos(), quote.maxWaitNanos());
+		assertThatThrownBy(() -> sut.submit(Priority.CHECKOUT, () -> "late")).isInstanceOf(RejectedExecutionException.class);
+	}
+
+	private String block() {
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "done";
+	}
+
+	private void awaitRunning(Priority priority, int n) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sut.metrics(priority).running() < n && System.nanoTime() < deadline)
+			Thread.sleep(5);
+		assertThat(sut.metrics(priority).running()).isEqualTo(n);
+	}
+
+	private static Map<Priority, WorkloadConfig> config(int checkoutWeight, int batchWeight, int capacity, int batchConcurrency) {
+		return Map.of(
+				Priority.CHECKOUT, new WorkloadConfig(checkoutWeight, capacity, 8),
+				Priority.QUOTE, new WorkloadConfig(1, capacity, 8),
+				Priority.BATCH, new WorkloadConfig(batchWeight, capacity, batchConcurrency));
+	}
+}
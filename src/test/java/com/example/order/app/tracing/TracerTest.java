@@ -0,0 +1,129 @@
+package com.example.order.app.tracing;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+class TracerTest {
+	private static final OrderRequest ORDER = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+			new OrderRequest.Line("P001", 10), new OrderRequest.Line("P002", 1)));
+	private static final OrderRequest NO_STOCK = new OrderRequest("JP", null, List.of(
+			new OrderRequest.Line("P404", 1)));
+
+	private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+
+	@Test
+	@DisplayName("サンプリングされた注文は各段階が order.execute の子孫スパンとして属性付きで出力される")
+	void sampled_order_exports_stage_spans() {
+		var useCase = useCase(new Tracer(1.0, Duration.ofSeconds(10), exporter));
+
+		assertThat(useCase.execute(ORDER)).isEqualTo("ORDER-1");
+
+		assertThat(exporter.spans()).extracting(SpanData::name).containsExactlyInAnyOrder(
+				"order.execute", "order.placeOrder", "inventory.checkAvailable", "product.findById", "discount",
+				"tax", "inventory.reserve", "order.save");
+		var root = exporter.named("order.execute").get(0);
+		var placeOrder = exporter.named("order.placeOrder").get(0);
+		assertThat(root.parentId()).isZero();
+		assertThat(root.attributes()).containsEntry("region", "JP").containsEntry("lineCount", 2L)
+				.containsEntry("orderId", "ORDER-1");
+		assertThat(placeOrder.parentId()).isEqualTo(root.spanId());
+		assertThat(exporter.named("discount").get(0).parentId()).isEqualTo(placeOrder.spanId());
+		assertThat(exporter.named("discount").get(0).attributes())
+				.containsEntry("applied", List.of(DiscountType.VOLUME));
+		assertThat(exporter.named("order.save").get(0).parentId()).isEqualTo(root.spanId());
+		assertThat(exporter.spans()).extracting(SpanData::traceId).containsOnly(root.traceId());
+		assertThat(Tracer.span("after").isRecording()).isFalse(); // スレッド上の現在スパンは片付いている
+	}
+
+	@Test
+	@DisplayName("サンプリング外でも失敗・遅延した注文はルートスパンだけ残し、速い成功は何も出力しない")
+	void tail_sampling_keeps_failed_and_slow_orders() {
+		var useCase = useCase(new Tracer(0.0, Duration.ofSeconds(10), exporter));
+
+		useCase.execute(ORDER);
+		assertThat(exporter.spans()).isEmpty();
+
+		assertThatThrownBy(() -> useCase.execute(NO_STOCK)).isInstanceOf(IllegalStateException.class);
+		assertThat(exporter.spans()).singleElement().satisfies(s -> {
+			assertThat(s.name()).isEqualTo("order.execute");
+			assertThat(s.error()).isEqualTo("IllegalStateException: no stock for product P404");
+			assertThat(s.attributes()).containsEntry("sampling", "tail");
+		});
+
+		exporter.reset();
+		useCase(new Tracer(0.0, Duration.ZERO, exporter)).execute(ORDER);
+		assertThat(exporter.spans()).extracting(SpanData::name).containsExactly("order.execute");
+	}
+
+	@Test
+	@DisplayName("サンプリングされた失敗注文は、失敗した段階のスパンにも例外が残る")
+	void failed_stage_span_records_error() {
+		var useCase = useCase(new Tracer(1.0, Duration.ofSeconds(10), exporter));
+
+		assertThatThrownBy(() -> useCase.execute(NO_STOCK)).isInstanceOf(IllegalStateException.class);
+
+		String error = "IllegalStateException: no stock for product P404";
+		assertThat(exporter.named("inventory.checkAvailable").get(0).error()).isEqualTo(error);
+		assertThat(exporter.named("order.placeOrder").get(0).error()).isEqualTo(error);
+		assertThat(exporter.named("order.execute").get(0).error()).isEqualTo(error);
+		assertThat(exporter.named("product.findById")).isEmpty(); // 在庫確認で止まり、以降の段階は走らない
+	}
+
+	@Test
+	@DisplayName("NOOP トレーサやトレース外では共有の記録しないスパンを返す")
+	void noop_tracer_does_not_record() {
+		useCase(Tracer.NOOP).execute(ORDER);
+
+		assertThat(Tracer.NOOP.root("x")).isSameAs(Span.NOOP);
+		assertThat(Tracer.span("x")).isSameAs(Span.NOOP);
+		assertThat(exporter.spans()).isEmpty();
+	}
+
+	private static PlaceOrderUseCase useCase(Tracer tracer) {
+		Map<String, Product> catalog = Map.of(
+				"P001", new Product("P001", "A", new BigDecimal("100")),
+				"P002", new Product("P002", "B", new BigDecimal("50")),
+				"P404", new Product("P404", "C", new BigDecimal("10")));
+		ProductRepository products = id -> Optional.ofNullable(catalog.get(id));
+		InventoryService inventory = new InventoryService() {
+			@Override
+			public void reserve(String productId, int qty) {
+			}
+
+			@Override
+			public boolean checkAvailable(String productId, int qty) {
+				return !productId.equals("P404");
+			}
+		};
+		TaxCalculator tax = new TaxCalculator() {
+			@Override
+			public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+				return BigDecimal.ZERO;
+			}
+
+			@Override
+			public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+				return net;
+			}
+		};
+		return new PlaceOrderUseCase(new OrderService(products, inventory, tax), products, order -> "ORDER-1", tracer);
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.order.app.warmup;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.order.adapter.outbound.catalog.CachingProductRepository;
+import com.example.order.app.OrderService;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.TaxCalculator;
+
+class StartupWarmupTest {
+	@TempDir
+	Path dir;
+
+	private final AtomicInteger backendLookups = new AtomicInteger();
+	private final ProductRepository backend = id -> {
+		backendLookups.incrementAndGet();
+		return Optional.ofNullable(Map.of(
+				"P001", new Product("P001", "A", new BigDecimal("100")),
+				"P002", new Product("P002", "B", new BigDecimal("250")),
+				"P003", new Product("P003", "C", new BigDecimal("1200"))).get(id));
+	};
+	private final TaxCalculator tax = new TaxCalculator() {
+		@Override
+		public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+			return net.multiply(new BigDecimal("0.10")).setScale(2, mode);
+		}
+
+		@Override
+		public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+			return net.multiply(new BigDecimal("1.10")).setScale(0, mode);
+		}
+	};
+
+	@Test
+	@DisplayName("売れ筋を読み込み、在庫に触れずに見積りを流し、コンパイルが落ち着いてから ready になる")
+	void preloads_primes_pricing_and_reports_ready_after_compilation_settles() throws Exception {
+		Path hot = Files.writeString(dir.resolve("hot-skus.txt"), """
+				# 売れ筋（上ほど売れる）
+				P001
+				P002   # セール中
+				P001
+
+				P999
+				P003
+				""");
+		var cache = new CachingProductRepository(backend, 100);
+		var inventory = mock(InventoryService.class);
+		var spyTax = spy(tax);
+		var orders = new OrderService(cache, inventory, spyTax);
+		// 開始時とラウンドごとのコンパイル時間（ms）：2ラウンドは増え、その後は横ばい
+		long[] readings = { 0, 40, 65, 65, 68, 68, 68 };
+		var calls = new AtomicInteger();
+		var sut = new StartupWarmup(orders, cache, spyTax, hot, List.of("JP", "US"),
+				new WarmupConfig(50, 3, 5, Duration.ofSeconds(30)),
+				() -> readings[Math.min(calls.getAndIncrement(), readings.length - 1)]);
+
+		assertThat(sut.isReady()).isFalse();
+		var report = sut.run();
+
+		assertThat(sut.isReady()).isTrue();
+		assertThat(report.hotSkus()).isEqualTo(4); // 重複とコメントを除く
+		assertThat(report.cachedProducts()).isEqualTo(3); // P999 は存在しない
+		assertThat(report.rounds()).isEqualTo(5); // 増分 40, 25, 0, 3, 0 → 3〜5 ラウンド目が閾値 5ms 以下
+		assertThat(report.pricedOrders()).isEqualTo(250);
+		assertThat(report.stabilized()).isTrue();
+		verify(spyTax, atLeastOnce()).calcTaxAmount(any(), eq("US"), eq(RoundingMode.HALF_DOWN));
+		verifyNoInteractions(inventory); // 在庫確認も在庫確保もしない
+
+		int before = backendLookups.get();
+		orders.quote(new OrderRequest("JP", null, List.of(new OrderRequest.Line("P002", 1))));
+		assertThat(backendLookups.get()).isEqualTo(before); // キャッシュ済み
+	}
+
+	@Test
+	@DisplayName("コンパイル時間を計測できない JVM では quietRounds で打ち切り、安定とは報告しない")
+	void stops_after_quiet_rounds_when_compilation_time_is_unavailable() throws Exception {
+		Path hot = Files.writeString(dir.resolve("hot-skus.txt"), "P001\nP002\n");
+		var cache = new CachingProductRepository(backend, 100);
+		var sut = new StartupWarmup(new OrderService(cache, mock(InventoryService.class), tax), cache, tax, hot,
+				List.of("JP"), new WarmupConfig(10, 2, 5, Duration.ofSeconds(30)), () -> -1);
+
+		var report = sut.run();
+
+		assertThat(report.rounds()).isEqualTo(2);
+		assertThat(report.stabilized()).isFalse();
+		assertThat(sut.isReady()).isTrue();
+	}
+
+	@Test
+	@DisplayName("見積りは placeOrder と同じ金額で、在庫 Port を呼ばない")
+	void quote_matches_place_order_without_inventory() {
+		var inventory = mock(InventoryService.class);
+		when(inventory.checkAvailable(anyString(), anyInt())).thenReturn(true);
+		var orders = new OrderService(backend, inventory, tax);
+		var req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+				new OrderRequest.Line("P001", 10), new OrderRequest.Line("P002", 1), new OrderRequest.Line("P003", 1)));
+
+		var quoted = orders.quote(req);
+		verifyNoInteractions(inventory);
+
+		assertThat(orders.placeOrder(req)).isEqualTo(quoted);
+	}
+}
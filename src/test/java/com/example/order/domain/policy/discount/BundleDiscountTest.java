@@ -0,0 +1,125 @@
+package com.example.order.domain.policy.discount;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.OrderContext;
+import com.example.order.domain.service.DiscountEngine;
+import com.example.order.domain.service.PolicyIndex;
+
+class BundleDiscountTest {
+	private static final BigDecimal RATE = new BigDecimal("0.10");
+
+	@Test
+	@DisplayName("貪欲では取りこぼす組み合わせでも割引額が最大になる割当を選ぶ")
+	void picks_optimal_assignment_over_greedy() {
+		// 1組あたり最高額の ABC を取ると B が1個余るだけになる構成
+		var bundles = List.of(
+				new Bundle("ABC", Map.of("A", 1, "B", 1, "C", 1), RATE),
+				new Bundle("AB", Map.of("A", 1, "B", 1), RATE),
+				new Bundle("BC", Map.of("B", 1, "C", 1), RATE));
+		var policy = new BundleDiscount(bundles);
+		var ctx = order(line("A", 1, "1000"), line("B", 2, "1000"), line("C", 1, "1000"));
+
+		// ABC×1 = 300 だが AB×1 + BC×1 = 400
+		assertThat(policy.discount(ctx, BigDecimal.ZERO)).isEqualByComparingTo("400");
+		assertThat(policy.assignment(ctx)).containsOnly(entry("AB", 1), entry("BC", 1));
+	}
+
+	@Test
+	@DisplayName("構成商品が揃わない注文では割引しない")
+	void no_discount_when_bundle_incomplete() {
+		var policy = new BundleDiscount(List.of(new Bundle("AB", Map.of("A", 1, "B", 2), RATE)));
+
+		assertThat(policy.discount(order(line("A", 3, "500"), line("B", 1, "500")), BigDecimal.ZERO))
+				.isEqualByComparingTo("0");
+	}
+
+	@Test
+	@DisplayName("予算を使い切ると価値降順の貪欲解に決定的に切り替わる")
+	void falls_back_to_deterministic_greedy_when_budget_exhausted() {
+		var bundles = List.of(
+				new Bundle("ABC", Map.of("A", 1, "B", 1, "C", 1), RATE),
+				new Bundle("AB", Map.of("A", 1, "B", 1), RATE),
+				new Bundle("BC", Map.of("B", 1, "C", 1), RATE));
+		var ctx = order(line("A", 1, "1000"), line("B", 2, "1000"), line("C", 1, "1000"));
+
+		for (int i = 0; i < 3; i++) {
+			var policy = new BundleDiscount(bundles, 1, 16);
+			var solution = policy.assign(ctx);
+			assertThat(solution.exact()).isFalse();
+			assertThat(solution.value()).isEqualByComparingTo("300"); // ABC を先に取る
+			assertThat(policy.assignment(ctx)).containsOnly(entry("ABC", 1));
+		}
+	}
+
+	@Test
+	@DisplayName("状態が少なくても数量が大きく組数ループが長いときは、反復を予算に数えて貪欲解に切り替える")
+	void counts_loop_iterations_against_budget() {
+		var bundles = List.of(new Bundle("AB", Map.of("A", 1, "B", 1), RATE)); // 状態は1つ、組数の候補は 100,001 通り
+		var ctx = order(line("A", 100_000, "10"), line("B", 100_000, "10"));
+
+		var budgeted = new BundleDiscount(bundles, 1_000, 16).assign(ctx);
+		var exact = new BundleDiscount(bundles, 1_000_000, 16).assign(ctx);
+
+		assertThat(budgeted.exact()).isFalse();
+		assertThat(exact.exact()).isTrue();
+		assertThat(budgeted.value()).isEqualByComparingTo(exact.value()).isEqualByComparingTo("200000");
+	}
+
+	@Test
+	@DisplayName("同じ商品・数量・単価の組み合わせは行の並びが違ってもキャッシュした解を使う")
+	void reuses_solution_for_identical_multiset() {
+		var policy = new BundleDiscount(List.of(new Bundle("AB", Map.of("A", 1, "B", 1), RATE)));
+
+		var first = policy.assign(order(line("A", 2, "100"), line("X", 1, "1"), line("B", 3, "200")));
+		var second = policy.assign(order(line("B", 1, "200"), line("A", 2, "100"), line("B", 2, "200")));
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.value()).isEqualByComparingTo("60");
+	}
+
+	@Test
+	@DisplayName("数百行の注文でも予算内で解を返し DiscountEngine から適用される")
+	void large_order_through_engine() {
+		List<Bundle> bundles = new ArrayList<>();
+		for (int b = 0; b < 20; b++)
+			bundles.add(new Bundle("S" + b, Map.of("P" + b, 1, "P" + (b + 1), 2, "P" + (b + 3), 1), RATE));
+		List<Line> lines = new ArrayList<>();
+		for (int i = 0; i < 400; i++)
+			lines.add(line("P" + (i % 25), 1 + i % 4, "100"));
+		var ctx = order(lines.toArray(new Line[0]));
+		var policy = new BundleDiscount(bundles, 50_000, 16);
+
+		var result = DiscountEngine.applyInOrder(PolicyIndex.of(List.of(policy)), ctx, null, null);
+
+		assertThat(result.total()).isPositive();
+		assertThat(result.total()).isEqualByComparingTo(policy.assign(ctx).value());
+	}
+
+	private record Line(OrderRequest.Line line, Product product) {
+	}
+
+	private static Line line(String id, int qty, String price) {
+		return new Line(new OrderRequest.Line(id, qty), new Product(id, id, new BigDecimal(price)));
+	}
+
+	private static OrderContext order(Line... lines) {
+		List<OrderRequest.Line> ls = new ArrayList<>();
+		List<Product> ps = new ArrayList<>();
+		for (var l : lines) {
+			ls.add(l.line());
+			ps.add(l.product());
+		}
+		return OrderContext.of("JP", ls, ps);
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.order.domain.policy.rule;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+import com.example.order.domain.policy.discount.CapPolicy;
+import com.example.order.domain.policy.discount.HighAmountDiscount;
+import com.example.order.domain.policy.discount.MultiItemDiscount;
+import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.domain.service.DiscountEngine;
+
+class DiscountRuleBookTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("既定ルールファイルは組み込み4ポリシーと同じ結果になる（Cap 5% 発動ケース含む）")
+	void default_rules_match_builtin_policies() throws IOException {
+		assertSameAsBuiltin(copyDefaultRules(), "0.30");
+		Path cap5 = dir.resolve("cap5.rules");
+		Files.writeString(cap5, Files.readString(copyDefaultRules()).replace("cap rate=0.30", "cap rate=0.05"));
+		assertSameAsBuiltin(cap5, "0.05");
+	}
+
+	private static void assertSameAsBuiltin(Path rules, String capRate) {
+		var book = DiscountRuleBook.load(rules);
+		List<DiscountPolicy> builtin = List.of(new VolumeDiscount(), new MultiItemDiscount(),
+				new HighAmountDiscount(), new CapPolicy(new BigDecimal(capRate)));
+		var random = new Random(42);
+
+		for (int n = 0; n < 500; n++) {
+			var ctx = randomOrder(random);
+			var expected = DiscountEngine.applyInOrder(builtin, ctx, null, null);
+			var actual = DiscountEngine.applyInOrder(book.policies(), ctx, null, null);
+			assertThat(actual.total()).isEqualTo(expected.total()); // スケールも含めて一致
+			assertThat(actual.applied()).isEqualTo(expected.applied());
+		}
+	}
+
+	@Test
+	@DisplayName("reload で新しいルールに原子的に差し替わる。失敗時は現行を維持")
+	void reload_swaps_rules_and_keeps_current_on_error() throws IOException {
+		Path file = dir.resolve("campaign.rules");
+		Files.writeString(file, "rule VOLUME order=1 scope=line rate=0.05 when=line.qty>=10\n");
+		var book = DiscountRuleBook.load(file);
+		var before = book.policies();
+
+		Files.writeString(file, """
+				rule VOLUME order=1 scope=line rate=0.10 when=line.qty>=5
+				rule HIGH_AMOUNT order=2 scope=order rate=0.01 when=region==JP when=subtotal>=1000
+				""");
+		book.reload();
+		var ctx = OrderContext.of("JP", List.of(new OrderRequest.Line("P001", 5)),
+				List.of(new Product("P001", "A", new BigDecimal("1000"))));
+		var r = DiscountEngine.applyInOrder(book.policies(), ctx, null, null);
+
+		// volume 5000*0.10=500 → base 4500 * 0.01 = 45
+		assertThat(r.total()).isEqualByComparingTo("545");
+		assertThat(r.applied()).containsExactly(DiscountType.VOLUME, DiscountType.HIGH_AMOUNT);
+
+		var reloaded = book.policies();
+		Files.writeString(file, "rule VOLUME order=1 scope=order rate=0.05 when=line.qty>=10\n");
+		assertThatThrownBy(book::reload)
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("line 1: line conditions require scope=line");
+		assertThat(book.policies()).isSameAs(reloaded).isNotSameAs(before);
+	}
+
+	@Test
+	@DisplayName("order 昇順で並び、cap は記述位置によらず末尾に置かれる")
+	void orders_rules_and_places_cap_last() throws IOException {
+		var policies = DiscountRuleParser.parse(new StringReader("""
+				cap rate=0.05
+				rule HIGH_AMOUNT order=3 scope=order rate=0.03
+				rule VOLUME order=1 scope=line rate=0.05  # コメント
+				rule MULTI_ITEM order=3 scope=order rate=0.02
+				"""));
+
+		assertThat(policies).extracting(DiscountPolicy::type).containsExactly(
+				DiscountType.VOLUME, DiscountType.HIGH_AMOUNT, DiscountType.MULTI_ITEM, DiscountType.CAP);
+	}
+
+	@Test
+	void rejects_unknown_discount_type() {
+		assertThatThrownBy(() -> DiscountRuleParser.parse(new StringReader("\nrule LOYALTY order=1 scope=order rate=0.1\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("line 2: unknown discount type: LOYALTY");
+	}
+
+	private Path copyDefaultRules() throws IOException {
+		Path file = dir.resolve("default.rules");
+		Files.deleteIfExists(file);
+		try (InputStream in = getClass().getResourceAsStream("/discount/default.rules")) {
+			Files.copy(in, file);
+		}
+		return file;
+	}
+
+	private static OrderContext randomOrder(Random random) {
+		int n = 1 + random.nextInt(5);
+		List<OrderRequest.Line> lines = new ArrayList<>();
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			String id = "P00" + random.nextInt(4);
+			BigDecimal price = BigDecimal.valueOf(random.nextInt(2_000_000), random.nextInt(3));
+			lines.add(new OrderRequest.Line(id, 1 + random.nextInt(15)));
+			products.add(new Product(id, id, price));
+		}
+		return OrderContext.of("JP", lines, products);
+	}
+}
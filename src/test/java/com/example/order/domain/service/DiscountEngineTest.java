@@ -0,0 +1,172 @@
+package com.example.order.domain.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.order.app.dto.DiscountType;
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.ContextualDiscountPolicy;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+import com.example.order.domain.policy.discount.CapPolicy;
+import com.example.order.domain.policy.discount.HighAmountDiscount;
+import com.example.order.domain.policy.discount.MultiItemDiscount;
+import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.port.outbound.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DiscountEngineTest {
+	@Mock
+	ProductRepository products;
+
+	OrderRequest req;
+
+	@BeforeEach
+	void setUp() {
+		req = new OrderRequest("JP", RoundingMode.HALF_UP, List.of(
+				new OrderRequest.Line("P001", 10),
+				new OrderRequest.Line("P002", 1),
+				new OrderRequest.Line("P003", 1)));
+	}
+
+	void stubCatalog() {
+		when(products.findById("P001")).thenReturn(Optional.of(new Product("P001", "A", new BigDecimal("10000"))));
+		when(products.findById("P002")).thenReturn(Optional.of(new Product("P002", "B", new BigDecimal("10000"))));
+		when(products.findById("P003")).thenReturn(Optional.of(new Product("P003", "C", new BigDecimal("5000"))));
+	}
+
+	@Test
+	@DisplayName("コンテキスト版は商品解決を1行1回に抑え、従来と同じ結果を返す")
+	void context_policies_resolve_products_once() {
+		stubCatalog();
+		var policies = List.<DiscountPolicy>of(new VolumeDiscount(), new MultiItemDiscount(),
+				new HighAmountDiscount(), new CapPolicy(new BigDecimal("0.05")));
+
+		var ctx = OrderContext.resolve(req, products);
+		var r = DiscountEngine.applyInOrder(policies, ctx, req, products);
+
+		assertThat(r.total()).isEqualByComparingTo("5750");
+		assertThat(r.applied()).containsExactly(DiscountType.VOLUME, DiscountType.MULTI_ITEM,
+				DiscountType.HIGH_AMOUNT, DiscountType.CAP);
+		verify(products, times(1)).findById("P001");
+		verify(products, times(1)).findById("P002");
+		verify(products, times(1)).findById("P003");
+	}
+
+	@Test
+	@DisplayName("従来APIの注入ポリシーも同じ順序適用で動く")
+	void legacy_policy_still_receives_request_and_repository() {
+		stubCatalog();
+		DiscountPolicy legacy = new DiscountPolicy() {
+			@Override
+			public BigDecimal discount(OrderRequest r, ProductRepository p, BigDecimal base) {
+				return p.findById("P002").orElseThrow().price().multiply(new BigDecimal("0.10"));
+			}
+
+			@Override
+			public DiscountType type() {
+				return DiscountType.MULTI_ITEM;
+			}
+		};
+
+		var ctx = OrderContext.resolve(req, products);
+		var r = DiscountEngine.applyInOrder(List.of(new VolumeDiscount(), legacy), ctx, req, products);
+
+		// volume 5000 + legacy 1000
+		assertThat(r.total()).isEqualByComparingTo("6000");
+		assertThat(r.applied()).containsExactly(DiscountType.VOLUME, DiscountType.MULTI_ITEM);
+	}
+
+	@Test
+	@DisplayName("コンテキスト版ポリシーを従来APIで呼んでも同じ額になる")
+	void context_policy_is_callable_through_legacy_api() {
+		stubCatalog();
+		var base = new BigDecimal("110000");
+
+		var viaLegacy = new VolumeDiscount().discount(req, products, base);
+		var viaContext = new VolumeDiscount().discount(OrderContext.resolve(req, products), base);
+
+		assertThat(viaLegacy).isEqualByComparingTo("5000").isEqualByComparingTo(viaContext);
+	}
+
+	@Test
+	@DisplayName("商品を読まないポリシーは従来APIで呼ばれてもリポジトリを呼ばない")
+	void product_free_policies_skip_repository_through_legacy_api() {
+		var base = new BigDecimal("110000");
+
+		assertThat(new MultiItemDiscount().discount(req, products, base)).isEqualByComparingTo("2200");
+		assertThat(new HighAmountDiscount().discount(req, products, base)).isEqualByComparingTo("3300");
+		verifyNoInteractions(products);
+		assertThatThrownBy(() -> OrderContext.linesOnly(req).subtotal()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void context_exposes_precomputed_facts() {
+		var dup = new OrderRequest("JP", null, List.of(
+				new OrderRequest.Line("P001", 2), new OrderRequest.Line("P002", 1), new OrderRequest.Line("P001", 3)));
+		when(products.findById("P001")).thenReturn(Optional.of(new Product("P001", "A", new BigDecimal("10000"))));
+		when(products.findById("P002")).thenReturn(Optional.of(new Product("P002", "B", new BigDecimal("10000"))));
+
+		var ctx = OrderContext.resolve(dup, products);
+
+		assertThat(ctx.subtotal()).isEqualByComparingTo("60000");
+		assertThat(ctx.lineAmount(2)).isEqualByComparingTo("30000");
+		assertThat(ctx.distinctCount()).isEqualTo(2);
+		assertThat(ctx.qtyHistogram()).containsExactly(entry("P001", 5), entry("P002", 1));
+		assertThat(ctx.totalQty()).isEqualTo(6);
+	}
+
+	@Test
+	@DisplayName("独立ポリシーを並行計算しても逐次と同じ合計・ラベルになる")
+	void parallel_independent_policies_fold_in_configured_order() {
+		stubCatalog();
+		var threads = ConcurrentHashMap.<String>newKeySet();
+		ContextualDiscountPolicy bundleLike = new ContextualDiscountPolicy() {
+			@Override
+			public BigDecimal discount(OrderContext ctx, BigDecimal base) {
+				threads.add(Thread.currentThread().getName());
+				return ctx.lineAmount(1).multiply(new BigDecimal("0.10")); // P002 行の 10%
+			}
+
+			@Override
+			public DiscountType type() {
+				return DiscountType.MULTI_ITEM;
+			}
+
+			@Override
+			public boolean dependsOnBase() {
+				return false;
+			}
+		};
+		var index = PolicyIndex.of(List.of(new VolumeDiscount(), bundleLike, new HighAmountDiscount(),
+				new CapPolicy(new BigDecimal("0.05"))));
+		var ctx = OrderContext.resolve(req, products);
+		var pool = new ForkJoinPool(2);
+		try {
+			var sequential = DiscountEngine.applyInOrder(index, ctx, req, products);
+			threads.clear();
+			var parallel = DiscountEngine.applyInOrder(index, ctx, req, products, pool);
+
+			assertThat(parallel.total()).isEqualTo(sequential.total()).isEqualByComparingTo("5750");
+			assertThat(parallel.applied()).isEqualTo(sequential.applied());
+			assertThat(threads).isNotEmpty().allMatch(name -> name.contains("ForkJoinPool"));
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.example.order.domain.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.domain.model.Product;
+import com.example.order.domain.policy.DiscountPolicy;
+import com.example.order.domain.policy.OrderContext;
+import com.example.order.domain.policy.discount.CapPolicy;
+import com.example.order.domain.policy.discount.HighAmountDiscount;
+import com.example.order.domain.policy.discount.MultiItemDiscount;
+import com.example.order.domain.policy.discount.VolumeDiscount;
+import com.example.order.domain.policy.rule.DiscountRuleParser;
+
+class PolicyIndexTest {
+	private static final String[] REGIONS = { "JP", "US", "EU" };
+	private static final String[] TYPES = { "VOLUME", "MULTI_ITEM", "HIGH_AMOUNT" };
+
+	@Test
+	@DisplayName("数百ルールでも索引評価は全件評価と同じ合計・ラベルを返す")
+	void indexed_evaluation_matches_full_scan() throws IOException {
+		var random = new Random(7);
+		List<DiscountPolicy> policies = DiscountRuleParser.parse(new StringReader(randomRules(random, 300)));
+		var index = PolicyIndex.of(policies);
+
+		int candidates = 0;
+		for (int n = 0; n < 300; n++) {
+			var ctx = randomOrder(random);
+			var expected = DiscountEngine.applyInOrder(policies, ctx, null, null);
+			var actual = DiscountEngine.applyInOrder(index, ctx, null, null);
+			assertThat(actual.total()).isEqualTo(expected.total());
+			assertThat(actual.applied()).isEqualTo(expected.applied());
+			candidates += bitCount(index.candidates(ctx));
+		}
+		// 地域・商品・しきい値で大半が候補外になる
+		assertThat(candidates / 300).isLessThan(policies.size() / 3);
+	}
+
+	@Test
+	@DisplayName("組み込みポリシーはしきい値未満の注文で候補から外れ、Cap は常に残る")
+	void builtin_policies_are_pruned_by_thresholds() {
+		var index = PolicyIndex.of(List.of(new VolumeDiscount(), new MultiItemDiscount(),
+				new HighAmountDiscount(), new CapPolicy(new BigDecimal("0.30"))));
+		var small = OrderContext.of("JP", List.of(new OrderRequest.Line("P001", 2)),
+				List.of(new Product("P001", "A", new BigDecimal("100"))));
+
+		long[] c = index.candidates(small);
+
+		assertThat(PolicyIndex.nextCandidate(c, 0)).isEqualTo(3); // CAP のみ
+		assertThat(PolicyIndex.nextCandidate(c, 4)).isEqualTo(-1);
+	}
+
+	private static int bitCount(long[] bits) {
+		int count = 0;
+		for (int w = 0; w < bits.length; w++)
+			count += Long.bitCount(bits[w]);
+		return count;
+	}
+
+	private static String randomRules(Random random, int count) {
+		var sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			sb.append("rule ").append(TYPES[random.nextInt(TYPES.length)]).append(" order=").append(i);
+			switch (random.nextInt(4)) {
+			case 0 -> sb.append(" scope=line rate=0.01 when=line.product==P").append(random.nextInt(100));
+			case 1 -> sb.append(" scope=order rate=0.01 when=region==").append(REGIONS[random.nextInt(3)])
+					.append(" when=base>=").append(random.nextInt(200_000));
+			case 2 -> sb.append(" scope=line rate=0.01 when=line.qty>=").append(1 + random.nextInt(30));
+			default -> sb.append(" scope=order rate=0.01 when=distinct>=").append(1 + random.nextInt(8))
+					.append(" when=subtotal>=").append(random.nextInt(300_000));
+			}
+			sb.append('\n');
+		}
+		return sb.append("cap rate=0.10\n").toString();
+	}
+
+	private static OrderContext randomOrder(Random random) {
+		int n = 1 + random.nextInt(4);
+		List<OrderRequest.Line> lines = new ArrayList<>();
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			String id = "P" + random.nextInt(100);
+			lines.add(new OrderRequest.Line(id, 1 + random.nextInt(12)));
+			products.add(new Product(id, id, BigDecimal.valueOf(random.nextInt(50_000))));
+		}
+		return OrderContext.of(REGIONS[random.nextInt(3)], lines, products);
+	}
+}
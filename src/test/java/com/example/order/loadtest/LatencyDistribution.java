@@ -0,0 +1,63 @@
+package com.example.order.loadtest;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * 模擬 Port の応答遅延の分布。
+ * parse は "none" / "fixed:2ms" / "uniform:1ms:5ms" / "lognormal:500us:5ms"（中央値:p99）を受け付ける。
+ */
+@FunctionalInterface
+interface LatencyDistribution {
+	long nextNanos(RandomGenerator random);
+
+	static LatencyDistribution none() {
+		return r -> 0;
+	}
+
+	static LatencyDistribution fixed(Duration latency) {
+		long nanos = latency.toNanos();
+		return r -> nanos;
+	}
+
+	static LatencyDistribution uniform(Duration min, Duration max) {
+		long lo = min.toNanos();
+		long hi = max.toNanos();
+		if (hi < lo)
+			throw new IllegalArgumentException("max must be >= min");
+		return r -> lo == hi ? lo : r.nextLong(lo, hi + 1);
+	}
+
+	// 中央値と p99 から σ を決める（p99 = median * e^(2.326σ)）
+	static LatencyDistribution logNormal(Duration median, Duration p99) {
+		double m = median.toNanos();
+		if (m <= 0 || p99.compareTo(median) < 0)
+			throw new IllegalArgumentException("p99 must be >= median > 0");
+		double sigma = Math.log(p99.toNanos() / m) / 2.326;
+		return r -> (long) (m * Math.exp(sigma * r.nextGaussian()));
+	}
+
+	static LatencyDistribution parse(String spec) {
+		String[] parts = spec.trim().split(":");
+		return switch (parts[0]) {
+		case "none" -> none();
+		case "fixed" -> fixed(duration(parts, 1));
+		case "uniform" -> uniform(duration(parts, 1), duration(parts, 2));
+		case "lognormal" -> logNormal(duration(parts, 1), duration(parts, 2));
+		default -> throw new IllegalArgumentException("unknown latency distribution: " + spec);
+		};
+	}
+
+	private static Duration duration(String[] parts, int i) {
+		if (parts.length <= i)
+			throw new IllegalArgumentException("missing duration in: " + String.join(":", parts));
+		String s = parts[i];
+		if (s.endsWith("us"))
+			return Duration.ofNanos(Long.parseLong(s.substring(0, s.length() - 2)) * 1_000);
+		if (s.endsWith("ms"))
+			return Duration.ofMillis(Long.parseLong(s.substring(0, s.length() - 2)));
+		if (s.endsWith("s"))
+			return Duration.ofSeconds(Long.parseLong(s.substring(0, s.length() - 1)));
+		throw new IllegalArgumentException("unsupported duration: " + s);
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.order.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 対数・線形のバケットで ns 値を数えるヒストグラム（相対誤差 1/64 以内）。複数スレッドから記録できる。
+ * 128 未満はそのまま、それ以上は最上位ビットごとに 64 分割する。
+ */
+final class LatencyHistogram {
+	private static final int SUB_BITS = 6;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(SUB_COUNT * 58);
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long nanos) {
+		long v = Math.max(0, nanos);
+		counts.incrementAndGet(index(v));
+		total.incrementAndGet();
+		max.accumulateAndGet(v, Math::max);
+	}
+
+	long count() {
+		return total.get();
+	}
+
+	long max() {
+		return max.get();
+	}
+
+	// q 分位の値（バケット上端。最大値を超えない）
+	long percentile(double q) {
+		long n = total.get();
+		if (n == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(n * q));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank)
+				return Math.min(upperBound(i), max.get());
+		}
+		return max.get();
+	}
+
+	static int index(long v) {
+		if (v < 2 * SUB_COUNT)
+			return (int) v;
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS; // 1 以上
+		return SUB_COUNT * shift + (int) (v >>> shift);
+	}
+
+	static long upperBound(int index) {
+		if (index < 2 * SUB_COUNT)
+			return index;
+		int shift = index / SUB_COUNT - 1;
+		long mantissa = index % SUB_COUNT + SUB_COUNT;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
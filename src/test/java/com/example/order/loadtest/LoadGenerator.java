@@ -0,0 +1,105 @@
+package com.example.order.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.order.app.dto.OrderRequest;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+
+/**
+ * PlaceOrderUseCase に開放モデルで負荷をかけ、遅延分布とスループットを測る。
+ *
+ * 送出スレッドは予定到着時刻ごとに注文をワーカーの待ち行列へ積むだけで、応答を待たない。
+ * 遅延は「実際に送った時刻」ではなく「予定到着時刻」から測るため、
+ * 処理が詰まって送出や取り出しが遅れた時間も遅延に含まれる（coordinated omission の補正）。
+ */
+final class LoadGenerator {
+	// これより短い待ちは park せずに送る（park の粒度より細かい間隔でも予定時刻どおりに積む）
+	private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+	private final LoadProfile profile;
+	private final OrderShape shape;
+
+	LoadGenerator(LoadProfile profile, OrderShape shape) {
+		this.profile = profile;
+		this.shape = shape;
+	}
+
+	LoadReport run(PlaceOrderUseCase useCase) throws InterruptedException {
+		var orders = new OrderGenerator(shape, profile.seed());
+		var arrivals = new SplittableRandom(profile.seed() + 1);
+		var latency = new LatencyHistogram();
+		var service = new LatencyHistogram();
+		var errors = new LongAdder();
+		var lastDone = new AtomicLong();
+		var workers = newWorkers(profile.concurrency());
+
+		double intervalNanos = 1e9 / profile.ratePerSecond();
+		long start = System.nanoTime();
+		long measureFrom = start + profile.warmup().toNanos();
+		long end = measureFrom + profile.duration().toNanos();
+		double next = start;
+		long sent = 0;
+		long maxLag = 0;
+		try {
+			for (long intended = start; intended < end; intended = (long) next) {
+				long wait = intended - System.nanoTime();
+				while (wait > SPIN_THRESHOLD_NANOS) {
+					LockSupport.parkNanos(wait - SPIN_THRESHOLD_NANOS);
+					wait = intended - System.nanoTime();
+				}
+				OrderRequest req = orders.next();
+				boolean measured = intended >= measureFrom;
+				long scheduledAt = intended;
+				workers.execute(() -> {
+					long began = System.nanoTime();
+					try {
+						useCase.execute(req);
+					} catch (RuntimeException e) {
+						if (measured)
+							errors.increment();
+					}
+					long done = System.nanoTime();
+					if (measured) {
+						latency.record(done - scheduledAt);
+						service.record(done - began);
+						lastDone.accumulateAndGet(done, Math::max);
+					}
+				});
+				if (measured) {
+					sent++;
+					maxLag = Math.max(maxLag, -wait);
+				}
+				next += profile.poisson()
+						? -Math.log(1 - arrivals.nextDouble()) * intervalNanos
+						: intervalNanos;
+			}
+		} finally {
+			workers.shutdown();
+		}
+		// 積み残しは計測区間の長さ＋10秒まで待つ（それでも終わらない分は completed に入らない）
+		if (!workers.awaitTermination(profile.duration().toNanos() + TimeUnit.SECONDS.toNanos(10), TimeUnit.NANOSECONDS))
+			workers.shutdownNow();
+
+		long completed = latency.count();
+		long elapsed = Math.max(lastDone.get(), end) - measureFrom;
+		return new LoadReport(sent, completed, errors.sum(), completed * 1e9 / elapsed,
+				latency.percentile(0.50), latency.percentile(0.99), latency.percentile(0.999), latency.max(),
+				service.percentile(0.50), service.percentile(0.99), service.percentile(0.999), Math.max(0, maxLag));
+	}
+
+	private static ThreadPoolExecutor newWorkers(int n) {
+		var seq = new AtomicInteger();
+		return new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread t = new Thread(r, "load-worker-" + seq.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.order.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+
+class LoadGeneratorTest {
+
+	@Test
+	@DisplayName("ヒストグラムの分位は相対誤差 1/64 以内")
+	void histogram_percentiles_are_within_relative_error() {
+		var h = new LatencyHistogram();
+		for (long v = 1; v <= 100_000; v++)
+			h.record(v * 1_000);
+
+		assertThat(h.count()).isEqualTo(100_000);
+		assertThat(h.percentile(0.50)).isCloseTo(50_000_000L, withinPercentage(1.6));
+		assertThat(h.percentile(0.99)).isCloseTo(99_000_000L, withinPercentage(1.6));
+		assertThat(h.percentile(0.999)).isCloseTo(99_900_000L, withinPercentage(1.6));
+		assertThat(h.percentile(1.0)).isEqualTo(h.max()).isEqualTo(100_000_000L);
+	}
+
+	@Test
+	@DisplayName("Zipf の偏りと重複率が OrderShape どおりに出る")
+	void generator_follows_zipf_skew_and_duplicate_ratio() {
+		var zipf = new ZipfSampler(1_000, 1.0);
+		var random = new SplittableRandom(7);
+		int top = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (zipf.next(random) == 0)
+				top++;
+		}
+		assertThat(top / 100_000.0).isCloseTo(1 / 7.485, within(0.01)); // 1 / H(1000)
+
+		var orders = new OrderGenerator(new OrderShape("JP", 1, 3, 5, 100, 1.0, 0.25), 7);
+		var previous = new IdentityHashMap<Object, Boolean>();
+		int duplicates = 0;
+		for (int i = 0; i < 10_000; i++) {
+			var req = orders.next();
+			assertThat(req.lines()).hasSizeBetween(1, 3);
+			if (previous.put(req, Boolean.TRUE) != null)
+				duplicates++;
+		}
+		assertThat(duplicates / 10_000.0).isCloseTo(0.25, within(0.02));
+	}
+
+	@Test
+	@DisplayName("処理能力を超える到着では、補正済み遅延に待ち行列の時間が積み上がる")
+	void corrected_latency_includes_queueing_when_overloaded() throws InterruptedException {
+		// 1ワーカー・保存 5ms で処理能力は約 200件/秒。そこへ 500件/秒を 0.2秒送る
+		var latencies = new PortLatencies(LatencyDistribution.none(), LatencyDistribution.none(),
+				LatencyDistribution.none(), LatencyDistribution.fixed(Duration.ofMillis(5)));
+		var shape = new OrderShape("JP", 1, 2, 3, 50, 1.0, 0.0);
+		var ports = new SimulatedPorts(shape.skuCount(), latencies, 1);
+		var useCase = new PlaceOrderUseCase(new OrderService(ports, ports, ports), ports, ports);
+		var profile = new LoadProfile(500, false, Duration.ZERO, Duration.ofMillis(200), 1, 1);
+
+		LoadReport report = new LoadGenerator(profile, shape).run(useCase);
+
+		assertThat(report.sent()).isEqualTo(100);
+		assertThat(report.completed()).isEqualTo(100);
+		assertThat(report.errors()).isZero();
+		assertThat(ports.savedCount()).isEqualTo(100);
+		assertThat(report.serviceP50Nanos()).isBetween(Duration.ofMillis(5).toNanos(), Duration.ofMillis(50).toNanos());
+		// 最後の注文は約 100 × 5ms − 200ms = 300ms 待つ。補正なしの処理時間よりはるかに大きい
+		assertThat(report.p99Nanos()).isGreaterThan(Duration.ofMillis(200).toNanos());
+		assertThat(report.p99Nanos()).isGreaterThan(report.serviceP99Nanos() * 4);
+		assertThat(report.throughputPerSecond()).isLessThan(250);
+		assertThat(report.format()).contains("sent=100", "p99=");
+	}
+}
@@ -0,0 +1,25 @@
+package com.example.order.loadtest;
+
+import java.time.Duration;
+
+/**
+ * 開放モデルの負荷条件。応答を待たずに ratePerSecond で到着させる（poisson なら指数分布の間隔、そうでなければ等間隔）。
+ * warmup 中の注文は実行するが計測しない。concurrency は use case を呼ぶワーカー数（あふれた注文は待ち行列に積む）。
+ */
+record LoadProfile(
+  double ratePerSecond,
+  boolean poisson,
+  Duration warmup,
+  Duration duration,
+  int concurrency,
+  long seed) {
+
+  LoadProfile {
+    if (ratePerSecond <= 0)
+      throw new IllegalArgumentException("ratePerSecond must be > 0");
+    if (warmup.isNegative() || duration.isNegative() || duration.isZero())
+      throw new IllegalArgumentException("duration must be > 0 and warmup >= 0");
+    if (concurrency <= 0)
+      throw new IllegalArgumentException("concurrency must be > 0");
+  }
+}
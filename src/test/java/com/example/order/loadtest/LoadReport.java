@@ -0,0 +1,39 @@
+package com.example.order.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 計測区間の結果。latency は予定到着時刻から完了まで（coordinated omission 補正済み）、
+ * service はワーカーが処理を始めてから完了まで（待ち行列の時間を含まない、補正なし）。
+ * dispatchLag は送出スレッドが予定時刻に遅れた最大値で、大きければ負荷生成側が飽和している。
+ */
+record LoadReport(
+  long sent,
+  long completed,
+  long errors,
+  double throughputPerSecond,
+  long p50Nanos,
+  long p99Nanos,
+  long p999Nanos,
+  long maxNanos,
+  long serviceP50Nanos,
+  long serviceP99Nanos,
+  long serviceP999Nanos,
+  long maxDispatchLagNanos) {
+
+  String format() {
+    return String.format(Locale.ROOT, """
+        sent=%d completed=%d errors=%d throughput=%.1f/s
+        latency (corrected): p50=%s p99=%s p999=%s max=%s
+        service (uncorrected): p50=%s p99=%s p999=%s
+        max dispatch lag: %s""",
+        sent, completed, errors, throughputPerSecond,
+        millis(p50Nanos), millis(p99Nanos), millis(p999Nanos), millis(maxNanos),
+        millis(serviceP50Nanos), millis(serviceP99Nanos), millis(serviceP999Nanos),
+        millis(maxDispatchLagNanos));
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3fms", nanos / 1e6);
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.order.loadtest;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.order.app.dto.OrderRequest;
+
+/** OrderShape に従って注文を生成する。シードが同じなら同じ列になる（送出スレッド専用） */
+final class OrderGenerator {
+	private static final int RECENT = 64;
+
+	private final OrderShape shape;
+	private final SplittableRandom random;
+	private final ZipfSampler skus;
+	private final OrderRequest[] recent = new OrderRequest[RECENT];
+	private long generated;
+
+	OrderGenerator(OrderShape shape, long seed) {
+		this.shape = shape;
+		this.random = new SplittableRandom(seed);
+		this.skus = new ZipfSampler(shape.skuCount(), shape.zipfExponent());
+	}
+
+	OrderRequest next() {
+		if (generated > 0 && random.nextDouble() < shape.duplicateRatio())
+			return recent[random.nextInt((int) Math.min(generated, RECENT))];
+		int lineCount = random.nextInt(shape.minLines(), shape.maxLines() + 1);
+		List<OrderRequest.Line> lines = new ArrayList<>(lineCount);
+		for (int i = 0; i < lineCount; i++)
+			lines.add(new OrderRequest.Line(SimulatedPorts.sku(skus.next(random)), random.nextInt(1, shape.maxQty() + 1)));
+		var req = new OrderRequest(shape.region(), RoundingMode.HALF_UP, List.copyOf(lines));
+		recent[(int) (generated++ % RECENT)] = req;
+		return req;
+	}
+}
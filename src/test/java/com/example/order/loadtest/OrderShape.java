@@ -0,0 +1,27 @@
+package com.example.order.loadtest;
+
+/**
+ * 生成する注文の形。
+ * 行数は [minLines, maxLines]、数量は [1, maxQty] の一様分布、商品は skuCount 種から Zipf（指数 zipfExponent、0 で一様）で選ぶ。
+ * duplicateRatio の割合で直近の注文をそのまま再送する（クライアント再試行の模擬）。
+ */
+record OrderShape(
+  String region,
+  int minLines,
+  int maxLines,
+  int maxQty,
+  int skuCount,
+  double zipfExponent,
+  double duplicateRatio) {
+
+  OrderShape {
+    if (minLines <= 0 || maxLines < minLines)
+      throw new IllegalArgumentException("lines must satisfy 0 < minLines <= maxLines");
+    if (maxQty <= 0 || skuCount <= 0)
+      throw new IllegalArgumentException("maxQty and skuCount must be > 0");
+    if (zipfExponent < 0)
+      throw new IllegalArgumentException("zipfExponent must be >= 0");
+    if (duplicateRatio < 0 || duplicateRatio > 1)
+      throw new IllegalArgumentException("duplicateRatio must be within [0, 1]");
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.order.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.example.order.app.OrderService;
+import com.example.order.port.inbound.PlaceOrderUseCase;
+
+/**
+ * 持続負荷の計測。通常のビルドでは実行しない（mvn test -P loadtest で実行する）。
+ *
+ * 条件はシステムプロパティで変える。例：
+ * mvn test -P loadtest -Dload.rate=5000 -Dload.seconds=60 -Dload.threads=32 -Dload.zipf=1.1
+ *     -Dload.latency.inventory=lognormal:300us:3ms -Dload.latency.save=fixed:2ms
+ */
+@Tag("load")
+class PlaceOrderLoadTest {
+
+	@Test
+	@DisplayName("開放モデルの持続負荷で補正済みの遅延分布とスループットを出力する")
+	void sustained_open_model_load() throws InterruptedException {
+		var profile = new LoadProfile(
+				Double.parseDouble(System.getProperty("load.rate", "1000")),
+				Boolean.parseBoolean(System.getProperty("load.poisson", "true")),
+				Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5)),
+				Duration.ofSeconds(Long.getLong("load.seconds", 30)),
+				Integer.getInteger("load.threads", 16),
+				Long.getLong("load.seed", 42));
+		var shape = new OrderShape(
+				System.getProperty("load.region", "JP"),
+				Integer.getInteger("load.minLines", 1),
+				Integer.getInteger("load.maxLines", 5),
+				Integer.getInteger("load.maxQty", 12),
+				Integer.getInteger("load.skus", 10_000),
+				Double.parseDouble(System.getProperty("load.zipf", "1.0")),
+				Double.parseDouble(System.getProperty("load.duplicates", "0.02")));
+		var latencies = new PortLatencies(
+				latency("product", "lognormal:200us:2ms"),
+				latency("inventory", "lognormal:300us:3ms"),
+				latency("tax", "none"),
+				latency("save", "lognormal:1ms:10ms"));
+		var ports = new SimulatedPorts(shape.skuCount(), latencies, profile.seed());
+		var useCase = new PlaceOrderUseCase(new OrderService(ports, ports, ports), ports, ports);
+
+		LoadReport report = new LoadGenerator(profile, shape).run(useCase);
+
+		System.out.println(report.format());
+		assertThat(report.completed()).isPositive();
+	}
+
+	private static LatencyDistribution latency(String port, String defaultSpec) {
+		return LatencyDistribution.parse(System.getProperty("load.latency." + port, defaultSpec));
+	}
+}
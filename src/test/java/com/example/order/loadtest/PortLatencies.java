@@ -0,0 +1,14 @@
+package com.example.order.loadtest;
+
+/** 模擬 Port ごとの応答遅延 */
+record PortLatencies(
+  LatencyDistribution product,
+  LatencyDistribution inventory,
+  LatencyDistribution tax,
+  LatencyDistribution save) {
+
+  static PortLatencies none() {
+    return new PortLatencies(LatencyDistribution.none(), LatencyDistribution.none(), LatencyDistribution.none(),
+        LatencyDistribution.none());
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.order.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.order.domain.model.OrderPersistenceModel;
+import com.example.order.domain.model.Product;
+import com.example.order.port.outbound.InventoryService;
+import com.example.order.port.outbound.ProductRepository;
+import com.example.order.port.outbound.SaveOrderPort;
+import com.example.order.port.outbound.TaxCalculator;
+
+/**
+ * 負荷試験用のインメモリ Port 一式。各呼び出しで分布から引いた時間だけスレッドを止める（外部 I/O の待ちの代わり）。
+ * 在庫は無制限、税率は一律 10%、保存は連番 ID を返すだけ。
+ */
+final class SimulatedPorts implements ProductRepository, InventoryService, TaxCalculator, SaveOrderPort {
+	private static final BigDecimal TAX_RATE = new BigDecimal("0.10");
+
+	private final List<Optional<Product>> catalog;
+	private final PortLatencies latencies;
+	private final AtomicLong saved = new AtomicLong();
+
+	SimulatedPorts(int skuCount, PortLatencies latencies, long seed) {
+		var random = new SplittableRandom(seed);
+		List<Optional<Product>> products = new ArrayList<>(skuCount);
+		for (int i = 0; i < skuCount; i++) {
+			var price = BigDecimal.valueOf(100 + random.nextInt(9_901)); // 100〜10,000 円
+			products.add(Optional.of(new Product(sku(i), "product-" + i, price)));
+		}
+		this.catalog = List.copyOf(products);
+		this.latencies = latencies;
+	}
+
+	// 人気順位 rank（0 が最も売れる）の商品ID
+	static String sku(int rank) {
+		return String.format("SKU-%05d", rank);
+	}
+
+	long savedCount() {
+		return saved.get();
+	}
+
+	@Override
+	public Optional<Product> findById(String productId) {
+		pause(latencies.product());
+		int rank = Integer.parseInt(productId, 4, productId.length(), 10);
+		return rank < catalog.size() ? catalog.get(rank) : Optional.empty();
+	}
+
+	@Override
+	public boolean checkAvailable(String productId, int qty) {
+		pause(latencies.inventory());
+		return true;
+	}
+
+	@Override
+	public void reserve(String productId, int qty) {
+		pause(latencies.inventory());
+	}
+
+	@Override
+	public BigDecimal calcTaxAmount(BigDecimal net, String region, RoundingMode mode) {
+		pause(latencies.tax());
+		return net.multiply(TAX_RATE).setScale(2, mode);
+	}
+
+	@Override
+	public BigDecimal addTax(BigDecimal net, String region, RoundingMode mode) {
+		pause(latencies.tax());
+		return net.add(net.multiply(TAX_RATE)).setScale(0, mode);
+	}
+
+	@Override
+	public String save(OrderPersistenceModel order) {
+		pause(latencies.save());
+		return "ORDER-" + saved.incrementAndGet();
+	}
+
+	private static void pause(LatencyDistribution latency) {
+		long nanos = latency.nextNanos(ThreadLocalRandom.current());
+		if (nanos <= 0)
+			return;
+		long deadline = System.nanoTime() + nanos;
+		for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime())
+			LockSupport.parkNanos(remaining); // 早めに戻ることがあるので期限まで繰り返す
+	}
+}
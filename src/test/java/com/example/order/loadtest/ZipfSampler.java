@@ -0,0 +1,26 @@
+package com.example.order.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/** 順位 k（0 始まり）を 1/(k+1)^s に比例する確率で返す。累積分布を前計算して二分探索する */
+final class ZipfSampler {
+	private final double[] cdf;
+
+	ZipfSampler(int n, double exponent) {
+		cdf = new double[n];
+		double sum = 0;
+		for (int k = 0; k < n; k++) {
+			sum += 1 / Math.pow(k + 1, exponent);
+			cdf[k] = sum;
+		}
+		for (int k = 0; k < n; k++)
+			cdf[k] /= sum;
+		cdf[n - 1] = 1.0;
+	}
+
+	int next(RandomGenerator random) {
+		int i = Arrays.binarySearch(cdf, random.nextDouble());
+		return i >= 0 ? i : -i - 1;
+	}
+}